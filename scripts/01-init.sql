@@ -8,6 +8,10 @@
 -- Ubicación: /docker-entrypoint-initdb.d/01-init.sql
 -- (Debe ser nombrado con patrón numérico para que se ejecute en orden)
 --
+-- NOTA: con el perfil postgres de la aplicación el esquema lo crean las migraciones
+-- de Flyway (src/main/resources/db/migration/postgres) sobre una base vacía:
+-- en ese caso no montar este script.
+--
 
 -- ============================================================================
 -- CREAR EXTENSIONES
@@ -23,6 +23,7 @@ import java.util.Map;
 /**
  * Precarga opcional de datos leyendo archivos JSON en directorio docs/json.
  * Solo se ejecuta fuera del perfil test.
+ * Cada archivo se guarda con un solo saveAll: IDs por secuencia e INSERT en batches JDBC.
  */
 @Slf4j
 @Component
@@ -54,42 +55,42 @@ public class DataLoader implements CommandLineRunner {
     }
 
     private void loadFragments(String path, FragmentType defaultType) throws Exception {
-        if (!fragmentRepository.findAll().isEmpty()) return;
+        if (fragmentRepository.count() > 0) return;
         File file = new File(path);
         if (!file.exists()) { log.info("No encontrado {}", path); return; }
         List<Map<String, Object>> rows = mapper.readValue(Files.readAllBytes(file.toPath()), new TypeReference<>() {});
-        rows.forEach(r -> fragmentRepository.save(Fragment.builder()
+        fragmentRepository.saveAll(rows.stream().map(r -> Fragment.builder()
                 .type(defaultType)
                 .text(String.valueOf(r.getOrDefault("text", r.getOrDefault("axiom", ""))).trim())
                 .createdAt(LocalDateTime.now())
-                .build()));
+                .build()).toList());
         log.info("Cargados {} fragmentos", rows.size());
     }
 
     private void loadMemes(String path) throws Exception {
-        if (!memeRepository.findAll().isEmpty()) return;
+        if (memeRepository.count() > 0) return;
         File file = new File(path);
         if (!file.exists()) { log.info("No encontrado {}", path); return; }
         List<Map<String, Object>> rows = mapper.readValue(Files.readAllBytes(file.toPath()), new TypeReference<>() {});
-        rows.forEach(r -> memeRepository.save(Meme.builder()
+        memeRepository.saveAll(rows.stream().map(r -> Meme.builder()
                 .author(String.valueOf(r.getOrDefault("author", "Anon")))
                 .quote(String.valueOf(r.getOrDefault("quote", r.getOrDefault("text", ""))).trim())
                 .createdAt(LocalDateTime.now())
-                .build()));
+                .build()).toList());
         log.info("Cargados {} memes", rows.size());
     }
 
     private void loadLaws(String path, String category) throws Exception {
-        if (!lawRepository.findAll().isEmpty()) return;
+        if (lawRepository.count() > 0) return;
         File file = new File(path);
         if (!file.exists()) { log.info("No encontrado {}", path); return; }
         List<Map<String, Object>> rows = mapper.readValue(Files.readAllBytes(file.toPath()), new TypeReference<>() {});
-        rows.forEach(r -> lawRepository.save(Law.builder()
+        lawRepository.saveAll(rows.stream().map(r -> Law.builder()
                 .name(String.valueOf(r.getOrDefault("name", category + " Law")))
                 .description(String.valueOf(r.getOrDefault("description", r.getOrDefault("text", ""))))
                 .category(category)
                 .createdAt(LocalDateTime.now())
-                .build()));
+                .build()).toList());
         log.info("Cargadas {} leyes", rows.size());
     }
 }
@@ -0,0 +1,192 @@
+package com.ejerciciocopilot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Configuración de la generación de excusas (prefijo app.excuses).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.excuses")
+public class ExcuseProperties {
+
+    /**
+     * Si los GET de generación (/random, /meme, /law, /ultra, /role/{role}, /daily) guardan la excusa.
+     * Por defecto la generación es efímera (sin INSERT ni ID) y cada request puede pedir
+     * persistencia explícita con ?persist=true; un perfil puede invertir el valor por defecto.
+     */
+    private boolean persistOnGet = false;
+
+    /**
+     * Cantidad máxima de excusas por request en /api/excuses/batch.
+     */
+    private int batchMaxCount = 10_000;
+
+    /**
+     * Tamaño del batch JDBC (y del flush) al persistir un lote de excusas.
+     * Conviene que coincida con el allocationSize de excuses_seq.
+     */
+    private int batchFlushSize = 1_000;
+
+    /**
+     * Cantidad máxima de streams simultáneos en /api/excuses/stream; los siguientes reciben 503.
+     */
+    private int streamMaxConcurrent = 16;
+
+    /**
+     * Tasa máxima (excusas por segundo) que puede pedir un stream.
+     */
+    private double streamMaxRate = 1_000;
+
+    /**
+     * Si un hilo en segundo plano mantiene un pool de excusas listas para GET /random (efímero).
+     */
+    private boolean poolEnabled = true;
+
+    /**
+     * Capacidad del pool (se redondea a potencia de 2).
+     */
+    private int poolCapacity = 1_024;
+
+    /**
+     * Nivel mínimo de llenado, aun sin tráfico.
+     */
+    private int poolMinFill = 32;
+
+    /**
+     * Cuánto tráfico cubre el pool: el nivel objetivo es la tasa de consumo medida por este horizonte.
+     */
+    private Duration poolHorizon = Duration.ofSeconds(1);
+
+    /**
+     * Zona horaria por defecto de la excusa del día (define cuándo cambia la fecha).
+     * Cada request puede pedir otra con ?tz=.
+     */
+    private ZoneId dailyZone = ZoneId.systemDefault();
+
+    /**
+     * Cuánto antes de la medianoche de cada zona se precalcula la excusa del día siguiente.
+     */
+    private Duration dailyPrecomputeLead = Duration.ofMinutes(1);
+
+    /**
+     * Máximo de zonas horarias (?tz=) a las que se les precalcula la excusa del día. Las zonas que llegan
+     * con el registro lleno se sirven igual, sin precálculo; las que no se piden en dos días se olvidan.
+     */
+    private int dailyMaxZones = 64;
+
+    /**
+     * Cantidad máxima de memes (o de leyes) que se cargan en memoria.
+     * Si la tabla tiene más filas, el catálogo elige cada meme o ley en la base de datos (sin pesos).
+     */
+    private int catalogMaxEntries = 100_000;
+
+    /**
+     * Perfil postgres: meses, además del actual, con partición de excuses creada por adelantado.
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Si el job de retención mueve las excusas viejas a la capa fría. Apagado por defecto: borra filas de la
+     * tabla y escribe en cold-storage-dir, así que se activa a conciencia.
+     */
+    private boolean retentionEnabled = false;
+
+    /**
+     * Antigüedad a partir de la cual una excusa sale de la tabla y pasa a los segmentos en disco.
+     */
+    private Duration retentionHotAge = Duration.ofDays(30);
+
+    /**
+     * Excusas por lote de retención: cada lote es un SELECT y un DELETE cortos, sin locks largos.
+     */
+    private int retentionBatchSize = 500;
+
+    /**
+     * Directorio de los segmentos comprimidos de la capa fría.
+     */
+    private Path coldStorageDir = Path.of("data", "cold");
+
+    /**
+     * Si los GET de generación con persistencia devuelven la excusa sin esperar el INSERT:
+     * el ID se reserva en memoria y un hilo la guarda después, en batches JDBC (ExcuseWriteBehind).
+     */
+    private boolean writeBehindEnabled = false;
+
+    /**
+     * Capacidad de la cola de escritura diferida; llena, los requests esperan hasta write-behind-offer-timeout.
+     */
+    private int writeBehindCapacity = 10_000;
+
+    /**
+     * Excusas por batch JDBC de la escritura diferida.
+     */
+    private int writeBehindBatchSize = 500;
+
+    /**
+     * Espera máxima desde la primera excusa encolada hasta el flush, aunque el batch no esté lleno.
+     */
+    private Duration writeBehindFlushInterval = Duration.ofMillis(100);
+
+    /**
+     * Cuánto espera un request por lugar en la cola llena antes de responder 503.
+     */
+    private Duration writeBehindOfferTimeout = Duration.ofMillis(500);
+
+    /**
+     * Intentos de cada batch de la escritura diferida ante errores transitorios, con espera exponencial
+     * desde write-behind-retry-backoff; agotados, las filas se insertan de a una.
+     */
+    private int writeBehindMaxAttempts = 4;
+
+    /**
+     * Espera antes del primer reintento de un batch de la escritura diferida (se duplica en cada intento).
+     */
+    private Duration writeBehindRetryBackoff = Duration.ofMillis(100);
+
+    /**
+     * Cuánto espera el cierre de la aplicación a que el hilo de la escritura diferida vacíe la cola.
+     */
+    private Duration writeBehindShutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Si los GET de generación con persistencia agrupan sus INSERT con los de otros requests concurrentes:
+     * cada request espera a que su batch se confirme (una transacción por batch, ExcuseGroupCommit).
+     * Si también está activa la escritura diferida, manda la escritura diferida.
+     */
+    private boolean groupCommitEnabled = false;
+
+    /**
+     * Ventana durante la que se juntan INSERT desde la primera excusa del batch.
+     */
+    private Duration groupCommitWindow = Duration.ofNanos(200_000);
+
+    /**
+     * Máximo de excusas por batch; lleno, se confirma sin esperar el fin de la ventana.
+     */
+    private int groupCommitMaxBatch = 256;
+
+    /**
+     * Capacidad de la cola de excusas esperando batch.
+     */
+    private int groupCommitCapacity = 4_096;
+
+    /**
+     * Cuánto espera un request por lugar en la cola llena antes de responder 503.
+     */
+    private Duration groupCommitOfferTimeout = Duration.ofMillis(500);
+
+    /**
+     * Cuánto espera un request encolado a que su batch se confirme antes de responder 503.
+     */
+    private Duration groupCommitWaitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Cuánto espera el cierre de la aplicación a que el hilo del group commit vacíe la cola.
+     */
+    private Duration groupCommitShutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,69 @@
+package com.ejerciciocopilot.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Migración de IDs por IDENTITY a secuencias (pooled-lo) para bases con datos previos.
+ * Con ddl-auto=update Hibernate crea cada secuencia empezando en 1, aunque la tabla ya tenga filas:
+ * al arrancar, si la secuencia quedó por detrás del MAX(id) de su tabla, se reinicia en MAX(id) + 1.
+ * Corre antes que DataLoader y que cualquier INSERT. Consume un valor de cada secuencia con datos
+ * (se pierde a lo sumo un bloque de IDs por arranque).
+ */
+@Slf4j
+@Component
+@Profile("!memory")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceMigration implements CommandLineRunner {
+
+    /**
+     * Tabla de cada secuencia de IDs.
+     */
+    static final Map<String, String> SEQUENCES = Map.of(
+            "excuses_seq", "excuses",
+            "fragments_seq", "fragments",
+            "memes_seq", "memes",
+            "laws_seq", "laws");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void run(String... args) {
+        SEQUENCES.forEach(this::align);
+    }
+
+    /**
+     * Reinicia la secuencia si el próximo valor ya está usado en la tabla.
+     *
+     * @param sequence nombre de la secuencia
+     * @param table    tabla cuyos IDs asigna
+     */
+    void align(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        if (next != null && next <= maxId) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+            log.info("Secuencia {} reiniciada en {} (MAX(id) de {} = {})", sequence, maxId + 1, table, maxId);
+        }
+    }
+}
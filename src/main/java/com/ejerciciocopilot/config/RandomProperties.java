@@ -0,0 +1,29 @@
+package com.ejerciciocopilot.config;
+
+import com.ejerciciocopilot.model.ExcuseType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuración de los generadores aleatorios usados para generar excusas (prefijo app.random).
+ * Los nombres de algoritmo son los de java.util.random.RandomGeneratorFactory
+ * (L64X128MixRandom, Xoshiro256PlusPlus, SplittableRandom, Random, ...).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.random")
+public class RandomProperties {
+
+    /**
+     * Algoritmo por defecto para todos los modos de generación.
+     */
+    private String algorithm = "L64X128MixRandom";
+
+    /**
+     * Algoritmo específico por modo (ExcuseType); los modos ausentes usan el algoritmo por defecto.
+     * Ejemplo: app.random.modes.ULTRA_SHARK=Xoshiro256PlusPlus
+     */
+    private Map<ExcuseType, String> modes = new EnumMap<>(ExcuseType.class);
+}
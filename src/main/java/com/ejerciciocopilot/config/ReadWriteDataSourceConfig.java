@@ -0,0 +1,65 @@
+package com.ejerciciocopilot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separación de lecturas y escrituras cuando hay réplica (app.datasource.replica.url).
+ * El datasource principal de la aplicación (JPA, JdbcTemplate, Flyway) es un LazyConnectionDataSourceProxy
+ * sobre ReadWriteRoutingDataSource, con un pool para el primario (spring.datasource.*) y otro para la réplica.
+ * Las operaciones fuera de transacción, como las migraciones, siempre van al primario.
+ * ReadYourWritesFilter asocia cada request a su cliente, para el read-your-writes de ReplicaLagGuard.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(properties.getUrl());
+        replica.setUsername(properties.getUsername());
+        replica.setPassword(properties.getPassword());
+        if (properties.getDriverClassName() != null) {
+            replica.setDriverClassName(properties.getDriverClassName());
+        }
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(ReplicaDataSourceProperties properties) {
+        return new ReplicaLagGuard(properties.getMaxLag());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaLagGuard replicaLagGuard,
+                                                     ReplicaDataSourceProperties properties) {
+        return new ReadYourWritesFilter(replicaLagGuard, properties.getMaxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagGuard replicaLagGuard) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, replicaLagGuard));
+    }
+}
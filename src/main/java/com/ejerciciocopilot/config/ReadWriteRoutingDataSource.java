@@ -0,0 +1,152 @@
+package com.ejerciciocopilot.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource que manda las transacciones @Transactional(readOnly = true) a la réplica y el resto al primario.
+ * Decide al pedir la conexión física, así que tiene que ir envuelto en un LazyConnectionDataSourceProxy:
+ * la conexión se pide en la primera sentencia, cuando el flag de solo lectura ya está puesto.
+ * Las transacciones que ejecutaron INSERT, UPDATE, DELETE o MERGE en el primario avisan a ReplicaLagGuard
+ * al confirmarse, para el cliente del request en curso. Las que solo leen o piden valores de una secuencia
+ * (como la reserva de IDs de la escritura diferida) no cuentan como escritura aunque no sean de solo lectura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final Pattern DML = Pattern.compile("(?i)(insert|update|delete|merge)\\b");
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return lagGuard.readsPinnedToPrimary() ? Route.PRIMARY : Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    /**
+     * Si la conexión es del primario dentro de una transacción, la envuelve para registrar
+     * la escritura al confirmar, solo si se llega a ejecutar DML.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, new WriteTracker());
+    }
+
+    /**
+     * Si la sentencia modifica filas: empieza con INSERT, UPDATE, DELETE o MERGE,
+     * salteando espacios y comentarios iniciales.
+     */
+    static boolean isDml(String sql) {
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return false;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        return DML.matcher(statement).lookingAt();
+    }
+
+    private static <T> T proxy(Class<T> type, T target, WriteTracker tracker) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new Delegate(target, tracker)));
+    }
+
+    /**
+     * Registra, una sola vez por conexión, la sincronización que avisa a ReplicaLagGuard después del commit.
+     */
+    private final class WriteTracker {
+
+        private boolean registered;
+
+        void onSql(String sql) {
+            if (registered || !isDml(sql) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            registered = true;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite();
+                }
+            });
+        }
+    }
+
+    /**
+     * Delega en la conexión (o en un Statement creado por ella) y pasa al WriteTracker el SQL
+     * de las llamadas prepare*, execute* y addBatch.
+     */
+    private static final class Delegate implements InvocationHandler {
+
+        private final Object target;
+        private final WriteTracker tracker;
+
+        private Delegate(Object target, WriteTracker tracker) {
+            this.target = target;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String sql
+                    && (name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch"))) {
+                tracker.onSql(sql);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (name.equals("createStatement") && result instanceof Statement statement) {
+                return proxy(Statement.class, statement, tracker);
+            }
+            return result;
+        }
+    }
+}
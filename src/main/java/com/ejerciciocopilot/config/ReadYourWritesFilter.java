@@ -0,0 +1,72 @@
+package com.ejerciciocopilot.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Asocia cada request a su cliente en ReplicaLagGuard.
+ * Lee el plazo de read-your-writes de la cookie {@value #COOKIE} y, cuando el request confirma una escritura,
+ * devuelve el plazo nuevo en la misma cookie (las escrituras se confirman antes de escribir la respuesta).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "rw-primary-until";
+
+    private final ReplicaLagGuard lagGuard;
+    private final Duration maxLag;
+
+    /**
+     * @param lagGuard guard de read-your-writes
+     * @param maxLag   vida de la cookie (app.datasource.replica.max-lag)
+     */
+    public ReadYourWritesFilter(ReplicaLagGuard lagGuard, Duration maxLag) {
+        this.lagGuard = lagGuard;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        lagGuard.bind(primaryUntil(request), until -> {
+            if (!response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(until.toEpochMilli()))
+                        .path("/")
+                        .httpOnly(true)
+                        .maxAge(maxLag.plusSeconds(1).toSeconds())
+                        .build()
+                        .toString());
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            lagGuard.unbind();
+        }
+    }
+
+    private static Instant primaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ejerciciocopilot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réplica de solo lectura de la base de datos (prefijo app.datasource.replica).
+ * Sin url no hay réplica y todo va al datasource principal (spring.datasource).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * URL JDBC de la réplica; si está vacía, las transacciones de solo lectura usan el primario.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Clase del driver JDBC (por defecto, la que corresponde a la URL).
+     */
+    private String driverClassName;
+
+    /**
+     * Tamaño máximo del pool de conexiones de la réplica.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Retraso de replicación que se tolera: durante este tiempo después de confirmar una escritura,
+     * las lecturas siguen yendo al primario para ver lo recién escrito.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+}
@@ -0,0 +1,88 @@
+package com.ejerciciocopilot.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Read-your-writes con réplica asíncrona, por cliente: después de que un cliente confirma una escritura,
+ * sus lecturas van al primario durante app.datasource.replica.max-lag. Las lecturas de los demás clientes
+ * siguen yendo a la réplica.
+ * <p>
+ * El cliente se identifica por el request en curso (ReadYourWritesFilter lo asocia al hilo): el plazo
+ * viaja en una cookie, así que no hay estado por cliente en el servidor y sirve con varias instancias.
+ * Las escrituras sin cliente (hilos en segundo plano) no fijan ninguna lectura al primario.
+ */
+public class ReplicaLagGuard {
+
+    private final Duration maxLag;
+    private final Clock clock;
+    private final ThreadLocal<Client> current = new ThreadLocal<>();
+
+    public ReplicaLagGuard(Duration maxLag) {
+        this(maxLag, Clock.systemUTC());
+    }
+
+    ReplicaLagGuard(Duration maxLag, Clock clock) {
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    /**
+     * Asocia el hilo actual a un cliente, hasta {@link #unbind()}.
+     *
+     * @param primaryUntil plazo que trajo el cliente (null si no escribió hace poco); se acota a max-lag
+     *                     desde ahora, para que un valor inventado no fije sus lecturas para siempre
+     * @param onWrite      se llama con el plazo nuevo cada vez que el cliente confirma una escritura
+     */
+    public void bind(Instant primaryUntil, Consumer<Instant> onWrite) {
+        Instant limit = clock.instant().plus(maxLag);
+        Instant until = primaryUntil == null || primaryUntil.isAfter(limit) ? limit : primaryUntil;
+        current.set(new Client(primaryUntil == null ? Instant.MIN : until, onWrite));
+    }
+
+    /**
+     * Desasocia el hilo actual de su cliente.
+     */
+    public void unbind() {
+        current.remove();
+    }
+
+    /**
+     * Registra una escritura confirmada en el primario por el cliente del hilo actual.
+     * Sin cliente asociado no hace nada.
+     */
+    public void recordWrite() {
+        Client client = current.get();
+        if (client == null) {
+            return;
+        }
+        client.primaryUntil = clock.instant().plus(maxLag);
+        client.onWrite.accept(client.primaryUntil);
+    }
+
+    /**
+     * Si la réplica puede no tener todavía la última escritura del cliente del hilo actual.
+     *
+     * @return true mientras las lecturas de este cliente deban ir al primario
+     */
+    public boolean readsPinnedToPrimary() {
+        Client client = current.get();
+        return client != null && clock.instant().isBefore(client.primaryUntil);
+    }
+
+    /**
+     * Plazo de read-your-writes del cliente asociado al hilo.
+     */
+    private static final class Client {
+
+        private Instant primaryUntil;
+        private final Consumer<Instant> onWrite;
+
+        private Client(Instant primaryUntil, Consumer<Instant> onWrite) {
+            this.primaryUntil = primaryUntil;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ejerciciocopilot.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URL;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * CacheManager de JCache propio para cada SessionFactory, con las regiones de ehcache.xml.
+ * El proveedor de Ehcache comparte un CacheManager por URI y Hibernate lo cierra al cerrarse la
+ * SessionFactory: con una URI única, cerrar un contexto (por ejemplo, entre tests) no deja sin caché a otro.
+ */
+@Component
+@Profile("!memory")
+public class SecondLevelCacheManagerCustomizer implements HibernatePropertiesCustomizer {
+
+    static final String CONFIG_RESOURCE = "ehcache.xml";
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        URL config = classLoader.getResource(CONFIG_RESOURCE);
+        if (config == null) {
+            throw new IllegalStateException("No se encontró " + CONFIG_RESOURCE + " en el classpath");
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName(), classLoader);
+        URI uri = URI.create("urn:ejerciciocopilot:hibernate:" + UUID.randomUUID());
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER,
+                provider.getCacheManager(uri, new XmlConfiguration(config, classLoader)));
+    }
+}
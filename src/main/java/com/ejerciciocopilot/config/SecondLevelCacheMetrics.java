@@ -0,0 +1,59 @@
+package com.ejerciciocopilot.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de la caché de segundo nivel de Hibernate por región (excuses.cache.*, tag region):
+ * aciertos, fallos y proporción de aciertos de las entidades del catálogo y de los resultados de consultas.
+ * Se leen de las estadísticas de Hibernate (hibernate.generate_statistics).
+ */
+@Component
+@Profile("!memory")
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("excuses.cache.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .description("Lecturas servidas desde la caché de segundo nivel")
+                    .register(registry);
+            FunctionCounter.builder("excuses.cache.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .description("Lecturas que no encontraron la entrada en la caché de segundo nivel")
+                    .register(registry);
+            Gauge.builder("excuses.cache.hit.ratio", regionStatistics, SecondLevelCacheMetrics::hitRatio)
+                    .tag("region", region)
+                    .description("Proporción de lecturas servidas desde la caché de segundo nivel")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Aciertos sobre lecturas totales de una región (0 si todavía no se leyó).
+     */
+    static double hitRatio(CacheRegionStatistics regionStatistics) {
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
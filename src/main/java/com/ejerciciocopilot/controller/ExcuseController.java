@@ -1,56 +1,95 @@
 package com.ejerciciocopilot.controller;
 
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseCursorResponseDTO;
 import com.ejerciciocopilot.dto.ExcuseRequestDTO;
 import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.dto.ExcuseSummaryDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.mapper.ExcuseMapper;
 import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.service.DailyExcuseService;
+import com.ejerciciocopilot.service.ExcuseCursorService;
+import com.ejerciciocopilot.service.ExcusePool;
 import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.ExcuseStreamService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Controller REST para gestionar y generar excusas tech.
  * Soporta generación de excusas simples, con memes, con leyes y modo ULTRA_SHARK.
+ * Los GET de generación son efímeros salvo ?persist=true (o app.excuses.persist-on-get=true).
  */
 @RestController
 @RequestMapping("/api/excuses")
 public class ExcuseController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ExcuseService excuseService;
+    private final ExcusePool excusePool;
+    private final DailyExcuseService dailyExcuseService;
+    private final ExcuseCursorService excuseCursorService;
+    private final ExcuseStreamService excuseStreamService;
+    private final ExcuseProperties excuseProperties;
 
     /**
      * Constructor con inyección de dependencias.
      */
-    public ExcuseController(ExcuseService excuseService) {
+    public ExcuseController(ExcuseService excuseService,
+                            ExcusePool excusePool,
+                            DailyExcuseService dailyExcuseService,
+                            ExcuseCursorService excuseCursorService,
+                            ExcuseStreamService excuseStreamService,
+                            ExcuseProperties excuseProperties) {
         this.excuseService = excuseService;
+        this.excusePool = excusePool;
+        this.dailyExcuseService = dailyExcuseService;
+        this.excuseCursorService = excuseCursorService;
+        this.excuseStreamService = excuseStreamService;
+        this.excuseProperties = excuseProperties;
     }
 
     /**
      * Obtiene una excusa aleatoria.
+     * Sin persistencia se sirve desde el pool de excusas pregeneradas.
      *
+     * @param persist si se guarda la excusa (por defecto según app.excuses.persist-on-get)
      * @return excusa aleatoria como ResponseDTO
      */
     @GetMapping("/random")
-    public ResponseEntity<ExcuseResponseDTO> getRandom() {
-        Excuse excuse = excuseService.generateRandom();
-        return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
+    public ResponseEntity<ExcuseResponseDTO> getRandom(@RequestParam(required = false) Boolean persist) {
+        if (!persist(persist)) {
+            return ResponseEntity.ok(excusePool.next());
+        }
+        return ResponseEntity.ok(ExcuseMapper.toResponse(excuseService.generateRandom()));
     }
 
     /**
      * Obtiene una excusa aleatoria para un rol específico.
      *
-     * @param role rol del desarrollador (DEV, QA, DEVOPS, PM, ARCHITECT, DEVREL)
+     * @param role    rol del desarrollador (DEV, QA, DEVOPS, PM, ARCHITECT, DEVREL)
+     * @param persist si se guarda la excusa (por defecto según app.excuses.persist-on-get)
      * @return excusa personalizada para el rol o 400 si el rol es inválido
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<ExcuseResponseDTO> getByRole(@PathVariable String role) {
+    public ResponseEntity<ExcuseResponseDTO> getByRole(@PathVariable String role,
+                                                       @RequestParam(required = false) Boolean persist) {
         try {
-            Excuse excuse = excuseService.generateByRole(role);
+            Excuse excuse = persist(persist)
+                    ? excuseService.generateByRole(role)
+                    : excuseService.generateEphemeral(ExcuseType.SIMPLE, role);
             return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -59,48 +98,199 @@ public class ExcuseController {
 
     /**
      * Obtiene la excusa del día (reproducible basada en fecha).
+     * Se calcula una vez por día y rol y se sirve desde memoria; persistida se guarda una sola vez por día.
      *
-     * @return excusa del día como ResponseDTO
+     * @param role    rol del desarrollador (opcional)
+     * @param tz      zona horaria que define el día (opcional, por defecto app.excuses.daily-zone)
+     * @param persist si se devuelve la excusa guardada (por defecto según app.excuses.persist-on-get)
+     * @return excusa del día como ResponseDTO o 400 si el rol o la zona son inválidos
      */
     @GetMapping("/daily")
-    public ResponseEntity<ExcuseResponseDTO> getDaily() {
-        Excuse excuse = excuseService.generateDaily();
-        return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
+    public ResponseEntity<ExcuseResponseDTO> getDaily(@RequestParam(required = false) String role,
+                                                      @RequestParam(required = false) String tz,
+                                                      @RequestParam(required = false) Boolean persist) {
+        return ResponseEntity.ok(persist(persist)
+                ? dailyExcuseService.todayStored(role, tz)
+                : dailyExcuseService.today(role, tz));
+    }
+
+    /**
+     * Reconstruye la excusa que corresponde a un seed sin tocar la tabla de excusas.
+     * Con el mismo seed, tipo y rol devuelve siempre la misma combinación mientras el catálogo no cambie.
+     *
+     * @param seed seed de una excusa generada previamente
+     * @param type tipo de excusa (SIMPLE por defecto)
+     * @param role rol del desarrollador (opcional)
+     * @return excusa reconstruida (sin ID) o 400 si el tipo o el rol son inválidos
+     */
+    @GetMapping("/replay/{seed}")
+    public ResponseEntity<ExcuseResponseDTO> replay(@PathVariable long seed,
+                                                    @RequestParam(required = false) String type,
+                                                    @RequestParam(required = false) String role) {
+        try {
+            Excuse excuse = excuseService.replay(seed, type, role);
+            return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Reconstruye una excusa a partir de su token público (campo token de la respuesta).
+     * El token empaqueta la composición completa, así que se resuelve contra el catálogo en memoria, sin joins.
+     *
+     * @param token token de la excusa
+     * @return excusa reconstruida (sin ID); 400 si el token es inválido,
+     *         404 si algún elemento ya no está en el catálogo
+     */
+    @GetMapping("/t/{token}")
+    public ResponseEntity<ExcuseResponseDTO> fromToken(@PathVariable String token) {
+        return ResponseEntity.ok(ExcuseMapper.toResponse(excuseService.fromToken(token)));
+    }
+
+    /**
+     * Recorre las combinaciones de excusas sin repetir ninguna, en un orden pseudoaleatorio.
+     * Sin cursor empieza un recorrido nuevo; cada respuesta trae el cursor de la siguiente excusa
+     * (null cuando ya se entregaron todas). El estado vive en el cursor, no en el servidor.
+     *
+     * @param cursor cursor devuelto por la llamada anterior (opcional)
+     * @param type   tipo de excusa de un recorrido nuevo (SIMPLE por defecto)
+     * @param role   rol del desarrollador de un recorrido nuevo (opcional)
+     * @return excusa sin persistir y cursor siguiente (si el catálogo cambió desde que se emitió el cursor,
+     *         la primera de un recorrido nuevo, con restarted=true); 400 si el cursor es inválido
+     */
+    @GetMapping("/next")
+    public ResponseEntity<ExcuseCursorResponseDTO> next(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) String type,
+                                                        @RequestParam(required = false) String role) {
+        return ResponseEntity.ok(excuseCursorService.next(cursor, type, role));
     }
 
     /**
      * Obtiene una excusa con meme incluido.
      *
+     * @param persist si se guarda la excusa (por defecto según app.excuses.persist-on-get)
      * @return excusa con meme como ResponseDTO
      */
     @GetMapping("/meme")
-    public ResponseEntity<ExcuseResponseDTO> getMeme() {
-        Excuse excuse = excuseService.generateWithMeme();
+    public ResponseEntity<ExcuseResponseDTO> getMeme(@RequestParam(required = false) Boolean persist) {
+        Excuse excuse = persist(persist)
+                ? excuseService.generateWithMeme()
+                : excuseService.generateEphemeral(ExcuseType.CON_MEME, null);
         return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
     }
 
     /**
      * Obtiene una excusa justificada con una ley.
      *
+     * @param persist si se guarda la excusa (por defecto según app.excuses.persist-on-get)
      * @return excusa con ley como ResponseDTO
      */
     @GetMapping("/law")
-    public ResponseEntity<ExcuseResponseDTO> getLaw() {
-        Excuse excuse = excuseService.generateWithLaw();
+    public ResponseEntity<ExcuseResponseDTO> getLaw(@RequestParam(required = false) Boolean persist) {
+        Excuse excuse = persist(persist)
+                ? excuseService.generateWithLaw()
+                : excuseService.generateEphemeral(ExcuseType.CON_LEY, null);
         return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
     }
 
     /**
      * Obtiene una excusa ULTRA_SHARK (meme + ley + fragmentos).
      *
+     * @param persist si se guarda la excusa (por defecto según app.excuses.persist-on-get)
      * @return excusa completa ULTRA_SHARK como ResponseDTO
      */
     @GetMapping("/ultra")
-    public ResponseEntity<ExcuseResponseDTO> getUltra() {
-        Excuse excuse = excuseService.generateUltraShark();
+    public ResponseEntity<ExcuseResponseDTO> getUltra(@RequestParam(required = false) Boolean persist) {
+        Excuse excuse = persist(persist)
+                ? excuseService.generateUltraShark()
+                : excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null);
         return ResponseEntity.ok(ExcuseMapper.toResponse(excuse));
     }
 
+    /**
+     * Genera un lote de excusas en una sola llamada.
+     *
+     * @param count   cantidad de excusas (1 a app.excuses.batch-max-count)
+     * @param type    tipo de excusa (SIMPLE por defecto)
+     * @param role    rol del desarrollador (opcional)
+     * @param persist si se guardan las excusas (por defecto según app.excuses.persist-on-get)
+     * @return lista de excusas o 400 si la cantidad, el tipo o el rol son inválidos
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<ExcuseResponseDTO>> getBatch(@RequestParam int count,
+                                                            @RequestParam(required = false) String type,
+                                                            @RequestParam(required = false) String role,
+                                                            @RequestParam(required = false) Boolean persist) {
+        try {
+            List<Excuse> excuses = persist(persist)
+                    ? excuseService.generateBatch(count, type, role)
+                    : excuseService.generateBatchEphemeral(count, type, role);
+            return ResponseEntity.ok(toResponses(excuses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Genera y persiste un lote de excusas (inserts agrupados en batches JDBC).
+     *
+     * @param count cantidad de excusas (1 a app.excuses.batch-max-count)
+     * @param type  tipo de excusa (SIMPLE por defecto)
+     * @param role  rol del desarrollador (opcional)
+     * @return excusas creadas con código 201 o 400 si la cantidad, el tipo o el rol son inválidos
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ExcuseResponseDTO>> createBatch(@RequestParam int count,
+                                                               @RequestParam(required = false) String type,
+                                                               @RequestParam(required = false) String role) {
+        try {
+            List<Excuse> excuses = excuseService.generateBatch(count, type, role);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toResponses(excuses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Feed continuo de excusas efímeras.
+     * Responde Server-Sent Events (text/event-stream) por defecto, o NDJSON si el cliente
+     * pide application/x-ndjson en el header Accept. Un consumidor lento frena el stream
+     * en lugar de acumular excusas en memoria.
+     *
+     * @param rate   excusas por segundo (1 a 1000, 10 por defecto)
+     * @param type   tipo de excusa (SIMPLE por defecto)
+     * @param role   rol del desarrollador (opcional)
+     * @param limit  cantidad de excusas antes de cerrar el stream (0 = sin límite)
+     * @param accept header Accept del request
+     * @return stream abierto, 400 si los parámetros son inválidos o 503 si se alcanzó el máximo de streams
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> stream(@RequestParam(defaultValue = "10") double rate,
+                                                      @RequestParam(required = false) String type,
+                                                      @RequestParam(required = false) String role,
+                                                      @RequestParam(defaultValue = "0") long limit,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                      String accept) {
+        try {
+            ExcuseType mode = type != null ? ExcuseService.parseType(type) : ExcuseType.SIMPLE;
+            boolean ndjson = accept != null && accept.contains(APPLICATION_NDJSON.toString());
+            Optional<? extends ResponseBodyEmitter> emitter = ndjson
+                    ? excuseStreamService.openNdjson(mode, role, rate, limit)
+                    : excuseStreamService.openSse(mode, role, rate, limit);
+            if (emitter.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(ndjson ? APPLICATION_NDJSON : MediaType.TEXT_EVENT_STREAM)
+                    .body(emitter.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Obtiene una excusa por ID.
      *
@@ -128,18 +318,60 @@ public class ExcuseController {
     }
 
     /**
-     * Obtiene el historial de excusas generadas.
+     * Resumen del historial de excusas (ID, tipo, rol y seed) por páginas, opcionalmente filtrado.
+     * Lee solo esas columnas: sin fragmentos, meme, ley ni timestamps, y sin crear entidades.
+     * Misma paginación que el listado completo (after/page/size y nextAfter).
+     *
+     * @param after último ID de la página anterior (opcional)
+     * @param page  número de página desde 0, en lugar de after (opcional)
+     * @param size  tamaño de página (1 a 100, por defecto 20)
+     * @param type  filtrar por tipo de excusa (opcional)
+     * @param role  filtrar por rol (opcional)
+     * @return página de resúmenes, o 400 si los parámetros son inválidos
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<PageResponseDTO<ExcuseSummaryDTO>> listSummaries(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String role) {
+        return ResponseEntity.ok(excuseService.findSummaryPage(after, page, size, type, role)
+                .map(ExcuseMapper::toSummary));
+    }
+
+    /**
+     * Lista las excusas por páginas, ordenadas por ID.
+     * Por defecto pagina por keyset: la respuesta trae {@code nextAfter}, el valor de {@code after}
+     * para pedir la página siguiente (null en la última). Con {@code page} pagina por OFFSET.
+     * El total es una estimación.
      *
-     * @return lista de excusas como ResponseDTO
+     * @param after último ID de la página anterior (opcional)
+     * @param page  número de página desde 0, en lugar de after (opcional)
+     * @param size  tamaño de página (1 a 100, por defecto 20)
+     * @return página de excusas como ResponseDTO, o 400 si los parámetros son inválidos
      */
     @GetMapping
-    public ResponseEntity<List<ExcuseResponseDTO>> listAll() {
-        List<Excuse> excuses = excuseService.findAll();
-        
-        List<ExcuseResponseDTO> dtos = excuses.stream()
+    public ResponseEntity<PageResponseDTO<ExcuseResponseDTO>> listAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(excuseService.findPage(after, page, size).map(ExcuseMapper::toResponse));
+    }
+
+    /**
+     * Convierte una lista de excusas a ResponseDTOs.
+     */
+    private static List<ExcuseResponseDTO> toResponses(List<Excuse> excuses) {
+        return excuses.stream()
                 .map(ExcuseMapper::toResponse)
                 .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Resuelve si un GET de generación persiste: el parámetro del request manda sobre la configuración.
+     */
+    private boolean persist(Boolean persist) {
+        return persist != null ? persist : excuseProperties.isPersistOnGet();
     }
 }
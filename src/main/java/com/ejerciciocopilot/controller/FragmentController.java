@@ -2,6 +2,7 @@ package com.ejerciciocopilot.controller;
 
 import com.ejerciciocopilot.dto.FragmentRequestDTO;
 import com.ejerciciocopilot.dto.FragmentResponseDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.mapper.FragmentMapper;
 import com.ejerciciocopilot.model.Fragment;
 import com.ejerciciocopilot.service.FragmentService;
@@ -10,9 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Controller REST para gestionar fragmentos de excusas tech.
  * Soporta CRUD completo de fragmentos (contexto, causa, consecuencia, recomendación).
@@ -31,21 +29,22 @@ public class FragmentController {
     }
 
     /**
-     * Obtiene todos los fragmentos, opcionalmente filtrados por tipo.
+     * Lista los fragmentos por páginas, ordenados por ID.
+     * Por defecto pagina por keyset: la respuesta trae {@code nextAfter}, el valor de {@code after}
+     * para pedir la página siguiente (null en la última). Con {@code page} pagina por OFFSET.
+     * El total es una estimación.
      *
-     * @param tipo tipo de fragmento (CONTEXTO, CAUSA, CONSECUENCIA, RECOMENDACION)
-     * @return lista de fragmentos como ResponseDTO
+     * @param after último ID de la página anterior (opcional)
+     * @param page  número de página desde 0, en lugar de after (opcional)
+     * @param size  tamaño de página (1 a 100, por defecto 20)
+     * @return página de fragmentos como ResponseDTO, o 400 si los parámetros son inválidos
      */
     @GetMapping
-    public ResponseEntity<List<FragmentResponseDTO>> listAll(
-            @RequestParam(required = false) String tipo) {
-        List<Fragment> fragments = fragmentService.findAll();
-        
-        List<FragmentResponseDTO> dtos = fragments.stream()
-                .map(FragmentMapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<PageResponseDTO<FragmentResponseDTO>> listAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(fragmentService.findPage(after, page, size).map(FragmentMapper::toResponse));
     }
 
     /**
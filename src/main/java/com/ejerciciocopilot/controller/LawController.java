@@ -2,6 +2,7 @@ package com.ejerciciocopilot.controller;
 
 import com.ejerciciocopilot.dto.LawRequestDTO;
 import com.ejerciciocopilot.dto.LawResponseDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.mapper.LawMapper;
 import com.ejerciciocopilot.model.Law;
 import com.ejerciciocopilot.service.LawService;
@@ -10,9 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Controller REST para gestionar leyes y axiomas del desarrollo.
  * Soporta CRUD completo de leyes (Murphy, Hofstadter, Dilbert, DevOps, etc.).
@@ -31,21 +29,22 @@ public class LawController {
     }
 
     /**
-     * Obtiene todas las leyes, opcionalmente filtradas por categoría.
+     * Lista las leyes por páginas, ordenadas por ID.
+     * Por defecto pagina por keyset: la respuesta trae {@code nextAfter}, el valor de {@code after}
+     * para pedir la página siguiente (null en la última). Con {@code page} pagina por OFFSET.
+     * El total es una estimación.
      *
-     * @param category categoría de la ley (Murphy, Hofstadter, Dilbert, DevOps, etc.)
-     * @return lista de leyes como ResponseDTO
+     * @param after último ID de la página anterior (opcional)
+     * @param page  número de página desde 0, en lugar de after (opcional)
+     * @param size  tamaño de página (1 a 100, por defecto 20)
+     * @return página de leyes como ResponseDTO, o 400 si los parámetros son inválidos
      */
     @GetMapping
-    public ResponseEntity<List<LawResponseDTO>> listAll(
-            @RequestParam(required = false) String category) {
-        List<Law> laws = lawService.findAll();
-        
-        List<LawResponseDTO> dtos = laws.stream()
-                .map(LawMapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<PageResponseDTO<LawResponseDTO>> listAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(lawService.findPage(after, page, size).map(LawMapper::toResponse));
     }
 
     /**
@@ -2,6 +2,7 @@ package com.ejerciciocopilot.controller;
 
 import com.ejerciciocopilot.dto.MemeRequestDTO;
 import com.ejerciciocopilot.dto.MemeResponseDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.mapper.MemeMapper;
 import com.ejerciciocopilot.model.Meme;
 import com.ejerciciocopilot.service.MemeService;
@@ -10,9 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Controller REST para gestionar memes tech argentinos.
  * Soporta CRUD completo de memes.
@@ -31,19 +29,22 @@ public class MemeController {
     }
 
     /**
-     * Obtiene todos los memes.
+     * Lista los memes por páginas, ordenados por ID.
+     * Por defecto pagina por keyset: la respuesta trae {@code nextAfter}, el valor de {@code after}
+     * para pedir la página siguiente (null en la última). Con {@code page} pagina por OFFSET.
+     * El total es una estimación.
      *
-     * @return lista de memes como ResponseDTO
+     * @param after último ID de la página anterior (opcional)
+     * @param page  número de página desde 0, en lugar de after (opcional)
+     * @param size  tamaño de página (1 a 100, por defecto 20)
+     * @return página de memes como ResponseDTO, o 400 si los parámetros son inválidos
      */
     @GetMapping
-    public ResponseEntity<List<MemeResponseDTO>> listAll() {
-        List<Meme> memes = memeService.findAll();
-        
-        List<MemeResponseDTO> dtos = memes.stream()
-                .map(MemeMapper::toResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<PageResponseDTO<MemeResponseDTO>> listAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(memeService.findPage(after, page, size).map(MemeMapper::toResponse));
     }
 
     /**
@@ -0,0 +1,24 @@
+package com.ejerciciocopilot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta de GET /api/excuses/next: una excusa del recorrido sin repeticiones
+ * y el cursor para pedir la siguiente (null cuando se agotaron las combinaciones).
+ * {@code restarted} indica que el catálogo cambió desde que se emitió el cursor recibido y
+ * el recorrido volvió a empezar (la posición vuelve a 1).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExcuseCursorResponseDTO {
+    private ExcuseResponseDTO excuse;
+    private String nextCursor;
+    private long position;
+    private long total;
+    private boolean restarted;
+}
@@ -22,6 +22,7 @@ public class ExcuseResponseDTO {
     private String type;
     private String role;
     private Long seed;
+    private String token;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -1,5 +1,6 @@
 package com.ejerciciocopilot.dto;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -20,4 +21,7 @@ public class FragmentRequestDTO {
     private String text;
 
     private String role; // Rol opcional
+
+    @DecimalMin(value = "0.0", message = "El peso no puede ser negativo")
+    private Double weight; // Peso opcional en las selecciones aleatorias (1 por defecto)
 }
@@ -16,6 +16,7 @@ public class FragmentResponseDTO {
     private String type;
     private String text;
     private String role;
+    private Double weight;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -1,5 +1,6 @@
 package com.ejerciciocopilot.dto;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -22,4 +23,7 @@ public class LawRequestDTO {
 
     @NotBlank(message = "La categoría es obligatoria")
     private String category; // Murphy, Hofstadter, Dilbert, DevOps, DevAxiom
+
+    @DecimalMin(value = "0.0", message = "El peso no puede ser negativo")
+    private Double weight; // Peso opcional en las selecciones aleatorias (1 por defecto)
 }
@@ -16,6 +16,7 @@ public class LawResponseDTO {
     private String name;
     private String description;
     private String category;
+    private Double weight;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -1,5 +1,6 @@
 package com.ejerciciocopilot.dto;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -23,4 +24,7 @@ public class MemeRequestDTO {
     @NotBlank(message = "La frase es obligatoria")
     @Size(min = 10, max = 500, message = "La frase debe tener entre 10 y 500 caracteres")
     private String quote;
+
+    @DecimalMin(value = "0.0", message = "El peso no puede ser negativo")
+    private Double weight; // Peso opcional en las selecciones aleatorias (1 por defecto)
 }
@@ -19,5 +19,6 @@ public class MemeResponseDTO {
     private Long id;
     private String author;
     private String quote;
+    private Double weight;
     private LocalDateTime createdAt;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @NoArgsConstructor
@@ -15,6 +16,15 @@ public class PageResponseDTO<T> {
     private List<T> content;
     private long totalElements;
     private int totalPages;
-    private int page;
+    private Integer page;
     private int size;
+    private Long nextAfter;
+
+    /**
+     * Misma página con el contenido convertido (por ejemplo, de entidades a ResponseDTOs).
+     */
+    public <R> PageResponseDTO<R> map(Function<? super T, ? extends R> mapper) {
+        return new PageResponseDTO<>(content.stream().<R>map(mapper).toList(),
+                totalElements, totalPages, page, size, nextAfter);
+    }
 }
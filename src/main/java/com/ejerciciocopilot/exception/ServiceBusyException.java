@@ -0,0 +1,17 @@
+package com.ejerciciocopilot.exception;
+
+/**
+ * Excepción lanzada cuando un recurso acotado está lleno y el request no puede esperar más
+ * (por ejemplo, la cola de escritura diferida de excusas). Se responde con 503 y Retry-After.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje descriptivo.
+     *
+     * @param message mensaje de error descriptivo
+     */
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
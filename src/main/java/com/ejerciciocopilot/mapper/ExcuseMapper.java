@@ -5,9 +5,16 @@ import com.ejerciciocopilot.dto.ExcuseResponseDTO;
 import com.ejerciciocopilot.dto.ExcuseSummaryDTO;
 import com.ejerciciocopilot.model.Excuse;
 import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.model.Fragment;
 import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
 
 public final class ExcuseMapper {
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES;
+
     private ExcuseMapper() {}
 
     public static Excuse toEntity(ExcuseRequestDTO dto) {
@@ -31,6 +38,7 @@ public final class ExcuseMapper {
                 .type(excuse.getType() != null ? excuse.getType().name() : null)
                 .role(excuse.getRole() != null ? excuse.getRole().name() : null)
                 .seed(excuse.getSeed())
+                .token(toToken(excuse))
                 .createdAt(excuse.getCreatedAt())
                 .updatedAt(excuse.getUpdatedAt())
                 .build();
@@ -45,4 +53,76 @@ public final class ExcuseMapper {
                 .seed(excuse.getSeed())
                 .build();
     }
+
+    public static ExcuseSummaryDTO toSummary(ExcuseSummaryView view) {
+        if (view == null) return null;
+        return ExcuseSummaryDTO.builder()
+                .id(view.id())
+                .type(view.type() != null ? view.type().name() : null)
+                .role(view.role() != null ? view.role().name() : null)
+                .seed(view.seed())
+                .build();
+    }
+
+    /**
+     * Token público de una excusa: los 8 bytes de su clave de composición y 4 bytes de huella de los IDs
+     * de sus fragmentos, meme y ley, en Base64 URL-safe sin padding (16 caracteres).
+     * La clave guarda posiciones en el catálogo; la huella permite detectar un token viejo cuyas posiciones
+     * ya apuntan a otros elementos (por ejemplo, después de borrar un fragmento).
+     */
+    public static String toToken(Excuse excuse) {
+        if (excuse == null || excuse.getCompositionKey() == null) return null;
+        byte[] bytes = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(excuse.getCompositionKey())
+                .putInt(fingerprint(excuse))
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Clave de composición y huella de un token generado por toToken().
+     *
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static Token fromToken(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            bytes = new byte[0];
+        }
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("Token inválido: " + token);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new Token(buffer.getLong(), buffer.getInt());
+    }
+
+    /**
+     * Huella de los IDs que componen una excusa (0 para las relaciones vacías).
+     */
+    public static int fingerprint(Excuse excuse) {
+        long hash = 0;
+        for (Long id : new Long[]{idOf(excuse.getContext()), idOf(excuse.getCause()), idOf(excuse.getConsequence()),
+                idOf(excuse.getRecommendation()),
+                excuse.getMeme() != null ? excuse.getMeme().getId() : null,
+                excuse.getLaw() != null ? excuse.getLaw().getId() : null}) {
+            hash = (hash ^ (id != null ? id : 0)) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+        }
+        return (int) hash;
+    }
+
+    private static Long idOf(Fragment fragment) {
+        return fragment != null ? fragment.getId() : null;
+    }
+
+    /**
+     * Contenido de un token público.
+     *
+     * @param compositionKey clave de composición
+     * @param fingerprint    huella de los IDs de la excusa al emitir el token
+     */
+    public record Token(long compositionKey, int fingerprint) {
+    }
 }
@@ -15,6 +15,7 @@ public final class FragmentMapper {
                 .type(FragmentType.valueOf(dto.getType()))
                 .text(dto.getText())
                 .role(dto.getRole() != null ? Role.valueOf(dto.getRole()) : null)
+                .weight(dto.getWeight() != null ? dto.getWeight() : 1.0)
                 .build();
     }
 
@@ -25,6 +26,7 @@ public final class FragmentMapper {
                 .type(fragment.getType() != null ? fragment.getType().name() : null)
                 .text(fragment.getText())
                 .role(fragment.getRole() != null ? fragment.getRole().name() : null)
+                .weight(fragment.getWeight())
                 .createdAt(fragment.getCreatedAt())
                 .updatedAt(fragment.getUpdatedAt())
                 .build();
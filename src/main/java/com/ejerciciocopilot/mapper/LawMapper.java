@@ -13,6 +13,7 @@ public final class LawMapper {
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .category(dto.getCategory())
+                .weight(dto.getWeight() != null ? dto.getWeight() : 1.0)
                 .build();
     }
 
@@ -23,6 +24,7 @@ public final class LawMapper {
                 .name(law.getName())
                 .description(law.getDescription())
                 .category(law.getCategory())
+                .weight(law.getWeight())
                 .createdAt(law.getCreatedAt())
                 .updatedAt(law.getUpdatedAt())
                 .build();
@@ -21,6 +21,7 @@ public class MemeMapper {
         return Meme.builder()
                 .author(dto.getAuthor())
                 .quote(dto.getQuote())
+                .weight(dto.getWeight() != null ? dto.getWeight() : 1.0)
                 .build();
     }
 
@@ -35,6 +36,7 @@ public class MemeMapper {
                 .id(meme.getId())
                 .author(meme.getAuthor())
                 .quote(meme.getQuote())
+                .weight(meme.getWeight())
                 .createdAt(meme.getCreatedAt())
                 .build();
     }
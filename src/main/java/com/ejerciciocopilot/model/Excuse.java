@@ -8,8 +8,18 @@ import java.time.LocalDateTime;
 /**
  * Entidad JPA que representa una excusa tech generada.
  * Una excusa es la combinación de fragmentos, opcionalmente con meme y/o ley.
+ * Las relaciones son lazy; las lecturas que mapean la excusa completa usan el grafo
+ * {@value #WITH_RELATIONS} para traerlas en la misma consulta.
  */
 @Entity
+@NamedEntityGraph(name = Excuse.WITH_RELATIONS, attributeNodes = {
+        @NamedAttributeNode("context"),
+        @NamedAttributeNode("cause"),
+        @NamedAttributeNode("consequence"),
+        @NamedAttributeNode("recommendation"),
+        @NamedAttributeNode("meme"),
+        @NamedAttributeNode("law")
+})
 @Table(name = "excuses")
 @Getter
 @Setter
@@ -18,11 +28,20 @@ import java.time.LocalDateTime;
 @Builder
 public class Excuse {
 
+    /**
+     * Nombre del grafo que trae los 4 fragmentos, el meme y la ley (LEFT JOIN) junto con la excusa.
+     */
+    public static final String WITH_RELATIONS = "Excuse.withRelations";
+
     /**
      * Identificador único de la excusa.
+     * Se asigna desde la secuencia excuses_seq en bloques de 1000 (optimizador pooled-lo):
+     * una consulta a la secuencia cada 1000 inserts y, a diferencia de IDENTITY,
+     * permite agrupar los INSERT en batches JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "excuses_seq")
+    @SequenceGenerator(name = "excuses_seq", sequenceName = "excuses_seq", allocationSize = 1000)
     private Long id;
 
     /**
@@ -94,6 +113,14 @@ public class Excuse {
     @Column(nullable = false)
     private Long seed;
 
+    /**
+     * Clave de composición: tipo, rol y posición de cada elemento en el catálogo empaquetados en 64 bits.
+     * Es la base del token público de la excusa; null si la excusa no se puede codificar
+     * (por ejemplo, si algún tipo de fragmento supera las 1024 entradas).
+     */
+    @Column(name = "composition_key")
+    private Long compositionKey;
+
     /**
      * Timestamp de creación de la excusa.
      */
@@ -2,14 +2,19 @@ package com.ejerciciocopilot.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad JPA que representa un fragmento de excusa tech.
  * Los fragmentos son componentes reutilizables que se combinan para formar excusas.
+ * Está en la caché de segundo nivel (ehcache.xml): se lee en cada generación y cambia poco.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "fragments")
 @Getter
 @Setter
@@ -20,9 +25,12 @@ public class Fragment {
 
     /**
      * Identificador único del fragmento.
+     * Se asigna desde la secuencia fragments_seq en bloques de 50 (optimizador pooled-lo):
+     * permite agrupar los INSERT en batches JDBC, a diferencia de IDENTITY.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fragments_seq")
+    @SequenceGenerator(name = "fragments_seq", sequenceName = "fragments_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -46,6 +54,16 @@ public class Fragment {
     @Column(nullable = true)
     private Role role;
 
+    /**
+     * Peso relativo en las selecciones aleatorias (1 = normal, 0 = nunca se elige).
+     * La columna tiene default 1.0 en la base, así los INSERT que no la mencionan (y el ALTER TABLE
+     * de ddl-auto=update sobre una tabla con filas) no fallan por el NOT NULL.
+     * Permite dar más visibilidad a un fragmento (impulso editorial) o bajarla según su uso.
+     */
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "double precision default 1.0")
+    private double weight = 1.0;
+
     /**
      * Timestamp de creación del fragmento.
      */
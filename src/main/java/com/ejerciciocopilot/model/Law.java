@@ -2,14 +2,19 @@ package com.ejerciciocopilot.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad JPA que representa una ley, axioma o principio del desarrollo.
  * Las leyes se utilizan para justificar y explicar las excusas tech.
+ * Cacheada en segundo nivel, igual que Fragment y Meme.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "laws")
 @Getter
 @Setter
@@ -20,9 +25,12 @@ public class Law {
 
     /**
      * Identificador único de la ley.
+     * Se asigna desde la secuencia laws_seq en bloques de 50 (optimizador pooled-lo):
+     * permite agrupar los INSERT en batches JDBC, a diferencia de IDENTITY.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "laws_seq")
+    @SequenceGenerator(name = "laws_seq", sequenceName = "laws_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -45,6 +53,14 @@ public class Law {
     @Column(nullable = false)
     private String category;
 
+    /**
+     * Peso relativo en las selecciones aleatorias (1 = normal, 0 = nunca se elige).
+     * Permite dar más visibilidad a una ley (impulso editorial) o bajarla según su uso.
+     */
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "double precision default 1.0")
+    private double weight = 1.0;
+
     /**
      * Timestamp de creación de la ley.
      */
@@ -2,14 +2,19 @@ package com.ejerciciocopilot.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad JPA que representa un meme tech argentino.
  * Los memes se pueden combinar con excusas para hacerlas más entretenidas.
+ * Cacheada en la caché de segundo nivel de Hibernate (región en ehcache.xml).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "memes")
 @Getter
 @Setter
@@ -20,9 +25,12 @@ public class Meme {
 
     /**
      * Identificador único del meme.
+     * Se asigna desde la secuencia memes_seq en bloques de 50 (optimizador pooled-lo):
+     * permite agrupar los INSERT en batches JDBC, a diferencia de IDENTITY.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "memes_seq")
+    @SequenceGenerator(name = "memes_seq", sequenceName = "memes_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -38,6 +46,14 @@ public class Meme {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String quote;
 
+    /**
+     * Peso relativo en las selecciones aleatorias (1 = normal, 0 = nunca se elige).
+     * Permite dar más visibilidad a un meme (impulso editorial) o bajarla según su uso.
+     */
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "double precision default 1.0")
+    private double weight = 1.0;
+
     /**
      * Timestamp de creación del meme.
      */
@@ -0,0 +1,38 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Excuse;
+
+import java.util.List;
+
+/**
+ * Operaciones de escritura masiva de excusas (fragmento de ExcuseRepository).
+ */
+public interface ExcuseBatchRepository {
+
+    /**
+     * Inserta un lote de excusas nuevas agrupando los INSERT en batches JDBC.
+     * Cada {@code batchSize} excusas se hace flush y se vacía el contexto de persistencia,
+     * así la memoria no crece con el tamaño del lote.
+     *
+     * @param excuses   excusas sin ID
+     * @param batchSize tamaño del batch JDBC y del flush
+     * @return las mismas excusas, con ID asignado (desacopladas del contexto de persistencia)
+     */
+    List<Excuse> insertAll(List<Excuse> excuses, int batchSize);
+
+    /**
+     * Reserva el próximo ID de excuses_seq sin insertar la excusa.
+     * Usa el mismo optimizador pooled-lo que los INSERT de Hibernate: sale del bloque en memoria
+     * y solo consulta la secuencia cuando el bloque se agota.
+     *
+     * @return ID libre para una excusa nueva
+     */
+    long nextId();
+
+    /**
+     * Inserta en un batch JDBC excusas que ya tienen ID (reservado con nextId()).
+     *
+     * @param excuses excusas con ID, sin persistir
+     */
+    void insertAssigned(List<Excuse> excuses);
+}
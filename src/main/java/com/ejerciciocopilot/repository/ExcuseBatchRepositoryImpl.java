@@ -0,0 +1,101 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Excuse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementación de ExcuseBatchRepository con el EntityManager.
+ * El tamaño del batch JDBC se fija solo para la sesión actual,
+ * sin cambiar hibernate.jdbc.batch_size para el resto de la aplicación.
+ */
+class ExcuseBatchRepositoryImpl implements ExcuseBatchRepository {
+
+    private static final String INSERT_ASSIGNED = "insert into excuses (id, context_id, cause_id, consequence_id, "
+            + "recommendation_id, meme_id, law_id, type, role, seed, composition_key, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<Excuse> insertAll(List<Excuse> excuses, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previous = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            for (int i = 0; i < excuses.size(); i++) {
+                entityManager.persist(excuses.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(previous);
+        }
+        return excuses;
+    }
+
+    @Override
+    @Transactional
+    public long nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Excuse.class)
+                .getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+
+    @Override
+    @Transactional
+    public void insertAssigned(List<Excuse> excuses) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ASSIGNED)) {
+                for (Excuse excuse : excuses) {
+                    bind(insert, excuse);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement insert, Excuse excuse) throws SQLException {
+        insert.setLong(1, excuse.getId());
+        setId(insert, 2, excuse.getContext() != null ? excuse.getContext().getId() : null);
+        setId(insert, 3, excuse.getCause() != null ? excuse.getCause().getId() : null);
+        setId(insert, 4, excuse.getConsequence() != null ? excuse.getConsequence().getId() : null);
+        setId(insert, 5, excuse.getRecommendation() != null ? excuse.getRecommendation().getId() : null);
+        setId(insert, 6, excuse.getMeme() != null ? excuse.getMeme().getId() : null);
+        setId(insert, 7, excuse.getLaw() != null ? excuse.getLaw().getId() : null);
+        insert.setString(8, excuse.getType().name());
+        insert.setString(9, excuse.getRole() != null ? excuse.getRole().name() : null);
+        insert.setLong(10, excuse.getSeed());
+        setId(insert, 11, excuse.getCompositionKey());
+        insert.setTimestamp(12, Timestamp.valueOf(excuse.getCreatedAt()));
+        insert.setTimestamp(13, excuse.getUpdatedAt() != null ? Timestamp.valueOf(excuse.getUpdatedAt()) : null);
+    }
+
+    private static void setId(PreparedStatement insert, int index, Long id) throws SQLException {
+        if (id != null) {
+            insert.setLong(index, id);
+        } else {
+            insert.setNull(index, Types.BIGINT);
+        }
+    }
+}
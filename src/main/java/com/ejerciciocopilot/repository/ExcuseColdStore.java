@@ -0,0 +1,309 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Capa fría de excusas: segmentos comprimidos de solo-agregado en disco local (app.excuses.cold-storage-dir).
+ * Cada segmento guarda un lote archivado ordenado por ID, en bloques de {@value #BLOCK_SIZE} excusas comprimidos
+ * con Deflate, y al final un índice disperso (primer ID y posición de cada bloque). Leer una excusa
+ * descomprime un solo bloque. Los índices de todos los segmentos se cargan al iniciar y se publican
+ * como snapshot inmutable, igual que los catálogos.
+ * <p>
+ * Las relaciones se guardan como IDs: {@link #find(long)} devuelve la excusa con fragmentos, meme y ley
+ * que solo tienen el ID, y el servicio los resuelve.
+ */
+@Slf4j
+@Component
+public class ExcuseColdStore {
+
+    /**
+     * Excusas por bloque comprimido: cuánto se descomprime para leer una.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    private static final int MAGIC = 0x45584353; // "EXCS"
+    private static final String SUFFIX = ".seg";
+    private static final int TRAILER_BYTES = Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private final Path directory;
+    private volatile List<Segment> segments;
+
+    public ExcuseColdStore(ExcuseProperties excuseProperties) {
+        this.directory = excuseProperties.getColdStorageDir();
+        this.segments = List.copyOf(loadSegments(directory));
+    }
+
+    /**
+     * Escribe un segmento nuevo con las excusas indicadas. El archivo se escribe aparte y se mueve
+     * de forma atómica: un lector nunca ve un segmento a medias.
+     *
+     * @param excuses excusas a archivar (con ID)
+     * @throws UncheckedIOException si no se puede escribir el segmento
+     */
+    public synchronized void append(List<Excuse> excuses) {
+        if (excuses.isEmpty()) {
+            return;
+        }
+        List<Excuse> sorted = excuses.stream().sorted(Comparator.comparing(Excuse::getId)).toList();
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(String.format("excuses-%019d-%019d%s",
+                    sorted.get(0).getId(), sorted.get(sorted.size() - 1).getId(), SUFFIX));
+            Path temp = Files.createTempFile(directory, "segment", ".tmp");
+            Segment segment = write(temp, target, sorted);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            List<Segment> next = new ArrayList<>(segments);
+            next.removeIf(existing -> existing.path().equals(target));
+            next.add(segment);
+            segments = List.copyOf(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el segmento de excusas archivadas", e);
+        }
+    }
+
+    /**
+     * Busca una excusa archivada.
+     *
+     * @param id identificador de la excusa
+     * @return excusa con relaciones que solo tienen el ID, o vacío si no está archivada
+     * @throws UncheckedIOException si no se puede leer el segmento
+     */
+    public Optional<Excuse> find(long id) {
+        List<Segment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            Segment segment = current.get(i);
+            if (id < segment.minId() || id > segment.maxId()) {
+                continue;
+            }
+            int block = Arrays.binarySearch(segment.firstIds(), id);
+            if (block < 0) {
+                block = -block - 2;
+            }
+            for (Excuse excuse : readBlock(segment, block)) {
+                if (excuse.getId() == id) {
+                    return Optional.of(excuse);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Cantidad de segmentos publicados.
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private static Segment write(Path temp, Path target, List<Excuse> sorted) throws IOException {
+        int blocks = (sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] firstIds = new long[blocks];
+        long[] offsets = new long[blocks + 1];
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            long position = 0;
+            for (int b = 0; b < blocks; b++) {
+                List<Excuse> chunk = sorted.subList(b * BLOCK_SIZE, Math.min(sorted.size(), (b + 1) * BLOCK_SIZE));
+                byte[] compressed = compress(chunk);
+                firstIds[b] = chunk.get(0).getId();
+                offsets[b] = position;
+                out.write(compressed);
+                position += compressed.length;
+            }
+            offsets[blocks] = position;
+            for (int b = 0; b < blocks; b++) {
+                out.writeLong(firstIds[b]);
+                out.writeLong(offsets[b]);
+            }
+            out.writeLong(sorted.get(0).getId());
+            out.writeLong(sorted.get(sorted.size() - 1).getId());
+            out.writeInt(blocks);
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getFD().sync();
+        }
+        return new Segment(target, sorted.get(0).getId(), sorted.get(sorted.size() - 1).getId(), firstIds, offsets);
+    }
+
+    private static List<Segment> loadSegments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Segment> loaded = new ArrayList<>();
+            for (Path path : files.filter(p -> p.toString().endsWith(SUFFIX)).sorted().toList()) {
+                try {
+                    loaded.add(readIndex(path));
+                } catch (IOException | IllegalStateException e) {
+                    log.warn("Segmento de excusas ignorado {}: {}", path, e.getMessage());
+                }
+            }
+            log.info("Capa fría de excusas: {} segmentos en {}", loaded.size(), directory);
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el directorio de excusas archivadas", e);
+        }
+    }
+
+    private static Segment readIndex(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long minId = trailer.getLong();
+            long maxId = trailer.getLong();
+            int blocks = trailer.getInt();
+            if (trailer.getInt() != MAGIC || blocks <= 0) {
+                throw new IllegalStateException("formato inválido");
+            }
+            long indexStart = size - TRAILER_BYTES - (long) blocks * Long.BYTES * 2;
+            ByteBuffer index = read(channel, indexStart, blocks * Long.BYTES * 2);
+            long[] firstIds = new long[blocks];
+            long[] offsets = new long[blocks + 1];
+            for (int b = 0; b < blocks; b++) {
+                firstIds[b] = index.getLong();
+                offsets[b] = index.getLong();
+            }
+            offsets[blocks] = indexStart;
+            return new Segment(path, minId, maxId, firstIds, offsets);
+        }
+    }
+
+    private static List<Excuse> readBlock(Segment segment, int block) {
+        try (FileChannel channel = FileChannel.open(segment.path(), StandardOpenOption.READ)) {
+            long offset = segment.offsets()[block];
+            ByteBuffer compressed = read(channel, offset, (int) (segment.offsets()[block + 1] - offset));
+            return decompress(compressed.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el segmento " + segment.path(), e);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Segmento truncado");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static byte[] compress(List<Excuse> chunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(chunk.size());
+            for (Excuse excuse : chunk) {
+                writeExcuse(out, excuse);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Excuse> decompress(byte[] compressed) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            int count = in.readInt();
+            List<Excuse> excuses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                excuses.add(readExcuse(in));
+            }
+            return excuses;
+        }
+    }
+
+    /**
+     * Formato de una excusa: ID, tipo, rol ("" si es general), seed, creación y una máscara de bits
+     * con los campos opcionales presentes (clave de composición, 4 fragmentos, meme, ley, modificación).
+     */
+    private static void writeExcuse(DataOutputStream out, Excuse excuse) throws IOException {
+        Long[] optional = {excuse.getCompositionKey(), idOf(excuse.getContext()), idOf(excuse.getCause()),
+                idOf(excuse.getConsequence()), idOf(excuse.getRecommendation()),
+                excuse.getMeme() != null ? excuse.getMeme().getId() : null,
+                excuse.getLaw() != null ? excuse.getLaw().getId() : null,
+                excuse.getUpdatedAt() != null ? toEpochMicros(excuse.getUpdatedAt()) : null};
+        out.writeLong(excuse.getId());
+        out.writeUTF(excuse.getType().name());
+        out.writeUTF(excuse.getRole() != null ? excuse.getRole().name() : "");
+        out.writeLong(excuse.getSeed());
+        out.writeLong(toEpochMicros(excuse.getCreatedAt()));
+        int mask = 0;
+        for (int i = 0; i < optional.length; i++) {
+            if (optional[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        out.writeByte(mask);
+        for (Long value : optional) {
+            if (value != null) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static Excuse readExcuse(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        ExcuseType type = ExcuseType.valueOf(in.readUTF());
+        String role = in.readUTF();
+        long seed = in.readLong();
+        LocalDateTime createdAt = fromEpochMicros(in.readLong());
+        int mask = in.readUnsignedByte();
+        Long[] optional = new Long[8];
+        for (int i = 0; i < optional.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                optional[i] = in.readLong();
+            }
+        }
+        return Excuse.builder()
+                .id(id)
+                .type(type)
+                .role(role.isEmpty() ? null : Role.valueOf(role))
+                .seed(seed)
+                .compositionKey(optional[0])
+                .context(fragment(optional[1]))
+                .cause(fragment(optional[2]))
+                .consequence(fragment(optional[3]))
+                .recommendation(fragment(optional[4]))
+                .meme(optional[5] != null ? Meme.builder().id(optional[5]).build() : null)
+                .law(optional[6] != null ? Law.builder().id(optional[6]).build() : null)
+                .createdAt(createdAt)
+                .updatedAt(optional[7] != null ? fromEpochMicros(optional[7]) : null)
+                .build();
+    }
+
+    private static Long idOf(Fragment fragment) {
+        return fragment != null ? fragment.getId() : null;
+    }
+
+    private static Fragment fragment(Long id) {
+        return id != null ? Fragment.builder().id(id).build() : null;
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Índice disperso de un segmento: primer ID de cada bloque y sus posiciones
+     * (offsets tiene un elemento más: el fin del último bloque).
+     */
+    private record Segment(Path path, long minId, long maxId, long[] firstIds, long[] offsets) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perfil postgres: mantiene creadas las particiones mensuales de excuses.
+ * Flyway las crea al arrancar (afterMigrate.sql); este componente repite la llamada una vez por día
+ * para que una instancia que corre por meses no termine escribiendo en la partición default.
+ */
+@Slf4j
+@Component
+@Profile("postgres")
+public class ExcusePartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExcuseProperties excuseProperties;
+
+    public ExcusePartitionMaintainer(JdbcTemplate jdbcTemplate, ExcuseProperties excuseProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.excuseProperties = excuseProperties;
+    }
+
+    /**
+     * Crea las particiones que falten del mes actual y de los app.excuses.partition-months-ahead siguientes.
+     *
+     * @return cantidad de particiones creadas
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.DAYS)
+    public int ensurePartitions() {
+        Integer created = jdbcTemplate.queryForObject("select ensure_excuses_partitions(?)",
+                Integer.class, excuseProperties.getPartitionMonthsAhead());
+        if (created != null && created > 0) {
+            log.info("Creadas {} particiones de excuses", created);
+        }
+        return created != null ? created : 0;
+    }
+}
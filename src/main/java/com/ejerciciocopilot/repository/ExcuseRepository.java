@@ -3,17 +3,26 @@ package com.ejerciciocopilot.repository;
 import com.ejerciciocopilot.model.Excuse;
 import com.ejerciciocopilot.model.ExcuseType;
 import com.ejerciciocopilot.model.Role;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio JPA para la entidad Excuse.
  * Define operaciones CRUD y queries personalizadas de persistencia.
+ * Las lecturas que devuelven excusas para mapear a ResponseDTO usan el grafo {@link Excuse#WITH_RELATIONS}:
+ * una sola consulta con las 6 relaciones, sin N+1 y sin depender de open-in-view.
  */
 @Repository
-public interface ExcuseRepository extends JpaRepository<Excuse, Long> {
+public interface ExcuseRepository extends JpaRepository<Excuse, Long>, ExcuseBatchRepository {
 
     /**
      * Obtiene todas las excusas de un tipo específico.
@@ -21,6 +30,7 @@ public interface ExcuseRepository extends JpaRepository<Excuse, Long> {
      * @param type tipo de excusa
      * @return lista de excusas del tipo especificado
      */
+    @EntityGraph(Excuse.WITH_RELATIONS)
     List<Excuse> findByType(ExcuseType type);
 
     /**
@@ -29,12 +39,107 @@ public interface ExcuseRepository extends JpaRepository<Excuse, Long> {
      * @param role rol del desarrollador
      * @return lista de excusas para ese rol
      */
+    @EntityGraph(Excuse.WITH_RELATIONS)
     List<Excuse> findByRole(Role role);
 
+    /**
+     * Busca una excusa por ID con sus relaciones (un solo SELECT con LEFT JOIN).
+     * findById() queda sin grafo para las escrituras, que no necesitan las relaciones.
+     *
+     * @param id identificador de la excusa
+     * @return Optional con la excusa si existe
+     */
+    @EntityGraph(Excuse.WITH_RELATIONS)
+    Optional<Excuse> findWithRelationsById(Long id);
+
+    /**
+     * Todas las excusas con sus relaciones, en un solo SELECT.
+     *
+     * @return lista de excusas
+     */
+    @Override
+    @EntityGraph(Excuse.WITH_RELATIONS)
+    List<Excuse> findAll();
+
+    /**
+     * Busca la primera excusa guardada de un tipo, seed y rol (con rol null busca rol IS NULL).
+     * Trae las relaciones en la misma consulta, para poder mapearla fuera de la transacción.
+     * Se usa para guardar la excusa del día una sola vez.
+     *
+     * @param type tipo de excusa
+     * @param seed seed de la excusa
+     * @param role rol del desarrollador (null para la excusa general)
+     * @return Optional con la excusa si ya existe
+     */
+    @EntityGraph(Excuse.WITH_RELATIONS)
+    Optional<Excuse> findFirstByTypeAndSeedAndRoleOrderByIdAsc(ExcuseType type, Long seed, Role role);
+
     /**
      * Obtiene el número de excusas generadas.
      *
      * @return cantidad total de excusas
      */
     long count();
+
+    /**
+     * Página por keyset: las excusas con ID mayor a {@code after}, ordenadas por ID.
+     * Recorre un rango del índice de la clave primaria, con costo constante en cualquier punto de la tabla.
+     * Trae las relaciones en la misma consulta.
+     *
+     * @param after último ID de la página anterior
+     * @param limit tamaño de página
+     * @return excusas de la página
+     */
+    @EntityGraph(Excuse.WITH_RELATIONS)
+    List<Excuse> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Página por OFFSET, ordenada por ID y sin COUNT.
+     * Trae las relaciones en la misma consulta.
+     *
+     * @param pageable número y tamaño de página
+     * @return excusas de la página
+     */
+    @EntityGraph(Excuse.WITH_RELATIONS)
+    List<Excuse> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Página por keyset del resumen de excusas (ID, tipo, rol y seed), con filtros opcionales.
+     * Selecciona solo esas 4 columnas: no crea entidades gestionadas ni hace joins.
+     *
+     * @param after último ID de la página anterior
+     * @param type  tipo de excusa (null para no filtrar)
+     * @param role  rol (null para no filtrar)
+     * @param limit tamaño de página
+     * @return resúmenes de la página, ordenados por ID
+     */
+    @Query("select new com.ejerciciocopilot.repository.ExcuseSummaryView(e.id, e.type, e.role, e.seed) "
+            + "from Excuse e where e.id > :after "
+            + "and (:type is null or e.type = :type) and (:role is null or e.role = :role) order by e.id")
+    List<ExcuseSummaryView> findSummaries(@Param("after") Long after, @Param("type") ExcuseType type,
+                                          @Param("role") Role role, Limit limit);
+
+    /**
+     * Página por OFFSET del resumen de excusas, con filtros opcionales y sin COUNT.
+     *
+     * @param type     tipo de excusa (null para no filtrar)
+     * @param role     rol (null para no filtrar)
+     * @param pageable número y tamaño de página
+     * @return resúmenes de la página, ordenados por ID
+     */
+    @Query("select new com.ejerciciocopilot.repository.ExcuseSummaryView(e.id, e.type, e.role, e.seed) "
+            + "from Excuse e where (:type is null or e.type = :type) and (:role is null or e.role = :role) "
+            + "order by e.id")
+    List<ExcuseSummaryView> findSummaries(@Param("type") ExcuseType type, @Param("role") Role role,
+                                          Pageable pageable);
+
+    /**
+     * Excusas creadas antes de un instante, las más viejas primero por ID, para moverlas a la capa fría.
+     * Las relaciones quedan como proxies sin inicializar: solo se usan sus IDs.
+     *
+     * @param threshold instante de corte
+     * @param limit     tamaño del lote
+     * @return excusas del lote
+     */
+    List<Excuse> findByCreatedAtBeforeOrderByIdAsc(LocalDateTime threshold, Limit limit);
 }
@@ -0,0 +1,16 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.model.Role;
+
+/**
+ * Proyección de una excusa con solo sus columnas propias (sin fragmentos, meme, ley ni timestamps).
+ * Se arma con una expresión constructora en el SELECT: no crea entidades gestionadas ni hace joins.
+ *
+ * @param id   identificador de la excusa
+ * @param type tipo de excusa
+ * @param role rol (null si es general)
+ * @param seed seed de la excusa
+ */
+public record ExcuseSummaryView(Long id, ExcuseType type, Role role, Long seed) {
+}
@@ -3,8 +3,14 @@ package com.ejerciciocopilot.repository;
 import com.ejerciciocopilot.model.Fragment;
 import com.ejerciciocopilot.model.FragmentType;
 import com.ejerciciocopilot.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,10 +23,14 @@ public interface FragmentRepository extends JpaRepository<Fragment, Long> {
 
     /**
      * Obtiene todos los fragmentos de un tipo específico.
+     * Lleva su propia transacción de solo lectura: FragmentCatalog lo llama desde generaciones que no abren
+     * transacción, y así la conexión vuelve al pool apenas termina la consulta.
      *
      * @param type tipo de fragmento a buscar
      * @return lista de fragmentos del tipo especificado
      */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Fragment> findByType(FragmentType type);
 
     /**
@@ -30,6 +40,8 @@ public interface FragmentRepository extends JpaRepository<Fragment, Long> {
      * @param role rol del desarrollador
      * @return lista de fragmentos del tipo y rol especificados
      */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Fragment> findByTypeAndRole(FragmentType type, Role role);
 
     /**
@@ -39,4 +51,22 @@ public interface FragmentRepository extends JpaRepository<Fragment, Long> {
      * @return lista de fragmentos para ese rol
      */
     List<Fragment> findByRole(Role role);
+
+    /**
+     * Página por keyset: los fragmentos con ID mayor a {@code after}, ordenados por ID.
+     * Recorre un rango del índice de la clave primaria, con costo constante en cualquier punto de la tabla.
+     *
+     * @param after último ID de la página anterior
+     * @param limit tamaño de página
+     * @return fragmentos de la página
+     */
+    List<Fragment> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Página por OFFSET, ordenada por ID y sin COUNT.
+     *
+     * @param pageable número y tamaño de página
+     * @return fragmentos de la página
+     */
+    List<Fragment> findAllByOrderByIdAsc(Pageable pageable);
 }
@@ -0,0 +1,78 @@
+package com.ejerciciocopilot.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RowCountEstimator sobre JPA.
+ * En PostgreSQL lee {@code pg_class.reltuples} (lo mantiene ANALYZE/autovacuum, sin recorrer la tabla;
+ * en tablas particionadas, la suma de las particiones);
+ * en el resto de las bases, o si la tabla nunca se analizó, usa un COUNT cacheado {@link #TTL}.
+ */
+@Component
+@Profile("!memory")
+public class JpaRowCountEstimator implements RowCountEstimator {
+
+    /**
+     * Cuánto se reutiliza un COUNT antes de volver a ejecutarlo.
+     */
+    static final Duration TTL = Duration.ofSeconds(30);
+
+    /**
+     * reltuples de la tabla o, si está particionada (excuses en el perfil postgres), la suma de sus particiones;
+     * -1 si alguna partición nunca se analizó.
+     */
+    private static final String RELTUPLES = "select case when c.relkind = 'p' then "
+            + "(select case when min(p.reltuples) < 0 then -1 else sum(p.reltuples) end "
+            + "from pg_inherits i join pg_class p on p.oid = i.inhrelid where i.inhparent = c.oid) "
+            + "else c.reltuples end from pg_class c where c.oid = to_regclass(:table)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, Estimate> counts = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public long estimate(Class<?> entity) {
+        if (isPostgres()) {
+            Number reltuples = (Number) entityManager
+                    .createNativeQuery(RELTUPLES)
+                    .setParameter("table", entity.getAnnotation(Table.class).name())
+                    .getSingleResult();
+            if (reltuples != null && reltuples.longValue() >= 0) {
+                return reltuples.longValue();
+            }
+        }
+        Estimate current = counts.get(entity);
+        if (current != null && System.nanoTime() - current.countedAt() < TTL.toNanos()) {
+            return current.count();
+        }
+        long count = entityManager
+                .createQuery("select count(e) from " + entity.getSimpleName() + " e", Long.class)
+                .getSingleResult();
+        counts.put(entity, new Estimate(count, System.nanoTime()));
+        return count;
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * COUNT exacto con el instante (System.nanoTime) en que se ejecutó.
+     */
+    private record Estimate(long count, long countedAt) {
+    }
+}
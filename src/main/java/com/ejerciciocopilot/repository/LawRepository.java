@@ -1,17 +1,22 @@
 package com.ejerciciocopilot.repository;
 
 import com.ejerciciocopilot.model.Law;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 /**
  * Repositorio JPA para la entidad Law.
- * Define operaciones CRUD y queries personalizadas de persistencia.
+ * Define operaciones CRUD, queries personalizadas y selección aleatoria en la base de datos.
  */
 @Repository
-public interface LawRepository extends JpaRepository<Law, Long> {
+public interface LawRepository extends JpaRepository<Law, Long>, LawSamplingRepository {
 
     /**
      * Obtiene todas las leyes de una categoría específica.
@@ -19,6 +24,7 @@ public interface LawRepository extends JpaRepository<Law, Long> {
      * @param category categoría de la ley
      * @return lista de leyes de esa categoría
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Law> findByCategory(String category);
 
     /**
@@ -28,4 +34,30 @@ public interface LawRepository extends JpaRepository<Law, Long> {
      * @return ley encontrada o null
      */
     Law findByName(String name);
+
+    /**
+     * Cuenta las leyes con ID menor al indicado (posición de ese ID en el orden por ID).
+     *
+     * @param id identificador
+     * @return cantidad de leyes anteriores
+     */
+    long countByIdLessThan(Long id);
+
+    /**
+     * Página por keyset: las leyes con ID mayor a {@code after}, ordenadas por ID.
+     * Recorre un rango del índice de la clave primaria, con costo constante en cualquier punto de la tabla.
+     *
+     * @param after último ID de la página anterior
+     * @param limit tamaño de página
+     * @return leyes de la página
+     */
+    List<Law> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Página por OFFSET, ordenada por ID y sin COUNT.
+     *
+     * @param pageable número y tamaño de página
+     * @return leyes de la página
+     */
+    List<Law> findAllByOrderByIdAsc(Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Law;
+
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Selección de leyes en la base de datos sin cargar la tabla completa (fragmento de LawRepository).
+ */
+public interface LawSamplingRepository {
+
+    /**
+     * Selecciona una ley al azar en la base de datos (todas las filas con la misma probabilidad).
+     *
+     * @param random generador a utilizar (con seed y la tabla sin cambios, la selección es reproducible)
+     * @return ley seleccionada o vacío si no hay leyes
+     */
+    Optional<Law> findRandom(RandomGenerator random);
+
+    /**
+     * Obtiene una ley por su posición, con las filas ordenadas por ID.
+     *
+     * @param position posición (0 = menor ID)
+     * @return ley en esa posición o vacío si no existe
+     */
+    Optional<Law> findByPosition(long position);
+
+    /**
+     * Cantidad de leyes, cacheada unos segundos para no contar la tabla en cada selección.
+     *
+     * @return cantidad aproximada de leyes
+     */
+    long countCached();
+}
@@ -0,0 +1,35 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Law;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementación de LawSamplingRepository sobre RandomRowSampler.
+ */
+class LawSamplingRepositoryImpl extends RandomRowSampler<Law> implements LawSamplingRepository {
+
+    LawSamplingRepositoryImpl() {
+        super(Law.class, "laws");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Law> findRandom(RandomGenerator random) {
+        return random(random);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Law> findByPosition(long position) {
+        return at(position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countCached() {
+        return cachedCount();
+    }
+}
@@ -1,17 +1,22 @@
 package com.ejerciciocopilot.repository;
 
 import com.ejerciciocopilot.model.Meme;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 /**
  * Repositorio JPA para la entidad Meme.
- * Define operaciones CRUD y queries personalizadas de persistencia.
+ * Define operaciones CRUD, queries personalizadas y selección aleatoria en la base de datos.
  */
 @Repository
-public interface MemeRepository extends JpaRepository<Meme, Long> {
+public interface MemeRepository extends JpaRepository<Meme, Long>, MemeSamplingRepository {
 
     /**
      * Obtiene todos los memes de un autor específico.
@@ -19,5 +24,32 @@ public interface MemeRepository extends JpaRepository<Meme, Long> {
      * @param author autor del meme
      * @return lista de memes del autor especificado
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Meme> findByAuthor(String author);
+
+    /**
+     * Cuenta los memes con ID menor al indicado (posición de ese ID en el orden por ID).
+     *
+     * @param id identificador
+     * @return cantidad de memes anteriores
+     */
+    long countByIdLessThan(Long id);
+
+    /**
+     * Página por keyset: los memes con ID mayor a {@code after}, ordenados por ID.
+     * Recorre un rango del índice de la clave primaria, con costo constante en cualquier punto de la tabla.
+     *
+     * @param after último ID de la página anterior
+     * @param limit tamaño de página
+     * @return memes de la página
+     */
+    List<Meme> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Página por OFFSET, ordenada por ID y sin COUNT.
+     *
+     * @param pageable número y tamaño de página
+     * @return memes de la página
+     */
+    List<Meme> findAllByOrderByIdAsc(Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Meme;
+
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Selección de memes en la base de datos sin cargar la tabla completa (fragmento de MemeRepository).
+ */
+public interface MemeSamplingRepository {
+
+    /**
+     * Selecciona un meme al azar en la base de datos (todas las filas con la misma probabilidad).
+     *
+     * @param random generador a utilizar (con seed y la tabla sin cambios, la selección es reproducible)
+     * @return meme seleccionado o vacío si no hay memes
+     */
+    Optional<Meme> findRandom(RandomGenerator random);
+
+    /**
+     * Obtiene un meme por su posición, con las filas ordenadas por ID.
+     *
+     * @param position posición (0 = menor ID)
+     * @return meme en esa posición o vacío si no existe
+     */
+    Optional<Meme> findByPosition(long position);
+
+    /**
+     * Cantidad de memes, cacheada unos segundos para no contar la tabla en cada selección.
+     *
+     * @return cantidad aproximada de memes
+     */
+    long countCached();
+}
@@ -0,0 +1,35 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.model.Meme;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementación de MemeSamplingRepository sobre RandomRowSampler.
+ */
+class MemeSamplingRepositoryImpl extends RandomRowSampler<Meme> implements MemeSamplingRepository {
+
+    MemeSamplingRepositoryImpl() {
+        super(Meme.class, "memes");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Meme> findRandom(RandomGenerator random) {
+        return random(random);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Meme> findByPosition(long position) {
+        return at(position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countCached() {
+        return cachedCount();
+    }
+}
@@ -0,0 +1,170 @@
+package com.ejerciciocopilot.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+/**
+ * Selección de una fila aleatoria en la base de datos, sin materializar la tabla.
+ * Base de las implementaciones de MemeSamplingRepository y LawSamplingRepository.
+ *
+ * <p>Con un generador con seed y la tabla sin cambios, la selección es reproducible. Estrategia:</p>
+ * <ol>
+ *   <li>En PostgreSQL, {@code TABLESAMPLE SYSTEM ... REPEATABLE}: se leen unas pocas páginas
+ *       y se elige uno de sus IDs. Como se sortean páginas enteras, si la muestra sale vacía se
+ *       repite con un porcentaje mayor, hasta {@value #MAX_SAMPLES} veces.</li>
+ *   <li>Si los IDs son densos, se sortea un ID entre el mínimo y el máximo y se busca por clave primaria;
+ *       si cae en un hueco (fila borrada) se vuelve a sortear, hasta {@value #MAX_PROBES} veces.</li>
+ *   <li>Si no, se sortea una posición entre 0 y el conteo y se lee con OFFSET.</li>
+ * </ol>
+ * En motores sin TABLESAMPLE y con IDs dispersos, el OFFSET es O(n): la base recorre todas las filas
+ * que salta, así que con tablas grandes conviene PostgreSQL o mantener los IDs densos.
+ * Mínimo, máximo y conteo se cachean {@link #STATS_TTL}; si quedaron viejos y no se encuentra
+ * ninguna fila (tabla vaciada, posición que ya no existe), se recalculan y se reintenta una vez.
+ *
+ * @param <T> tipo de entidad
+ */
+abstract class RandomRowSampler<T> {
+
+    /**
+     * Cuánto se reutilizan mínimo, máximo y conteo antes de volver a consultarlos.
+     */
+    static final Duration STATS_TTL = Duration.ofSeconds(30);
+
+    private static final int MAX_PROBES = 4;
+    private static final double MIN_DENSITY = 0.25;
+    private static final int SAMPLE_ROWS = 64;
+    private static final int MAX_SAMPLES = 3;
+    private static final int SAMPLE_GROWTH = 8;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Class<T> type;
+    private final String table;
+    private final AtomicReference<Stats> stats = new AtomicReference<>();
+
+    /**
+     * @param type  clase de la entidad
+     * @param table nombre de la tabla (para el TABLESAMPLE nativo)
+     */
+    RandomRowSampler(Class<T> type, String table) {
+        this.type = type;
+        this.table = table;
+    }
+
+    /**
+     * Fila aleatoria, con la misma probabilidad para todas (no aplica pesos).
+     *
+     * @param random generador a utilizar
+     * @return entidad o vacío si la tabla está vacía
+     */
+    Optional<T> random(RandomGenerator random) {
+        Optional<T> found = random(stats(false), random);
+        return found.isPresent() ? found : random(stats(true), random);
+    }
+
+    /**
+     * Fila en una posición, con las filas ordenadas por ID.
+     *
+     * @param position posición (0 = menor ID)
+     * @return entidad o vacío si la posición no existe
+     */
+    Optional<T> at(long position) {
+        List<T> rows = entityManager
+                .createQuery("select e from " + type.getSimpleName() + " e order by e.id", type)
+                .setFirstResult(Math.toIntExact(position))
+                .setMaxResults(1)
+                .getResultList();
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Cantidad de filas según las estadísticas cacheadas.
+     *
+     * @return conteo (puede tener hasta {@link #STATS_TTL} de antigüedad)
+     */
+    long cachedCount() {
+        return stats(false).count();
+    }
+
+    private Optional<T> random(Stats current, RandomGenerator random) {
+        if (current.count() == 0) {
+            return Optional.empty();
+        }
+        if (isPostgres()) {
+            Optional<T> sampled = tableSample(current, random);
+            if (sampled.isPresent()) {
+                return sampled;
+            }
+        }
+        if (current.density() >= MIN_DENSITY) {
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                T found = entityManager.find(type, current.min() + random.nextLong(current.span()));
+                if (found != null) {
+                    return Optional.of(found);
+                }
+            }
+        }
+        return at(random.nextLong(current.count()));
+    }
+
+    private Optional<T> tableSample(Stats current, RandomGenerator random) {
+        double percent = Math.min(100.0, 100.0 * SAMPLE_ROWS / current.count());
+        for (int attempt = 0; attempt < MAX_SAMPLES; attempt++) {
+            @SuppressWarnings("unchecked")
+            List<Number> ids = entityManager
+                    .createNativeQuery("select id from " + table + " tablesample system (:percent) repeatable (:seed)")
+                    .setParameter("percent", percent)
+                    .setParameter("seed", random.nextInt())
+                    .getResultList();
+            if (!ids.isEmpty()) {
+                return Optional.ofNullable(entityManager.find(type, ids.get(random.nextInt(ids.size())).longValue()));
+            }
+            // SYSTEM sortea páginas enteras: con pocas páginas el porcentaje puede no alcanzar ninguna
+            percent = Math.min(100.0, percent * SAMPLE_GROWTH);
+        }
+        return Optional.empty();
+    }
+
+    private Stats stats(boolean refresh) {
+        Stats current = stats.get();
+        if (!refresh && current != null && System.nanoTime() - current.loadedAt() < STATS_TTL.toNanos()) {
+            return current;
+        }
+        Object[] row = entityManager
+                .createQuery("select min(e.id), max(e.id), count(e) from " + type.getSimpleName() + " e", Object[].class)
+                .getSingleResult();
+        Stats loaded = row[0] == null
+                ? new Stats(0, 0, 0, System.nanoTime())
+                : new Stats((Long) row[0], (Long) row[1], (Long) row[2], System.nanoTime());
+        stats.set(loaded);
+        return loaded;
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Mínimo, máximo y conteo de IDs, con el instante (System.nanoTime) en que se leyeron.
+     */
+    private record Stats(long min, long max, long count, long loadedAt) {
+
+        long span() {
+            return max - min + 1;
+        }
+
+        double density() {
+            return count == 0 ? 0 : (double) count / span();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ejerciciocopilot.repository;
+
+/**
+ * Estimación barata de la cantidad de filas de una tabla, para los totales de los listados paginados.
+ * Con JPA la implementa {@link JpaRowCountEstimator}; en el perfil memory, InMemoryRowCountEstimator.
+ */
+public interface RowCountEstimator {
+
+    /**
+     * Cantidad aproximada de filas de una entidad.
+     *
+     * @param entity clase de la entidad (con @Table)
+     * @return cantidad estimada de filas
+     */
+    long estimate(Class<?> entity);
+}
@@ -0,0 +1,133 @@
+package com.ejerciciocopilot.repository.memory;
+
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * ExcuseRepository del perfil memory, con índices por tipo, por rol y por tipo, seed y rol (excusa del día).
+ * Las relaciones se guardan como referencias a las entidades recibidas: no hay grafos ni proxies que cargar.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryExcuseRepository extends InMemoryRepository<Excuse> implements ExcuseRepository {
+
+    private final InMemoryIndex<Excuse> byType;
+    private final InMemoryIndex<Excuse> byRole;
+    private final InMemoryIndex<Excuse> byTypeSeedAndRole;
+
+    public InMemoryExcuseRepository() {
+        super(Excuse.class);
+        byType = index(Excuse::getType);
+        byRole = index(Excuse::getRole);
+        byTypeSeedAndRole = index(excuse -> Arrays.asList(excuse.getType(), excuse.getSeed(), excuse.getRole()));
+    }
+
+    @Override
+    public List<Excuse> findByType(ExcuseType type) {
+        return findBy(byType, type);
+    }
+
+    @Override
+    public List<Excuse> findByRole(Role role) {
+        return findBy(byRole, role);
+    }
+
+    @Override
+    public Optional<Excuse> findWithRelationsById(Long id) {
+        return findById(id);
+    }
+
+    @Override
+    public Optional<Excuse> findFirstByTypeAndSeedAndRoleOrderByIdAsc(ExcuseType type, Long seed, Role role) {
+        return stream(byTypeSeedAndRole, Arrays.asList(type, seed, role)).findFirst();
+    }
+
+    @Override
+    public List<ExcuseSummaryView> findSummaries(Long after, ExcuseType type, Role role, Limit limit) {
+        return scan(after, matching(type, role), 0, limit, InMemoryExcuseRepository::summaryOf);
+    }
+
+    @Override
+    public List<ExcuseSummaryView> findSummaries(ExcuseType type, Role role, Pageable pageable) {
+        return pageable.isPaged()
+                ? scan(null, matching(type, role), pageable.getOffset(), Limit.of(pageable.getPageSize()),
+                        InMemoryExcuseRepository::summaryOf)
+                : scan(null, matching(type, role), 0, Limit.unlimited(), InMemoryExcuseRepository::summaryOf);
+    }
+
+    @Override
+    public List<Excuse> findByCreatedAtBeforeOrderByIdAsc(LocalDateTime threshold, Limit limit) {
+        return scan(null, excuse -> excuse.getCreatedAt() != null && excuse.getCreatedAt().isBefore(threshold),
+                0, limit);
+    }
+
+    /**
+     * Sin batches JDBC: asigna los IDs y guarda todas las excusas juntas.
+     */
+    @Override
+    public List<Excuse> insertAll(List<Excuse> excuses, int batchSize) {
+        excuses.forEach(excuse -> excuse.setId(nextSequenceValue()));
+        putAll(excuses);
+        return excuses;
+    }
+
+    @Override
+    public long nextId() {
+        return nextSequenceValue();
+    }
+
+    @Override
+    public void insertAssigned(List<Excuse> excuses) {
+        putAll(excuses);
+    }
+
+    @Override
+    protected Long idOf(Excuse excuse) {
+        return excuse.getId();
+    }
+
+    @Override
+    protected void assignId(Excuse excuse, Long id) {
+        excuse.setId(id);
+    }
+
+    @Override
+    protected Excuse copyOf(Excuse excuse) {
+        return Excuse.builder()
+                .id(excuse.getId())
+                .context(excuse.getContext())
+                .cause(excuse.getCause())
+                .consequence(excuse.getConsequence())
+                .recommendation(excuse.getRecommendation())
+                .meme(excuse.getMeme())
+                .law(excuse.getLaw())
+                .type(excuse.getType())
+                .role(excuse.getRole())
+                .seed(excuse.getSeed())
+                .compositionKey(excuse.getCompositionKey())
+                .createdAt(excuse.getCreatedAt())
+                .updatedAt(excuse.getUpdatedAt())
+                .build();
+    }
+
+    private static Predicate<Excuse> matching(ExcuseType type, Role role) {
+        return excuse -> (type == null || type == excuse.getType()) && (role == null || role == excuse.getRole());
+    }
+
+    private static ExcuseSummaryView summaryOf(Excuse excuse) {
+        return new ExcuseSummaryView(excuse.getId(), excuse.getType(), excuse.getRole(), excuse.getSeed());
+    }
+}
@@ -0,0 +1,68 @@
+package com.ejerciciocopilot.repository.memory;
+
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FragmentRepository del perfil memory, con índices por tipo, por rol y por tipo y rol.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryFragmentRepository extends InMemoryRepository<Fragment> implements FragmentRepository {
+
+    private final InMemoryIndex<Fragment> byType;
+    private final InMemoryIndex<Fragment> byRole;
+    private final InMemoryIndex<Fragment> byTypeAndRole;
+
+    public InMemoryFragmentRepository() {
+        super(Fragment.class);
+        byType = index(Fragment::getType);
+        byRole = index(Fragment::getRole);
+        byTypeAndRole = index(fragment -> Arrays.asList(fragment.getType(), fragment.getRole()));
+    }
+
+    @Override
+    public List<Fragment> findByType(FragmentType type) {
+        return findBy(byType, type);
+    }
+
+    @Override
+    public List<Fragment> findByTypeAndRole(FragmentType type, Role role) {
+        return findBy(byTypeAndRole, Arrays.asList(type, role));
+    }
+
+    @Override
+    public List<Fragment> findByRole(Role role) {
+        return findBy(byRole, role);
+    }
+
+    @Override
+    protected Long idOf(Fragment fragment) {
+        return fragment.getId();
+    }
+
+    @Override
+    protected void assignId(Fragment fragment, Long id) {
+        fragment.setId(id);
+    }
+
+    @Override
+    protected Fragment copyOf(Fragment fragment) {
+        return Fragment.builder()
+                .id(fragment.getId())
+                .type(fragment.getType())
+                .text(fragment.getText())
+                .role(fragment.getRole())
+                .weight(fragment.getWeight())
+                .createdAt(fragment.getCreatedAt())
+                .updatedAt(fragment.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ejerciciocopilot.repository.memory;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Índice secundario de un InMemoryRepository: de cada valor de la clave a los IDs que lo tienen, ordenados.
+ * Como en los finders derivados de JPA, una clave null busca las filas con la columna en null.
+ * Solo lo modifica el repositorio, con su lock; las lecturas no bloquean.
+ *
+ * @param <T> tipo de entidad
+ */
+final class InMemoryIndex<T> {
+
+    /**
+     * Reemplaza la clave null (ConcurrentHashMap no admite claves null).
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<T, ?> key;
+    private final Map<Object, NavigableSet<Long>> ids = new ConcurrentHashMap<>();
+
+    /**
+     * @param key clave de la entidad (puede devolver null; para claves compuestas, una lista)
+     */
+    InMemoryIndex(Function<T, ?> key) {
+        this.key = key;
+    }
+
+    /**
+     * IDs con un valor de la clave, en orden ascendente.
+     *
+     * @param value valor buscado (null busca las filas con la clave en null)
+     * @return IDs (vista en vivo: puede cambiar mientras se recorre)
+     */
+    Set<Long> find(Object value) {
+        Set<Long> found = ids.get(Objects.requireNonNullElse(value, NULL_KEY));
+        return found == null ? Set.of() : found;
+    }
+
+    /**
+     * Si la entidad tiene un valor de la clave. Las lecturas lo vuelven a comprobar,
+     * porque pueden ver el índice y las filas en momentos distintos de una escritura.
+     *
+     * @param entity entidad
+     * @param value  valor buscado
+     * @return true si la clave de la entidad es igual al valor
+     */
+    boolean matches(T entity, Object value) {
+        return Objects.equals(key.apply(entity), value);
+    }
+
+    /**
+     * Actualiza el índice cuando una fila cambia.
+     *
+     * @param id       ID de la fila
+     * @param previous versión anterior (null si la fila es nueva)
+     * @param current  versión nueva (null si la fila se borra)
+     */
+    void update(Long id, T previous, T current) {
+        Object before = previous == null ? null : keyOf(previous);
+        Object after = current == null ? null : keyOf(current);
+        if (before != null && !before.equals(after)) {
+            ids.computeIfPresent(before, (value, set) -> {
+                set.remove(id);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (after != null) {
+            ids.computeIfAbsent(after, value -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    void clear() {
+        ids.clear();
+    }
+
+    private Object keyOf(T entity) {
+        return Objects.requireNonNullElse(key.apply(entity), NULL_KEY);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ejerciciocopilot.repository.memory;
+
+import com.ejerciciocopilot.model.Law;
+import com.ejerciciocopilot.repository.LawRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * LawRepository del perfil memory, con índices por categoría y por nombre.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryLawRepository extends InMemoryRepository<Law> implements LawRepository {
+
+    private final InMemoryIndex<Law> byCategory;
+    private final InMemoryIndex<Law> byName;
+
+    public InMemoryLawRepository() {
+        super(Law.class);
+        byCategory = index(Law::getCategory);
+        byName = index(Law::getName);
+    }
+
+    @Override
+    public List<Law> findByCategory(String category) {
+        return findBy(byCategory, category);
+    }
+
+    /**
+     * Como el finder derivado de JPA, falla si hay más de una ley con el nombre.
+     */
+    @Override
+    public Law findByName(String name) {
+        List<Law> found = findBy(byName, name);
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public Optional<Law> findRandom(RandomGenerator random) {
+        return random(random);
+    }
+
+    @Override
+    public Optional<Law> findByPosition(long position) {
+        return at(position);
+    }
+
+    @Override
+    public long countCached() {
+        return count();
+    }
+
+    @Override
+    protected Long idOf(Law law) {
+        return law.getId();
+    }
+
+    @Override
+    protected void assignId(Law law, Long id) {
+        law.setId(id);
+    }
+
+    @Override
+    protected Law copyOf(Law law) {
+        return Law.builder()
+                .id(law.getId())
+                .name(law.getName())
+                .description(law.getDescription())
+                .category(law.getCategory())
+                .weight(law.getWeight())
+                .createdAt(law.getCreatedAt())
+                .updatedAt(law.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ejerciciocopilot.repository.memory;
+
+import com.ejerciciocopilot.model.Meme;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * MemeRepository del perfil memory, con índice por autor.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryMemeRepository extends InMemoryRepository<Meme> implements MemeRepository {
+
+    private final InMemoryIndex<Meme> byAuthor;
+
+    public InMemoryMemeRepository() {
+        super(Meme.class);
+        byAuthor = index(Meme::getAuthor);
+    }
+
+    @Override
+    public List<Meme> findByAuthor(String author) {
+        return findBy(byAuthor, author);
+    }
+
+    @Override
+    public Optional<Meme> findRandom(RandomGenerator random) {
+        return random(random);
+    }
+
+    @Override
+    public Optional<Meme> findByPosition(long position) {
+        return at(position);
+    }
+
+    @Override
+    public long countCached() {
+        return count();
+    }
+
+    @Override
+    protected Long idOf(Meme meme) {
+        return meme.getId();
+    }
+
+    @Override
+    protected void assignId(Meme meme, Long id) {
+        meme.setId(id);
+    }
+
+    @Override
+    protected Meme copyOf(Meme meme) {
+        return Meme.builder()
+                .id(meme.getId())
+                .author(meme.getAuthor())
+                .quote(meme.getQuote())
+                .weight(meme.getWeight())
+                .createdAt(meme.getCreatedAt())
+                .updatedAt(meme.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,486 @@
+package com.ejerciciocopilot.repository.memory;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base de los repositorios del perfil memory: las filas viven en un mapa concurrente ordenado por ID,
+ * sin Hibernate ni SQL. Los finders por columna leen de índices secundarios (InMemoryIndex) en lugar
+ * de recorrer todas las filas.
+ * <p>
+ * Guarda y devuelve copias, como las entidades desacopladas de JPA: modificar una entidad leída
+ * no cambia nada hasta que se guarda. Las escrituras se serializan con el lock del repositorio
+ * (fila e índices cambian juntos); las lecturas no bloquean. No hay transacciones ni claves foráneas:
+ * cada escritura queda visible en cuanto termina y nada se conserva al reiniciar.
+ *
+ * @param <T> tipo de entidad
+ */
+public abstract class InMemoryRepository<T> implements JpaRepository<T, Long> {
+
+    private static final int MAX_PROBES = 4;
+
+    private final Class<T> type;
+    private final ConcurrentNavigableMap<Long, T> rows = new ConcurrentSkipListMap<>();
+    private final List<InMemoryIndex<T>> indexes = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long size;
+
+    /**
+     * @param type clase de la entidad
+     */
+    protected InMemoryRepository(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Identificador de la entidad.
+     *
+     * @param entity entidad
+     * @return ID asignado o null si es nueva
+     */
+    protected abstract Long idOf(T entity);
+
+    /**
+     * Asigna el ID a una entidad nueva.
+     *
+     * @param entity entidad
+     * @param id     ID generado
+     */
+    protected abstract void assignId(T entity, Long id);
+
+    /**
+     * Copia independiente de la entidad (las relaciones se comparten).
+     *
+     * @param entity entidad
+     * @return copia
+     */
+    protected abstract T copyOf(T entity);
+
+    /**
+     * Crea un índice secundario. Se llama desde el constructor de la subclase.
+     *
+     * @param key clave indexada (para claves compuestas, una lista de valores)
+     * @return índice, para consultarlo con {@link #findBy(InMemoryIndex, Object)}
+     */
+    protected final InMemoryIndex<T> index(Function<T, ?> key) {
+        InMemoryIndex<T> index = new InMemoryIndex<>(key);
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Clase de la entidad guardada.
+     *
+     * @return clase de la entidad
+     */
+    public Class<T> entityType() {
+        return type;
+    }
+
+    /**
+     * Próximo ID de la secuencia, sin guardar nada.
+     *
+     * @return ID libre
+     */
+    protected long nextSequenceValue() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Filas con un valor de una clave indexada, ordenadas por ID.
+     *
+     * @param index índice de la clave
+     * @param value valor buscado (null busca las filas con la clave en null)
+     * @return copias de las filas
+     */
+    protected List<T> findBy(InMemoryIndex<T> index, Object value) {
+        return stream(index, value).toList();
+    }
+
+    /**
+     * Filas con un valor de una clave indexada, ordenadas por ID.
+     *
+     * @param index índice de la clave
+     * @param value valor buscado
+     * @return copias de las filas, a medida que se recorren
+     */
+    protected Stream<T> stream(InMemoryIndex<T> index, Object value) {
+        return index.find(value).stream()
+                .map(rows::get)
+                .filter(row -> row != null && index.matches(row, value))
+                .map(this::copyOf);
+    }
+
+    /**
+     * Filas que cumplen una condición, ordenadas por ID desde {@code after} (excluido).
+     *
+     * @param after  último ID ya visto (null para empezar desde el principio)
+     * @param filter condición sobre la fila guardada
+     * @param offset filas que cumplen la condición y se saltean
+     * @param limit  cantidad máxima de filas
+     * @return copias de las filas
+     */
+    protected List<T> scan(Long after, Predicate<T> filter, long offset, Limit limit) {
+        return scan(after, filter, offset, limit, this::copyOf);
+    }
+
+    /**
+     * Proyección de las filas que cumplen una condición, ordenadas por ID desde {@code after} (excluido).
+     * La proyección recibe la fila guardada, sin copiar: no debe modificarla ni devolverla.
+     *
+     * @param after      último ID ya visto (null para empezar desde el principio)
+     * @param filter     condición sobre la fila guardada
+     * @param offset     filas que cumplen la condición y se saltean
+     * @param limit      cantidad máxima de filas
+     * @param projection valor a devolver por cada fila
+     * @param <R>        tipo de la proyección
+     * @return proyecciones de las filas
+     */
+    protected <R> List<R> scan(Long after, Predicate<T> filter, long offset, Limit limit,
+                               Function<T, R> projection) {
+        Collection<T> from = after == null ? rows.values() : rows.tailMap(after, false).values();
+        Stream<T> matching = from.stream().filter(filter).skip(offset);
+        if (limit.isLimited()) {
+            matching = matching.limit(limit.max());
+        }
+        return matching.map(projection).toList();
+    }
+
+    /**
+     * Página de filas que cumplen una condición, ordenadas por ID.
+     *
+     * @param filter   condición sobre la fila guardada
+     * @param pageable número y tamaño de página (o sin paginar)
+     * @return copias de las filas
+     */
+    protected List<T> scan(Predicate<T> filter, Pageable pageable) {
+        return pageable.isPaged()
+                ? scan(null, filter, pageable.getOffset(), Limit.of(pageable.getPageSize()))
+                : scan(null, filter, 0, Limit.unlimited());
+    }
+
+    /**
+     * Cantidad de filas con ID menor a uno dado (posición de ese ID en el orden por ID).
+     *
+     * @param id identificador
+     * @return cantidad de filas
+     */
+    public long countByIdLessThan(Long id) {
+        return rows.headMap(id).size();
+    }
+
+    /**
+     * Página por keyset, ordenada por ID.
+     *
+     * @param after último ID de la página anterior
+     * @param limit tamaño de página
+     * @return copias de las filas
+     */
+    public List<T> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit) {
+        return scan(after, row -> true, 0, limit);
+    }
+
+    /**
+     * Página por offset, ordenada por ID.
+     *
+     * @param pageable número y tamaño de página
+     * @return copias de las filas
+     */
+    public List<T> findAllByOrderByIdAsc(Pageable pageable) {
+        return scan(row -> true, pageable);
+    }
+
+    /**
+     * Fila aleatoria, con la misma probabilidad para todas, como RandomRowSampler: sortea un ID entre
+     * el mínimo y el máximo y, si cae en huecos {@value #MAX_PROBES} veces, sortea una posición.
+     *
+     * @param random generador a utilizar
+     * @return copia de la fila o vacío si no hay filas
+     */
+    protected Optional<T> random(RandomGenerator random) {
+        Map.Entry<Long, T> first = rows.firstEntry();
+        Map.Entry<Long, T> last = rows.lastEntry();
+        if (first == null || last == null) {
+            return Optional.empty();
+        }
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            T row = rows.get(random.nextLong(first.getKey(), last.getKey() + 1));
+            if (row != null) {
+                return Optional.of(copyOf(row));
+            }
+        }
+        long count = size;
+        return count == 0 ? Optional.empty() : at(random.nextLong(count));
+    }
+
+    /**
+     * Fila en una posición, con las filas ordenadas por ID.
+     *
+     * @param position posición (0 = menor ID)
+     * @return copia de la fila o vacío si la posición no existe
+     */
+    protected Optional<T> at(long position) {
+        return rows.values().stream().skip(position).findFirst().map(this::copyOf);
+    }
+
+    /**
+     * Guarda filas que ya tienen ID (reservado con {@link #nextSequenceValue()}).
+     *
+     * @param entities entidades con ID
+     */
+    protected synchronized void putAll(List<T> entities) {
+        entities.forEach(this::put);
+    }
+
+    @Override
+    public synchronized <S extends T> S save(S entity) {
+        Objects.requireNonNull(entity, "Entity must not be null");
+        if (idOf(entity) == null) {
+            assignId(entity, nextSequenceValue());
+        }
+        put(entity);
+        return entity;
+    }
+
+    @Override
+    public synchronized <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(rows.get(id)).map(this::copyOf);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return rows.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return rows.values().stream().map(this::copyOf).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::copyOf)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return size;
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public synchronized void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::remove);
+    }
+
+    @Override
+    public synchronized void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(entity -> remove(idOf(entity)));
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        rows.clear();
+        indexes.forEach(InMemoryIndex::clear);
+        size = 0;
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        Stream<T> all = rows.values().stream();
+        if (sort.isSorted()) {
+            all = all.sorted(comparator(sort));
+        }
+        return all.map(this::copyOf).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll(pageable.getSort()));
+        }
+        Stream<T> all = rows.values().stream();
+        if (pageable.getSort().isSorted()) {
+            all = all.sorted(comparator(pageable.getSort()));
+        }
+        List<T> content = all.skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(this::copyOf)
+                .toList();
+        return new PageImpl<>(content, pageable, size);
+    }
+
+    @Override
+    public void flush() {
+        // Las escrituras se aplican al guardar
+    }
+
+    @Override
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    /**
+     * @deprecated usar {@link #getReferenceById(Long)}
+     */
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    /**
+     * @deprecated usar {@link #getReferenceById(Long)}
+     */
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    /**
+     * Sin proxies: devuelve la fila o, si no existe, falla en el momento (JPA fallaría al usar el proxy).
+     */
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Unable to find " + type.getName() + " with id " + id));
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupportedExample();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupportedExample();
+    }
+
+    private void put(T entity) {
+        Long id = idOf(entity);
+        sequence.accumulateAndGet(id, Math::max);
+        T stored = copyOf(entity);
+        T previous = rows.put(id, stored);
+        indexes.forEach(index -> index.update(id, previous, stored));
+        if (previous == null) {
+            size++;
+        }
+    }
+
+    private void remove(Long id) {
+        T previous = rows.remove(id);
+        if (previous != null) {
+            indexes.forEach(index -> index.update(id, previous, null));
+            size--;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = order.isAscending()
+                    ? Comparator.<Comparable>naturalOrder() : Comparator.<Comparable>reverseOrder();
+            values = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST
+                    ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+            Comparator<Comparable> byProperty = values;
+            comparator = comparator.thenComparing(
+                    row -> (Comparable) new BeanWrapperImpl(row).getPropertyValue(order.getProperty()), byProperty);
+        }
+        return comparator;
+    }
+
+    private UnsupportedOperationException unsupportedExample() {
+        return new UnsupportedOperationException("Query by Example no está disponible en el perfil memory");
+    }
+}
@@ -0,0 +1,39 @@
+package com.ejerciciocopilot.repository.memory;
+
+import com.ejerciciocopilot.repository.RowCountEstimator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RowCountEstimator del perfil memory: el conteo exacto de cada repositorio en memoria (no recorre las filas).
+ */
+@Component
+@Profile("memory")
+public class InMemoryRowCountEstimator implements RowCountEstimator {
+
+    private final Map<Class<?>, InMemoryRepository<?>> repositories;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param repositories repositorios en memoria, uno por entidad
+     */
+    public InMemoryRowCountEstimator(List<InMemoryRepository<?>> repositories) {
+        this.repositories = repositories.stream()
+                .collect(Collectors.toUnmodifiableMap(InMemoryRepository::entityType, Function.identity()));
+    }
+
+    @Override
+    public long estimate(Class<?> entity) {
+        InMemoryRepository<?> repository = repositories.get(entity);
+        if (repository == null) {
+            throw new IllegalArgumentException("No hay repositorio en memoria para " + entity.getSimpleName());
+        }
+        return repository.count();
+    }
+}
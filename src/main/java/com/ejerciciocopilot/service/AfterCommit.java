@@ -0,0 +1,31 @@
+package com.ejerciciocopilot.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidad para diferir una acción hasta que la transacción actual confirme.
+ * Los catálogos en memoria la usan para no publicar cambios que luego se revierten.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {}
+
+    /**
+     * Ejecuta la acción después del commit, o de inmediato si no hay transacción activa.
+     *
+     * @param action acción a ejecutar
+     */
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
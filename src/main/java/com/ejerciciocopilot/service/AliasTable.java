@@ -0,0 +1,136 @@
+package com.ejerciciocopilot.service;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabla de alias (método de Vose) para elegir un índice con probabilidad proporcional a su peso.
+ * Se arma en O(n) y cada selección es O(1): un único nextLong da el índice (32 bits altos) y el
+ * umbral (32 bits bajos). Probabilidad y alias de cada celda van juntos en un long, así una selección
+ * sobre un catálogo grande lee una sola posición de memoria de la tabla.
+ * Si todos los pesos son iguales no guarda celdas y la selección es un único nextInt,
+ * la misma secuencia que el muestreo uniforme (los seeds guardados siguen reproduciendo lo mismo).
+ * Si ningún peso es positivo no hay índices elegibles: {@link #isEmpty()} lo indica y quien la usa
+ * lo trata como un catálogo vacío.
+ */
+final class AliasTable {
+
+    private static final double SCALE = 0x1p32;
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private final int size;
+    /**
+     * Por celda: alias en los 32 bits altos y umbral de aceptación (probabilidad * 2^32) en los bajos.
+     * Las celdas con probabilidad 1 son su propio alias. null si la selección es uniforme o no hay elegibles.
+     */
+    private final long[] cells;
+    private final boolean empty;
+
+    private AliasTable(int size, long[] cells, boolean empty) {
+        this.size = size;
+        this.cells = cells;
+        this.empty = empty;
+    }
+
+    /**
+     * Arma la tabla para los pesos dados. Los pesos negativos cuentan como 0;
+     * si todos son iguales y positivos la selección es uniforme, y si ninguno es positivo la tabla queda vacía.
+     *
+     * @param weights peso de cada índice
+     * @return tabla de alias
+     */
+    static AliasTable of(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        boolean uniform = true;
+        for (double weight : weights) {
+            total += Math.max(0, weight);
+            uniform &= weight == weights[0];
+        }
+        if (total <= 0) {
+            return new AliasTable(n, null, true);
+        }
+        if (uniform) {
+            return new AliasTable(n, null, false);
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        int heaviest = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0, weights[i]) * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+            if (weights[i] > weights[heaviest]) {
+                heaviest = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1;
+            alias[index] = index;
+        }
+        // Lo que queda en small es error de redondeo (probabilidad ~1), salvo los pesos 0: nunca se eligen
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = weights[index] > 0 ? 1 : 0;
+            alias[index] = weights[index] > 0 ? index : heaviest;
+        }
+
+        long[] cells = new long[n];
+        for (int i = 0; i < n; i++) {
+            long threshold = Math.min(LOW_BITS, (long) (probability[i] * SCALE));
+            cells[i] = ((long) alias[i] << 32) | threshold;
+        }
+        return new AliasTable(n, cells, false);
+    }
+
+    /**
+     * Indica si no hay índices elegibles (sin pesos o todos en 0).
+     *
+     * @return true si sample() no puede elegir ningún índice
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Elige un índice según los pesos.
+     *
+     * @param random generador a utilizar
+     * @return índice entre 0 y size() - 1
+     * @throws IllegalStateException si la tabla está vacía
+     */
+    int sample(RandomGenerator random) {
+        if (empty) {
+            throw new IllegalStateException("No hay índices con peso positivo para elegir");
+        }
+        if (cells == null) {
+            return random.nextInt(size);
+        }
+        long bits = random.nextLong();
+        // Índice uniforme con los 32 bits altos (multiplicación en lugar de módulo; sesgo < size / 2^32)
+        int index = (int) (((bits >>> 32) * size) >>> 32);
+        long cell = cells[index];
+        return (bits & LOW_BITS) < (cell & LOW_BITS) ? index : (int) (cell >>> 32);
+    }
+}
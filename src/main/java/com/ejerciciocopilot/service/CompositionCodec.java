@@ -0,0 +1,163 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.exception.EntityNotFoundException;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.*;
+
+/**
+ * Clave de composición de una excusa empaquetada en un long: tipo, rol y la posición en el catálogo
+ * (orden por ID) de cada fragmento, del meme y de la ley. Se guarda en una columna extra sin índice,
+ * junto a las seis columnas de FK (que siguen siendo la fuente de verdad), y sirve para publicar el token:
+ * para reconstruir la excusa desde un token alcanza con el catálogo en memoria, sin joins.
+ *
+ * <pre>
+ * bits  0-1   tipo (ordinal de ExcuseType)
+ * bits  2-4   rol (0 = sin rol, 1-6 = ordinal de Role + 1)
+ * bits  5-44  CONTEXTO, CAUSA, CONSECUENCIA y RECOMENDACION (10 bits cada uno: hasta 1024 por tipo)
+ * bits 45-53  meme (0 = sin meme, si no posición + 1: hasta 511 memes)
+ * bits 54-63  ley  (0 = sin ley, si no posición + 1: hasta 1023 leyes)
+ * </pre>
+ *
+ * Las posiciones son las del catálogo al generar la excusa: agregar fragmentos no cambia las existentes
+ * (los IDs crecen), pero borrar uno (o cambiarle el tipo) corre las posiciones siguientes de su tipo.
+ * Por eso el token público lleva además una huella de los IDs (ExcuseMapper.toToken) y
+ * {@link #decode(ExcuseMapper.Token)} rechaza los tokens cuyas posiciones ya apuntan a otros elementos.
+ */
+final class CompositionCodec {
+
+    private static final FragmentType[] SLOTS = {
+            FragmentType.CONTEXTO, FragmentType.CAUSA, FragmentType.CONSECUENCIA, FragmentType.RECOMENDACION
+    };
+    private static final int TYPE_BITS = 2;
+    private static final int ROLE_BITS = 3;
+    private static final int FRAGMENT_BITS = 10;
+    private static final int MEME_BITS = 9;
+    private static final int LAW_BITS = 10;
+    private static final int FRAGMENTS_SHIFT = TYPE_BITS + ROLE_BITS;
+    private static final int MEME_SHIFT = FRAGMENTS_SHIFT + SLOTS.length * FRAGMENT_BITS;
+    private static final int LAW_SHIFT = MEME_SHIFT + MEME_BITS;
+
+    private final FragmentCatalog fragmentCatalog;
+    private final MemeCatalog memeCatalog;
+    private final LawCatalog lawCatalog;
+
+    CompositionCodec(FragmentCatalog fragmentCatalog, MemeCatalog memeCatalog, LawCatalog lawCatalog) {
+        this.fragmentCatalog = fragmentCatalog;
+        this.memeCatalog = memeCatalog;
+        this.lawCatalog = lawCatalog;
+    }
+
+    /**
+     * Calcula la clave de una excusa.
+     *
+     * @param excuse excusa con sus fragmentos
+     * @return clave, o null si algún elemento no está en el catálogo o no entra en su campo
+     *         (por ejemplo, una excusa armada a mano con un fragmento de otro tipo). Si el catálogo
+     *         completo no entra en el campo (o está en modo remoto) devuelve null sin buscar la posición,
+     *         para no consultar la base en cada excusa generada
+     */
+    Long encode(Excuse excuse) {
+        Fragment[] fragments = {
+                excuse.getContext(), excuse.getCause(), excuse.getConsequence(), excuse.getRecommendation()
+        };
+        long key = excuse.getType().ordinal();
+        key |= (long) (excuse.getRole() != null ? excuse.getRole().ordinal() + 1 : 0) << TYPE_BITS;
+        for (int i = 0; i < SLOTS.length; i++) {
+            if (fragments[i] == null || fragmentCatalog.size(SLOTS[i]) > 1 << FRAGMENT_BITS) {
+                return null;
+            }
+            int position = fragmentCatalog.positionOf(SLOTS[i], fragments[i].getId());
+            if (position < 0 || position >= 1 << FRAGMENT_BITS) {
+                return null;
+            }
+            key |= (long) position << (FRAGMENTS_SHIFT + i * FRAGMENT_BITS);
+        }
+        if (excuse.getMeme() != null) {
+            if (!memeCatalog.fitsIn((1 << MEME_BITS) - 1)) {
+                return null;
+            }
+            int position = memeCatalog.positionOf(excuse.getMeme().getId());
+            if (position < 0 || position + 1 >= 1 << MEME_BITS) {
+                return null;
+            }
+            key |= (long) (position + 1) << MEME_SHIFT;
+        }
+        if (excuse.getLaw() != null) {
+            if (!lawCatalog.fitsIn((1 << LAW_BITS) - 1)) {
+                return null;
+            }
+            int position = lawCatalog.positionOf(excuse.getLaw().getId());
+            if (position < 0 || position + 1 >= 1 << LAW_BITS) {
+                return null;
+            }
+            key |= (long) (position + 1) << LAW_SHIFT;
+        }
+        return key;
+    }
+
+    /**
+     * Reconstruye la excusa de un token público y comprueba que sea la misma que cuando se emitió.
+     *
+     * @param token clave de composición y huella de los IDs
+     * @return excusa sin persistir (sin ID ni seed), con la clave asignada
+     * @throws IllegalArgumentException si la clave no es válida
+     * @throws EntityNotFoundException si algún elemento ya no existe o las posiciones apuntan a otros elementos
+     */
+    Excuse decode(ExcuseMapper.Token token) {
+        Excuse excuse = decode(token.compositionKey());
+        if (ExcuseMapper.fingerprint(excuse) != token.fingerprint()) {
+            throw new EntityNotFoundException("La excusa del token ya no existe en el catálogo");
+        }
+        return excuse;
+    }
+
+    /**
+     * Reconstruye la excusa de una clave contra el catálogo en memoria.
+     *
+     * @param key clave de composición
+     * @return excusa sin persistir (sin ID ni seed), con la clave asignada
+     * @throws IllegalArgumentException si la clave no es válida
+     * @throws EntityNotFoundException si alguna posición ya no existe en el catálogo
+     */
+    Excuse decode(long key) {
+        int role = field(key, TYPE_BITS, ROLE_BITS);
+        if (role > Role.values().length) {
+            throw new IllegalArgumentException("Clave de composición inválida: " + key);
+        }
+        Excuse excuse = new Excuse();
+        excuse.setType(ExcuseType.values()[field(key, 0, TYPE_BITS)]);
+        excuse.setRole(role > 0 ? Role.values()[role - 1] : null);
+        Fragment[] fragments = new Fragment[SLOTS.length];
+        for (int i = 0; i < SLOTS.length; i++) {
+            int position = field(key, FRAGMENTS_SHIFT + i * FRAGMENT_BITS, FRAGMENT_BITS);
+            if (position >= fragmentCatalog.size(SLOTS[i])) {
+                throw new EntityNotFoundException("La excusa del token ya no existe en el catálogo");
+            }
+            fragments[i] = fragmentCatalog.get(SLOTS[i], null, position);
+        }
+        excuse.setContext(fragments[0]);
+        excuse.setCause(fragments[1]);
+        excuse.setConsequence(fragments[2]);
+        excuse.setRecommendation(fragments[3]);
+        int meme = field(key, MEME_SHIFT, MEME_BITS);
+        if (meme > 0) {
+            if (meme > memeCatalog.size()) {
+                throw new EntityNotFoundException("La excusa del token ya no existe en el catálogo");
+            }
+            excuse.setMeme(memeCatalog.get(meme - 1));
+        }
+        int law = field(key, LAW_SHIFT, LAW_BITS);
+        if (law > 0) {
+            if (law > lawCatalog.size()) {
+                throw new EntityNotFoundException("La excusa del token ya no existe en el catálogo");
+            }
+            excuse.setLaw(lawCatalog.get(law - 1));
+        }
+        excuse.setCompositionKey(key);
+        return excuse;
+    }
+
+    private static int field(long key, int shift, int bits) {
+        return (int) ((key >>> shift) & ((1L << bits) - 1));
+    }
+}
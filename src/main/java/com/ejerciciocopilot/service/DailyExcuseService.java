@@ -0,0 +1,200 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excusa del día servida desde memoria.
+ * Se compone una sola vez por (fecha, rol) y, si se pide persistida, se guarda una sola vez;
+ * la zona horaria solo decide qué fecha es "hoy". Poco antes de la medianoche de cada zona
+ * pedida se precalcula la excusa del día siguiente, así el primer request del día no la compone.
+ * Las zonas vienen del request (?tz=): se recuerdan como mucho app.excuses.daily-max-zones, y las que
+ * no se piden en {@link #ZONE_IDLE} se olvidan.
+ * Una vez calculada, la excusa del día no cambia aunque cambie el catálogo.
+ */
+@Slf4j
+@Service
+public class DailyExcuseService {
+
+    /**
+     * Tiempo sin requests después del cual una zona deja de precalcularse.
+     */
+    static final Duration ZONE_IDLE = Duration.ofDays(2);
+
+    private final ExcuseService excuseService;
+    private final ExcuseProperties excuseProperties;
+    private final Clock clock;
+    private final ConcurrentMap<Key, Entry> days = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ZoneId, Instant> zones = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excuseService    servicio que compone y guarda la excusa del día
+     * @param excuseProperties zona por defecto y anticipación del precálculo
+     */
+    @Autowired
+    public DailyExcuseService(ExcuseService excuseService, ExcuseProperties excuseProperties) {
+        this(excuseService, excuseProperties, Clock.systemUTC());
+    }
+
+    DailyExcuseService(ExcuseService excuseService, ExcuseProperties excuseProperties, Clock clock) {
+        this.excuseService = excuseService;
+        this.excuseProperties = excuseProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Excusa del día sin persistir.
+     *
+     * @param role rol del desarrollador (opcional)
+     * @param zone zona horaria (opcional, por defecto app.excuses.daily-zone)
+     * @return excusa del día, sin ID
+     * @throws IllegalArgumentException si el rol o la zona no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public ExcuseResponseDTO today(String role, String zone) {
+        return entry(role, zone).excuse();
+    }
+
+    /**
+     * Excusa del día persistida: la primera llamada del día la guarda (o reutiliza la fila existente)
+     * y las siguientes la sirven desde memoria.
+     *
+     * @param role rol del desarrollador (opcional)
+     * @param zone zona horaria (opcional, por defecto app.excuses.daily-zone)
+     * @return excusa del día, con ID
+     * @throws IllegalArgumentException si el rol o la zona no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public ExcuseResponseDTO todayStored(String role, String zone) {
+        return entry(role, zone).stored();
+    }
+
+    /**
+     * Cambio de día: precalcula la excusa del día siguiente para cada rol ya pedido
+     * en las zonas que están a menos de app.excuses.daily-precompute-lead de su medianoche,
+     * y descarta los días que ya no son "hoy" en ninguna zona y las zonas que no se piden hace {@link #ZONE_IDLE}.
+     */
+    @Scheduled(fixedDelay = 15, timeUnit = TimeUnit.SECONDS)
+    public void rollover() {
+        Instant now = clock.instant();
+        List<Role> roles = days.keySet().stream().map(Key::role).distinct().toList();
+        zones.values().removeIf(lastUsed -> lastUsed.isBefore(now.minus(ZONE_IDLE)));
+        for (ZoneId zone : zones.keySet()) {
+            ZonedDateTime local = now.atZone(zone);
+            LocalDate tomorrow = local.toLocalDate().plusDays(1);
+            Duration untilMidnight = Duration.between(local, tomorrow.atStartOfDay(zone));
+            if (untilMidnight.compareTo(excuseProperties.getDailyPrecomputeLead()) <= 0) {
+                roles.forEach(role -> precompute(tomorrow, role));
+            }
+        }
+        // Ninguna zona está más de un día detrás de UTC
+        LocalDate oldest = now.atZone(ZoneOffset.UTC).toLocalDate().minusDays(1);
+        days.keySet().removeIf(key -> key.day().isBefore(oldest));
+    }
+
+    private void precompute(LocalDate day, Role role) {
+        try {
+            Entry entry = days.computeIfAbsent(new Key(day, role), this::compose);
+            if (excuseProperties.isPersistOnGet()) {
+                entry.stored();
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo precalcular la excusa del {} (rol {}): {}", day, role, e.getMessage());
+        }
+    }
+
+    private Entry entry(String role, String zone) {
+        Role roleEnum = role != null ? ExcuseService.parseRole(role) : null;
+        ZoneId zoneId = zone != null ? parseZone(zone) : excuseProperties.getDailyZone();
+        remember(zoneId);
+        return days.computeIfAbsent(new Key(LocalDate.now(clock.withZone(zoneId)), roleEnum), this::compose);
+    }
+
+    /**
+     * Registra la zona para el precálculo, salvo que el registro esté lleno con otras zonas.
+     */
+    private void remember(ZoneId zone) {
+        if (zones.containsKey(zone) || zones.size() < excuseProperties.getDailyMaxZones()) {
+            zones.put(zone, clock.instant());
+        }
+    }
+
+    private Entry compose(Key key) {
+        return new Entry(key, ExcuseMapper.toResponse(excuseService.composeDaily(key.day(), key.role())));
+    }
+
+    /**
+     * Convierte la zona recibida (ej: America/Argentina/Buenos_Aires, UTC, -03:00).
+     *
+     * @param zone identificador de zona
+     * @return zona horaria
+     * @throws IllegalArgumentException si la zona no es válida
+     */
+    private static ZoneId parseZone(String zone) {
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Zona horaria inválida: " + zone);
+        }
+    }
+
+    /**
+     * Fecha y rol de una excusa del día (rol null para la excusa general).
+     */
+    private record Key(LocalDate day, Role role) {
+    }
+
+    /**
+     * Excusa del día compuesta y, una vez pedida, su versión persistida.
+     */
+    private final class Entry {
+
+        private final Key key;
+        private final ExcuseResponseDTO excuse;
+        private volatile ExcuseResponseDTO stored;
+
+        Entry(Key key, ExcuseResponseDTO excuse) {
+            this.key = key;
+            this.excuse = excuse;
+        }
+
+        ExcuseResponseDTO excuse() {
+            return excuse;
+        }
+
+        ExcuseResponseDTO stored() {
+            ExcuseResponseDTO result = stored;
+            if (result == null) {
+                synchronized (this) {
+                    result = stored;
+                    if (result == null) {
+                        result = ExcuseMapper.toResponse(excuseService.generateDaily(key.day(), key.role()));
+                        stored = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
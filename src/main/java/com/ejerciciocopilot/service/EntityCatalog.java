@@ -0,0 +1,294 @@
+package com.ejerciciocopilot.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Base de los catálogos en memoria de memes y leyes.
+ * Mantiene un snapshot inmutable ordenado por ID (copy-on-write), cargado de forma perezosa
+ * la primera vez que se consulta. Las escrituras publican un snapshot nuevo tras el commit.
+ * Las selecciones respetan el peso de cada entidad con una tabla de alias (O(1) por selección).
+ * Si la tabla supera app.excuses.catalog-max-entries filas no se carga: el catálogo pasa a modo remoto
+ * y cada selección elige una fila en la base de datos (sin pesos), con memoria constante.
+ *
+ * @param <T> tipo de entidad del catálogo
+ */
+public abstract class EntityCatalog<T> {
+
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>(Snapshot.unloaded(0));
+    private final int maxEntries;
+
+    /**
+     * @param maxEntries cantidad máxima de filas que se cargan en memoria; por encima, modo remoto
+     */
+    protected EntityCatalog(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Carga todas las entidades desde la base de datos.
+     *
+     * @return entidades persistidas
+     */
+    protected abstract List<T> load();
+
+    /**
+     * Identificador de la entidad.
+     *
+     * @param entity entidad
+     * @return ID asignado
+     */
+    protected abstract Long idOf(T entity);
+
+    /**
+     * Copia desacoplada del contexto de persistencia.
+     *
+     * @param entity entidad gestionada
+     * @return copia para el snapshot
+     */
+    protected abstract T copyOf(T entity);
+
+    /**
+     * Peso de la entidad en las selecciones aleatorias.
+     *
+     * @param entity entidad
+     * @return peso (0 = nunca se elige)
+     */
+    protected abstract double weightOf(T entity);
+
+    /**
+     * Cantidad de filas en la base de datos (puede venir de un conteo cacheado).
+     *
+     * @return cantidad de filas
+     */
+    protected abstract long count();
+
+    /**
+     * Modo remoto: elige una fila al azar en la base de datos.
+     *
+     * @param random generador a utilizar
+     * @return entidad o null si la tabla está vacía
+     */
+    protected abstract T sample(RandomGenerator random);
+
+    /**
+     * Modo remoto: fila en una posición, con las filas ordenadas por ID.
+     *
+     * @param position posición
+     * @return entidad o null si la posición no existe
+     */
+    protected abstract T fetch(long position);
+
+    /**
+     * Modo remoto: posición de una fila en el orden por ID.
+     *
+     * @param id identificador
+     * @return posición, o -1 si la fila no existe
+     */
+    protected abstract int locate(Long id);
+
+    /**
+     * Selecciona una entidad aleatoria, con probabilidad proporcional a su peso.
+     *
+     * @param random generador a utilizar (con seed, la selección es reproducible)
+     * @return entidad seleccionada o null si el catálogo está vacío o todos los pesos son 0
+     */
+    public T pick(RandomGenerator random) {
+        Snapshot<T> current = loaded();
+        if (current.remote()) {
+            return detached(sample(random));
+        }
+        if (current.sampler().isEmpty()) {
+            return null;
+        }
+        return current.items()[current.sampler().sample(random)];
+    }
+
+    /**
+     * Cantidad de entidades en el snapshot actual.
+     *
+     * @return cantidad de entidades
+     */
+    public int size() {
+        Snapshot<T> current = loaded();
+        return current.remote() ? (int) Math.min(Integer.MAX_VALUE, count()) : current.size();
+    }
+
+    /**
+     * Entidad en una posición del snapshot, con las entidades ordenadas por ID.
+     *
+     * @param position posición entre 0 y size() - 1
+     * @return entidad en esa posición
+     */
+    public T get(int position) {
+        Snapshot<T> current = loaded();
+        return current.remote() ? detached(fetch(position)) : current.items()[position];
+    }
+
+    /**
+     * Posición de una entidad en el snapshot, con las entidades ordenadas por ID.
+     *
+     * @param id identificador de la entidad
+     * @return posición, o -1 si la entidad no está en el catálogo
+     */
+    public int positionOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        Snapshot<T> current = loaded();
+        return current.remote() ? locate(id) : Math.max(-1, Arrays.binarySearch(current.ids(), id));
+    }
+
+    /**
+     * Si todas las posiciones del catálogo entran en un campo de capacidad dada, sin consultar la base:
+     * en modo remoto la tabla ya superó app.excuses.catalog-max-entries y se considera que no entran.
+     *
+     * @param capacity cantidad de posiciones que admite el campo
+     * @return true si positionOf() siempre devuelve una posición menor que capacity
+     */
+    public boolean fitsIn(int capacity) {
+        Snapshot<T> current = loaded();
+        return !current.remote() && current.size() <= capacity;
+    }
+
+    /**
+     * Checksum de los IDs del snapshot, en orden: cambia si se agrega o quita una entidad,
+     * y es el mismo en todas las instancias con el mismo contenido.
+     * En modo remoto solo refleja la cantidad de filas.
+     *
+     * @return checksum de las posiciones del catálogo
+     */
+    public int checksum() {
+        Snapshot<T> current = loaded();
+        return current.remote() ? Integer.hashCode(size()) : current.checksum();
+    }
+
+    /**
+     * Si el catálogo está en modo remoto (la tabla superó app.excuses.catalog-max-entries al cargarse).
+     *
+     * @return true si las selecciones van a la base de datos
+     */
+    public boolean isRemote() {
+        return loaded().remote();
+    }
+
+    /**
+     * Versión del snapshot publicado. Se incrementa con cada carga o escritura.
+     *
+     * @return versión actual
+     */
+    public long version() {
+        return snapshot.get().version();
+    }
+
+    /**
+     * Publica una entidad creada o modificada tras el commit.
+     *
+     * @param entity entidad persistida (con ID asignado)
+     */
+    public void onSaved(T entity) {
+        T copy = copyOf(entity);
+        AfterCommit.run(() -> snapshot.updateAndGet(current -> current.withUpsert(copy, idOf(copy), this::weightOf)));
+    }
+
+    /**
+     * Quita una entidad eliminada tras el commit.
+     *
+     * @param id identificador de la entidad eliminada
+     */
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> snapshot.updateAndGet(current -> current.withRemoved(id, this::weightOf)));
+    }
+
+    /**
+     * Descarta el snapshot; la próxima lectura vuelve a la base de datos.
+     */
+    public void reload() {
+        snapshot.updateAndGet(current -> Snapshot.unloaded(current.version() + 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot<T> loaded() {
+        while (true) {
+            Snapshot<T> current = snapshot.get();
+            if (current.items() != null || current.remote()) {
+                return current;
+            }
+            if (count() > maxEntries) {
+                Snapshot<T> next = new Snapshot<>(current.version() + 1, null, null, null, true, 0);
+                if (snapshot.compareAndSet(current, next)) {
+                    return next;
+                }
+                continue;
+            }
+            T[] items = (T[]) load().stream()
+                    .map(this::copyOf)
+                    .sorted(Comparator.comparing(this::idOf))
+                    .toArray();
+            long[] ids = Arrays.stream(items).mapToLong(this::idOf).toArray();
+            Snapshot<T> next = Snapshot.of(current.version() + 1, items, ids, this::weightOf);
+            if (snapshot.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private T detached(T entity) {
+        return entity != null ? copyOf(entity) : null;
+    }
+
+    /**
+     * Snapshot inmutable; {@code items} es null mientras no se haya cargado y en modo remoto.
+     * Cada cambio copia los arrays y rearma la tabla de alias y el checksum completos (O(n)):
+     * no hay actualización incremental, el costo de una escritura crece con el catálogo.
+     */
+    private record Snapshot<T>(long version, T[] items, long[] ids, AliasTable sampler, boolean remote, int checksum) {
+
+        static <T> Snapshot<T> unloaded(long version) {
+            return new Snapshot<>(version, null, null, null, false, 0);
+        }
+
+        static <T> Snapshot<T> of(long version, T[] items, long[] ids, ToDoubleFunction<T> weight) {
+            return new Snapshot<>(version, items, ids,
+                    AliasTable.of(Arrays.stream(items).mapToDouble(weight).toArray()), false, Arrays.hashCode(ids));
+        }
+
+        int size() {
+            return items.length;
+        }
+
+        Snapshot<T> withRemoved(Long id, ToDoubleFunction<T> weight) {
+            if (items == null) {
+                return new Snapshot<>(version + 1, null, null, null, remote, 0);
+            }
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            T[] copy = Arrays.copyOf(items, items.length - 1);
+            System.arraycopy(items, index + 1, copy, index, copy.length - index);
+            long[] copyIds = Arrays.copyOf(ids, ids.length - 1);
+            System.arraycopy(ids, index + 1, copyIds, index, copyIds.length - index);
+            return Snapshot.of(version + 1, copy, copyIds, weight);
+        }
+
+        Snapshot<T> withUpsert(T entity, Long id, ToDoubleFunction<T> weight) {
+            Snapshot<T> removed = withRemoved(id, weight);
+            if (removed.items == null) {
+                return removed;
+            }
+            int insertion = -Arrays.binarySearch(removed.ids, id) - 1;
+            T[] copy = Arrays.copyOf(removed.items, removed.items.length + 1);
+            System.arraycopy(removed.items, insertion, copy, insertion + 1, removed.items.length - insertion);
+            copy[insertion] = entity;
+            long[] copyIds = Arrays.copyOf(removed.ids, removed.ids.length + 1);
+            System.arraycopy(removed.ids, insertion, copyIds, insertion + 1, removed.ids.length - insertion);
+            copyIds[insertion] = id;
+            return Snapshot.of(version + 1, copy, copyIds, weight);
+        }
+    }
+}
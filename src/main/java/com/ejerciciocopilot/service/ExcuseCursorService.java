@@ -0,0 +1,217 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.dto.ExcuseCursorResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Recorrido sin repeticiones del espacio de combinaciones de excusas
+ * (CONTEXTO x CAUSA x CONSECUENCIA x RECOMENDACION, x meme y/o x ley según el tipo).
+ * Cada posición del recorrido pasa por una permutación con clave (FeistelPermutation) y el resultado
+ * se descompone en base mixta en un índice por eje. El cursor lleva la clave y la posición:
+ * el servidor no guarda historial ni consulta la base de datos para saber qué se entregó.
+ * También lleva un checksum de los IDs de cada eje: si el catálogo cambió (aunque el total sea el mismo,
+ * por ejemplo un fragmento borrado y otro agregado), las posiciones ya no significan lo mismo y el
+ * recorrido vuelve a empezar con una clave nueva.
+ */
+@Service
+public class ExcuseCursorService {
+
+    private static final byte FORMAT = 2;
+    private static final int CURSOR_BYTES = 3 + 3 * Long.BYTES + Integer.BYTES;
+    private static final FragmentType[] AXES = {
+            FragmentType.CONTEXTO, FragmentType.CAUSA, FragmentType.CONSECUENCIA, FragmentType.RECOMENDACION
+    };
+
+    private final FragmentCatalog fragmentCatalog;
+    private final MemeCatalog memeCatalog;
+    private final LawCatalog lawCatalog;
+    private final RandomSource randomSource;
+    private final CompositionCodec compositionCodec;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param fragmentCatalog catálogo en memoria de fragmentos
+     * @param memeCatalog     catálogo en memoria de memes
+     * @param lawCatalog      catálogo en memoria de leyes
+     * @param randomSource    origen de la clave de cada recorrido nuevo
+     */
+    public ExcuseCursorService(FragmentCatalog fragmentCatalog, MemeCatalog memeCatalog,
+                               LawCatalog lawCatalog, RandomSource randomSource) {
+        this.fragmentCatalog = fragmentCatalog;
+        this.memeCatalog = memeCatalog;
+        this.lawCatalog = lawCatalog;
+        this.randomSource = randomSource;
+        this.compositionCodec = new CompositionCodec(fragmentCatalog, memeCatalog, lawCatalog);
+    }
+
+    /**
+     * Devuelve la siguiente excusa de un recorrido sin repeticiones.
+     * Sin cursor empieza un recorrido nuevo (con una clave aleatoria) del tipo y rol pedidos;
+     * con cursor, el tipo y el rol salen del cursor. Si el catálogo cambió desde que se emitió el cursor,
+     * empieza un recorrido nuevo del mismo tipo y rol (la respuesta lo indica con restarted).
+     *
+     * @param cursor cursor devuelto por la llamada anterior (null para empezar)
+     * @param type   tipo de excusa para un recorrido nuevo (SIMPLE por defecto)
+     * @param role   rol del desarrollador para un recorrido nuevo (opcional)
+     * @return excusa sin persistir, posición, total de combinaciones y cursor siguiente
+     * @throws IllegalArgumentException si el cursor, el tipo o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos
+     */
+    public ExcuseCursorResponseDTO next(String cursor, String type, String role) {
+        Cursor current = cursor != null ? Cursor.decode(cursor) : null;
+        ExcuseType mode = current != null ? current.mode()
+                : type != null ? ExcuseService.parseType(type) : ExcuseType.SIMPLE;
+        Role roleEnum = current != null ? current.role()
+                : role != null ? ExcuseService.parseRole(role) : null;
+
+        int[] radices = radices(mode, roleEnum);
+        long total = total(radices);
+        int checksum = checksum(mode, roleEnum);
+        boolean restarted = current != null && (current.total() != total || current.checksum() != checksum);
+        if (current == null || restarted) {
+            current = new Cursor(mode, roleEnum, randomSource.nextSeed(mode), 0, total, checksum);
+        }
+
+        long combination = new FeistelPermutation(total, current.key()).apply(current.position());
+        Excuse excuse = excuseAt(mode, roleEnum, radices, combination);
+        long position = current.position() + 1;
+        return ExcuseCursorResponseDTO.builder()
+                .excuse(ExcuseMapper.toResponse(excuse))
+                .nextCursor(position < total ? current.at(position).encode() : null)
+                .position(position)
+                .total(total)
+                .restarted(restarted)
+                .build();
+    }
+
+    /**
+     * Cantidad de opciones de cada eje: los 4 tipos de fragmento, memes y leyes.
+     * Un eje que el tipo no usa (o un catálogo vacío de memes o leyes) cuenta como una sola opción.
+     */
+    private int[] radices(ExcuseType mode, Role role) {
+        int[] radices = new int[AXES.length + 2];
+        for (int i = 0; i < AXES.length; i++) {
+            radices[i] = fragmentCatalog.size(AXES[i], role);
+            if (radices[i] == 0) {
+                throw new IllegalStateException(
+                        "No hay fragmentos de tipo " + AXES[i] + " disponibles en la base de datos");
+            }
+        }
+        boolean withMeme = mode == ExcuseType.CON_MEME || mode == ExcuseType.ULTRA_SHARK;
+        boolean withLaw = mode == ExcuseType.CON_LEY || mode == ExcuseType.ULTRA_SHARK;
+        radices[AXES.length] = withMeme ? Math.max(1, memeCatalog.size()) : 1;
+        radices[AXES.length + 1] = withLaw ? Math.max(1, lawCatalog.size()) : 1;
+        return radices;
+    }
+
+    /**
+     * Checksum de los IDs de los ejes que usa el tipo, en el orden del recorrido.
+     */
+    private int checksum(ExcuseType mode, Role role) {
+        int checksum = 1;
+        for (FragmentType axis : AXES) {
+            checksum = 31 * checksum + fragmentCatalog.checksum(axis, role);
+        }
+        if (mode == ExcuseType.CON_MEME || mode == ExcuseType.ULTRA_SHARK) {
+            checksum = 31 * checksum + memeCatalog.checksum();
+        }
+        if (mode == ExcuseType.CON_LEY || mode == ExcuseType.ULTRA_SHARK) {
+            checksum = 31 * checksum + lawCatalog.checksum();
+        }
+        return checksum;
+    }
+
+    private static long total(int[] radices) {
+        long total = 1;
+        try {
+            for (int radix : radices) {
+                total = Math.multiplyExact(total, radix);
+            }
+        } catch (ArithmeticException e) {
+            total = Long.MAX_VALUE;
+        }
+        if (total > 1L << 62) {
+            throw new IllegalStateException("Demasiadas combinaciones para recorrer con un cursor: " + total);
+        }
+        return total;
+    }
+
+    /**
+     * Arma la excusa de una combinación descomponiéndola en base mixta (el último eje es el menos significativo).
+     */
+    private Excuse excuseAt(ExcuseType mode, Role role, int[] radices, long combination) {
+        int[] digits = new int[radices.length];
+        long rest = combination;
+        for (int i = radices.length - 1; i >= 0; i--) {
+            digits[i] = (int) (rest % radices[i]);
+            rest /= radices[i];
+        }
+        Excuse excuse = new Excuse();
+        excuse.setContext(fragmentCatalog.get(FragmentType.CONTEXTO, role, digits[0]));
+        excuse.setCause(fragmentCatalog.get(FragmentType.CAUSA, role, digits[1]));
+        excuse.setConsequence(fragmentCatalog.get(FragmentType.CONSECUENCIA, role, digits[2]));
+        excuse.setRecommendation(fragmentCatalog.get(FragmentType.RECOMENDACION, role, digits[3]));
+        if ((mode == ExcuseType.CON_MEME || mode == ExcuseType.ULTRA_SHARK) && memeCatalog.size() > 0) {
+            excuse.setMeme(memeCatalog.get(digits[4]));
+        }
+        if ((mode == ExcuseType.CON_LEY || mode == ExcuseType.ULTRA_SHARK) && lawCatalog.size() > 0) {
+            excuse.setLaw(lawCatalog.get(digits[5]));
+        }
+        excuse.setType(mode);
+        excuse.setRole(role);
+        excuse.setCompositionKey(compositionCodec.encode(excuse));
+        return excuse;
+    }
+
+    /**
+     * Estado completo de un recorrido: tipo, rol, clave de la permutación, próxima posición,
+     * y total de combinaciones y checksum del catálogo al emitirlo (para detectar cambios de catálogo).
+     * Se serializa en Base64 URL-safe.
+     */
+    private record Cursor(ExcuseType mode, Role role, long key, long position, long total, int checksum) {
+
+        Cursor at(long next) {
+            return new Cursor(mode, role, key, next, total, checksum);
+        }
+
+        String encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(CURSOR_BYTES)
+                    .put(FORMAT)
+                    .put((byte) mode.ordinal())
+                    .put((byte) (role != null ? role.ordinal() : -1))
+                    .putLong(key)
+                    .putLong(position)
+                    .putLong(total)
+                    .putInt(checksum);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+                if (buffer.remaining() != CURSOR_BYTES || buffer.get() != FORMAT) {
+                    throw new IllegalArgumentException();
+                }
+                ExcuseType mode = ExcuseType.values()[buffer.get()];
+                byte role = buffer.get();
+                Cursor decoded = new Cursor(mode, role >= 0 ? Role.values()[role] : null,
+                        buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getInt());
+                if (decoded.position() < 0 || decoded.position() >= decoded.total()) {
+                    throw new IllegalArgumentException();
+                }
+                return decoded;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+        }
+    }
+}
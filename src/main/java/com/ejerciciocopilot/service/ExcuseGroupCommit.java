@@ -0,0 +1,254 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.exception.ServiceBusyException;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit de las excusas generadas (app.excuses.group-commit-enabled).
+ * Los requests concurrentes que guardan una excusa no hacen cada uno su INSERT y su commit:
+ * reservan el ID en memoria, encolan la excusa y esperan. Un hilo junta lo que llega durante
+ * app.excuses.group-commit-window (o hasta app.excuses.group-commit-max-batch) y lo inserta en un solo
+ * batch dentro de una transacción; al confirmarse, cada request sigue con su excusa ya guardada.
+ * <p>
+ * A diferencia de ExcuseWriteBehind, la respuesta sale recién con la fila confirmada.
+ * Si el batch falla (se revierte entero), sus filas se reintentan de a una, cada una en su transacción:
+ * solo el request de la fila que vuelve a fallar recibe el error.
+ */
+@Slf4j
+@Component
+public class ExcuseGroupCommit implements SmartLifecycle, MeterBinder {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ExcuseRepository excuseRepository;
+    private final ExcuseProperties excuseProperties;
+    private final BlockingQueue<Request> queue;
+    private final LongAdder commits = new LongAdder();
+    private volatile boolean running;
+    private volatile Thread committer;
+    private DistributionSummary batchSizes;
+    private Timer waitTimer;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excuseRepository repositorio que reserva los IDs e inserta los batches
+     * @param excuseProperties ventana, tamaño máximo del batch y capacidad de la cola
+     */
+    public ExcuseGroupCommit(ExcuseRepository excuseRepository, ExcuseProperties excuseProperties) {
+        this.excuseRepository = excuseRepository;
+        this.excuseProperties = excuseProperties;
+        this.queue = new ArrayBlockingQueue<>(excuseProperties.getGroupCommitCapacity());
+    }
+
+    /**
+     * Si los INSERT de las excusas generadas se agrupan.
+     *
+     * @return true con app.excuses.group-commit-enabled
+     */
+    public boolean isEnabled() {
+        return excuseProperties.isGroupCommitEnabled();
+    }
+
+    /**
+     * Guarda una excusa en el próximo batch y espera a que se confirme.
+     * Si el hilo del group commit no está corriendo (por ejemplo, durante el cierre) o el llamador ya
+     * tiene una transacción abierta (retiene una conexión y el INSERT tiene que ser parte de ella), la guarda sola.
+     *
+     * @param excuse excusa sin ID, con createdAt
+     * @return la misma excusa, con ID y ya confirmada en la base
+     * @throws ServiceBusyException si la cola sigue llena después de app.excuses.group-commit-offer-timeout,
+     *                              o si el batch no se confirma en app.excuses.group-commit-wait-timeout
+     *                              (si la excusa todavía estaba en la cola se descarta; si ya estaba en un
+     *                              batch en curso, puede quedar guardada igual)
+     */
+    public Excuse save(Excuse excuse) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return excuseRepository.save(excuse);
+        }
+        long start = System.nanoTime();
+        excuse.setId(excuseRepository.nextId());
+        Request request = new Request(excuse, new CompletableFuture<>());
+        boolean queued;
+        try {
+            queued = queue.offer(request, excuseProperties.getGroupCommitOfferTimeout().toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw new ServiceBusyException("Cola de group commit de excusas llena, reintentar en un momento");
+        }
+        try {
+            return request.committed().get(excuseProperties.getGroupCommitWaitTimeout().toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            queue.remove(request);
+            throw new ServiceBusyException("El group commit de excusas no confirmó a tiempo, reintentar en un momento");
+        } finally {
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Cantidad de batches confirmados (una transacción cada uno).
+     *
+     * @return commits hechos por el group commit
+     */
+    public long commits() {
+        return commits.sum();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::commitLoop, "excuse-group-commit");
+        committer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = committer;
+        committer = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            if (!thread.join(excuseProperties.getGroupCommitShutdownTimeout())) {
+                // Los requests que siguen esperando responden 503 al vencer su group-commit-wait-timeout
+                log.warn("El group commit de excusas no terminó en {}; quedan {} excusas en la cola",
+                        excuseProperties.getGroupCommitShutdownTimeout(), queue.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Requests que encolaron mientras el hilo terminaba
+        List<Request> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            commit(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return ExcuseWriteBehind.PHASE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("excuses.groupcommit.commits", commits, LongAdder::sum)
+                .description("Transacciones del group commit (una por batch)")
+                .register(registry);
+        batchSizes = DistributionSummary.builder("excuses.groupcommit.batch.size")
+                .description("Excusas por batch del group commit")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        waitTimer = Timer.builder("excuses.groupcommit.wait")
+                .description("Espera de cada request hasta que su batch se confirma")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Bucle del hilo del group commit: sigue hasta que se detiene y la cola queda vacía.
+     */
+    private void commitLoop() {
+        int maxBatch = excuseProperties.getGroupCommitMaxBatch();
+        long windowNanos = excuseProperties.getGroupCommitWindow().toNanos();
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(TICK_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Solo se interrumpe desde afuera: se sigue hasta vaciar la cola
+                continue;
+            }
+            long deadline = System.nanoTime() + windowNanos;
+            while (batch.size() < maxBatch) {
+                queue.drainTo(batch, maxBatch - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatch || remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Request> batch) {
+        try {
+            excuseRepository.insertAssigned(batch.stream().map(Request::excuse).toList());
+            commits.increment();
+            if (batchSizes != null) {
+                batchSizes.record(batch.size());
+            }
+            batch.forEach(request -> request.committed().complete(request.excuse()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).committed().completeExceptionally(e);
+                return;
+            }
+            log.warn("Falló el batch de {} excusas del group commit, se reintentan de a una: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(request -> commit(List.of(request)));
+        }
+    }
+
+    /**
+     * Excusa encolada junto con el aviso que espera su request.
+     */
+    private record Request(Excuse excuse, CompletableFuture<Excuse> committed) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.ExcuseType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool de excusas SIMPLE efímeras, ya convertidas a ResponseDTO, para GET /api/excuses/random.
+ * Un hilo en segundo plano lo mantiene lleno; servir una excusa es un poll sin locks.
+ * El nivel objetivo sigue la tasa de consumo medida (tráfico de app.excuses.pool-horizon),
+ * entre app.excuses.pool-min-fill y la capacidad. Si el pool está vacío, la excusa se genera
+ * en el momento. Las excusas generadas con una versión anterior del catálogo de fragmentos se descartan.
+ */
+@Slf4j
+@Component
+public class ExcusePool implements MeterBinder, DisposableBean {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double DRAIN_SMOOTHING = 0.3;
+
+    private final ExcuseService excuseService;
+    private final FragmentCatalog fragmentCatalog;
+    private final ExcuseProperties excuseProperties;
+    private final RingBuffer<Entry> ring;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+    private volatile double drainPerSecond;
+    private volatile int target;
+    private volatile Thread producer;
+    private Timer refillTimer;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excuseService    servicio que genera las excusas
+     * @param fragmentCatalog  catálogo cuya versión invalida las excusas del pool
+     * @param excuseProperties capacidad, nivel mínimo y horizonte del pool
+     */
+    public ExcusePool(ExcuseService excuseService, FragmentCatalog fragmentCatalog,
+                      ExcuseProperties excuseProperties) {
+        this.excuseService = excuseService;
+        this.fragmentCatalog = fragmentCatalog;
+        this.excuseProperties = excuseProperties;
+        this.ring = new RingBuffer<>(excuseProperties.getPoolCapacity());
+        this.target = Math.min(excuseProperties.getPoolMinFill(), ring.capacity());
+    }
+
+    /**
+     * Devuelve una excusa SIMPLE efímera: del pool si hay, si no la genera en el momento.
+     *
+     * @return excusa lista para serializar
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public ExcuseResponseDTO next() {
+        taken.increment();
+        long version = fragmentCatalog.version();
+        Entry entry;
+        while ((entry = ring.poll()) != null) {
+            if (entry.version() == version) {
+                hits.increment();
+                if (ring.size() < target / 2) {
+                    wake();
+                }
+                return entry.excuse();
+            }
+        }
+        misses.increment();
+        wake();
+        return ExcuseMapper.toResponse(excuseService.generateEphemeral(ExcuseType.SIMPLE, null));
+    }
+
+    /**
+     * Cantidad de excusas listas en el pool.
+     *
+     * @return nivel de llenado
+     */
+    public int size() {
+        return ring.size();
+    }
+
+    /**
+     * Nivel de llenado objetivo actual, según la tasa de consumo medida.
+     *
+     * @return nivel objetivo
+     */
+    public int target() {
+        return target;
+    }
+
+    /**
+     * Arranca el hilo productor cuando la aplicación terminó de iniciar
+     * (después de la precarga de datos, para no cachear catálogos vacíos).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!excuseProperties.isPoolEnabled() || producer != null) {
+            return;
+        }
+        Thread thread = new Thread(this::produce, "excuse-pool");
+        thread.setDaemon(true);
+        producer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread thread = producer;
+        producer = null;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("excuses.pool.size", this, ExcusePool::size)
+                .description("Excusas listas en el pool de /random")
+                .register(registry);
+        Gauge.builder("excuses.pool.target", this, ExcusePool::target)
+                .description("Nivel de llenado objetivo del pool según la tasa de consumo")
+                .register(registry);
+        FunctionCounter.builder("excuses.pool.hits", hits, LongAdder::sum)
+                .description("Excusas servidas desde el pool")
+                .register(registry);
+        FunctionCounter.builder("excuses.pool.misses", misses, LongAdder::sum)
+                .description("Excusas generadas en el momento porque el pool estaba vacío")
+                .register(registry);
+        refillTimer = Timer.builder("excuses.pool.refill")
+                .description("Latencia de cada recarga del pool")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    private void produce() {
+        long lastSample = System.nanoTime();
+        while (producer == Thread.currentThread()) {
+            long now = System.nanoTime();
+            updateTarget(taken.sumThenReset(), now - lastSample);
+            lastSample = now;
+            try {
+                int deficit = target - ring.size();
+                if (deficit > 0) {
+                    refill(deficit);
+                } else {
+                    LockSupport.parkNanos(this, TICK_NANOS);
+                }
+            } catch (IllegalStateException e) {
+                // Catálogo vacío (por ejemplo, antes de cargar fragmentos): reintentar más tarde
+                log.debug("Pool de excusas sin recargar: {}", e.getMessage());
+                LockSupport.parkNanos(this, BACKOFF_NANOS);
+            } catch (RuntimeException e) {
+                // Error de la base (por ejemplo, un catálogo en modo remoto): el hilo sigue vivo y reintenta
+                log.warn("Falló la recarga del pool de excusas, se reintenta: {}", e.getMessage());
+                LockSupport.parkNanos(this, BACKOFF_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Promedio exponencial de la tasa de consumo; el objetivo cubre el horizonte configurado.
+     */
+    void updateTarget(long consumed, long elapsedNanos) {
+        if (elapsedNanos <= 0) {
+            return;
+        }
+        double rate = consumed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        drainPerSecond = DRAIN_SMOOTHING * rate + (1 - DRAIN_SMOOTHING) * drainPerSecond;
+        double horizonSeconds = excuseProperties.getPoolHorizon().toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        long wanted = (long) Math.ceil(drainPerSecond * horizonSeconds);
+        target = (int) Math.min(ring.capacity(), Math.max(excuseProperties.getPoolMinFill(), wanted));
+    }
+
+    private void refill(int deficit) {
+        long start = System.nanoTime();
+        for (int i = 0; i < deficit && producer == Thread.currentThread(); i++) {
+            long version = fragmentCatalog.version();
+            ExcuseResponseDTO excuse = ExcuseMapper.toResponse(
+                    excuseService.generateEphemeral(ExcuseType.SIMPLE, null));
+            // Si el catálogo cambió mientras se generaba (o se cargó por primera vez), no se guarda
+            if (fragmentCatalog.version() == version && !ring.offer(new Entry(version, excuse))) {
+                break;
+            }
+        }
+        if (refillTimer != null) {
+            refillTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void wake() {
+        Thread thread = producer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Excusa lista junto con la versión del catálogo con la que se generó.
+     */
+    private record Entry(long version, ExcuseResponseDTO excuse) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.repository.ExcuseColdStore;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retención por capas del historial de excusas.
+ * Las excusas con más de app.excuses.retention-hot-age salen de la tabla (capa caliente) y pasan
+ * a segmentos comprimidos en disco (capa fría, ExcuseColdStore), así la tabla y sus índices no crecen sin límite.
+ * <p>
+ * Trabaja por lotes de app.excuses.retention-batch-size: cada lote es un SELECT y un DELETE por IDs
+ * en transacciones separadas y cortas, sin locks largos. El segmento se escribe antes del DELETE:
+ * si el proceso se corta en el medio, el lote queda en las dos capas y se vuelve a archivar igual.
+ */
+@Slf4j
+@Service
+public class ExcuseRetentionService {
+
+    private final ExcuseRepository excuseRepository;
+    private final ExcuseColdStore excuseColdStore;
+    private final ExcuseProperties excuseProperties;
+
+    public ExcuseRetentionService(ExcuseRepository excuseRepository,
+                                  ExcuseColdStore excuseColdStore,
+                                  ExcuseProperties excuseProperties) {
+        this.excuseRepository = excuseRepository;
+        this.excuseColdStore = excuseColdStore;
+        this.excuseProperties = excuseProperties;
+    }
+
+    /**
+     * Corrida periódica del job de retención (si app.excuses.retention-enabled).
+     */
+    @Scheduled(fixedDelay = 10, initialDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void scheduledArchive() {
+        if (!excuseProperties.isRetentionEnabled()) {
+            return;
+        }
+        try {
+            archiveOlderThan(LocalDateTime.now().minus(excuseProperties.getRetentionHotAge()));
+        } catch (RuntimeException e) {
+            log.warn("Falló la retención de excusas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mueve a la capa fría todas las excusas creadas antes del instante indicado.
+     *
+     * @param threshold instante de corte
+     * @return cantidad de excusas archivadas
+     */
+    public long archiveOlderThan(LocalDateTime threshold) {
+        int batchSize = excuseProperties.getRetentionBatchSize();
+        long archived = 0;
+        List<Excuse> batch;
+        do {
+            batch = excuseRepository.findByCreatedAtBeforeOrderByIdAsc(threshold, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            excuseColdStore.append(batch);
+            excuseRepository.deleteAllByIdInBatch(batch.stream().map(Excuse::getId).toList());
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+        if (archived > 0) {
+            log.info("Archivadas {} excusas anteriores a {}", archived, threshold);
+        }
+        return archived;
+    }
+}
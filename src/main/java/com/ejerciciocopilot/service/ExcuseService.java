@@ -1,21 +1,35 @@
 package com.ejerciciocopilot.service;
 
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.config.ReplicaLagGuard;
 import com.ejerciciocopilot.dto.ExcuseRequestDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.exception.EntityNotFoundException;
 import com.ejerciciocopilot.mapper.ExcuseMapper;
 import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseColdStore;
 import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
 import com.ejerciciocopilot.repository.FragmentRepository;
 import com.ejerciciocopilot.repository.LawRepository;
 import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio core del proyecto para generar y gestionar excusas tech.
@@ -30,7 +44,17 @@ public class ExcuseService {
     private final FragmentRepository fragmentRepository;
     private final MemeRepository memeRepository;
     private final LawRepository lawRepository;
-    private final Random random;
+    private final FragmentCatalog fragmentCatalog;
+    private final MemeCatalog memeCatalog;
+    private final LawCatalog lawCatalog;
+    private final RandomSource randomSource;
+    private final ExcuseProperties excuseProperties;
+    private final RowCountEstimator rowCountEstimator;
+    private final ExcuseColdStore excuseColdStore;
+    private final ExcuseWriteBehind excuseWriteBehind;
+    private final ExcuseGroupCommit excuseGroupCommit;
+    private final ObjectProvider<ReplicaLagGuard> replicaLagGuard;
+    private final CompositionCodec compositionCodec;
 
     /**
      * Constructor con inyección de todas las dependencias necesarias.
@@ -39,37 +63,127 @@ public class ExcuseService {
      * @param fragmentRepository repositorio de fragmentos
      * @param memeRepository    repositorio de memes
      * @param lawRepository     repositorio de leyes
+     * @param fragmentCatalog   catálogo en memoria de fragmentos
+     * @param memeCatalog       catálogo en memoria de memes
+     * @param lawCatalog        catálogo en memoria de leyes
+     * @param randomSource      generadores aleatorios por hilo y modo de generación
+     * @param excuseProperties  configuración de generación (límites de lote)
+     * @param rowCountEstimator estimación del total para el listado paginado
+     * @param excuseColdStore   capa fría con las excusas archivadas
+     * @param excuseWriteBehind cola de escritura diferida de las excusas generadas
+     * @param excuseGroupCommit group commit de los INSERT concurrentes de excusas generadas
+     * @param replicaLagGuard   read-your-writes con réplica (solo con app.datasource.replica.url)
      */
     public ExcuseService(ExcuseRepository excuseRepository,
                         FragmentRepository fragmentRepository,
                         MemeRepository memeRepository,
-                        LawRepository lawRepository) {
+                        LawRepository lawRepository,
+                        FragmentCatalog fragmentCatalog,
+                        MemeCatalog memeCatalog,
+                        LawCatalog lawCatalog,
+                        RandomSource randomSource,
+                        ExcuseProperties excuseProperties,
+                        RowCountEstimator rowCountEstimator,
+                        ExcuseColdStore excuseColdStore,
+                        ExcuseWriteBehind excuseWriteBehind,
+                        ExcuseGroupCommit excuseGroupCommit,
+                        ObjectProvider<ReplicaLagGuard> replicaLagGuard) {
         this.excuseRepository = excuseRepository;
         this.fragmentRepository = fragmentRepository;
         this.memeRepository = memeRepository;
         this.lawRepository = lawRepository;
-        this.random = new Random();
+        this.fragmentCatalog = fragmentCatalog;
+        this.memeCatalog = memeCatalog;
+        this.lawCatalog = lawCatalog;
+        this.randomSource = randomSource;
+        this.excuseProperties = excuseProperties;
+        this.rowCountEstimator = rowCountEstimator;
+        this.excuseColdStore = excuseColdStore;
+        this.excuseWriteBehind = excuseWriteBehind;
+        this.excuseGroupCommit = excuseGroupCommit;
+        this.replicaLagGuard = replicaLagGuard;
+        this.compositionCodec = new CompositionCodec(fragmentCatalog, memeCatalog, lawCatalog);
     }
 
     /**
-     * Obtiene una excusa por su identificador.
+     * Obtiene una excusa por su identificador, con sus relaciones ya cargadas (un solo SELECT).
+     * Antes de la tabla la busca en la cola de escritura diferida (generada y todavía sin guardar);
+     * si no está en ninguna de las dos, en la capa fría (excusas archivadas por ExcuseRetentionService), resolviendo sus fragmentos,
+     * meme y ley por ID.
      *
      * @param id identificador de la excusa
-     * @return Optional con la excusa si existe
+     * @return Optional con la excusa si existe en alguna de las capas
      */
+    @Transactional(readOnly = true)
     public Optional<Excuse> findById(Long id) {
-        return excuseRepository.findById(id);
+        // Primero la escritura diferida: una excusa sale de pending() recién después del commit,
+        // así no hay un momento en que no esté ni en la cola ni en la tabla
+        Optional<Excuse> queued = excuseWriteBehind.pending(id);
+        if (queued.isPresent()) {
+            return queued;
+        }
+        Optional<Excuse> hot = excuseRepository.findWithRelationsById(id);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        return excuseColdStore.find(id).map(this::withRelations);
     }
 
     /**
-     * Obtiene todas las excusas generadas (historial completo).
+     * Obtiene todas las excusas generadas (historial completo), con sus relaciones en un solo SELECT.
+     * Para tablas grandes usar findPage().
      *
      * @return lista de todas las excusas
      */
+    @Transactional(readOnly = true)
     public List<Excuse> findAll() {
         return excuseRepository.findAll();
     }
 
+    /**
+     * Obtiene una página del resumen de excusas (ID, tipo, rol y seed), opcionalmente filtrada por tipo y rol.
+     * Lee solo esas columnas con una proyección: sin entidades, sin joins y sin timestamps.
+     * Con filtros, el total es la estimación de la tabla completa (cota superior).
+     *
+     * @param after último ID de la página anterior (null para empezar)
+     * @param page  número de página por OFFSET (null para keyset)
+     * @param size  tamaño de página (1 a 100)
+     * @param type  tipo de excusa (null para no filtrar)
+     * @param role  rol del desarrollador (null para no filtrar)
+     * @return página de resúmenes con total estimado y el ID para pedir la siguiente
+     * @throws IllegalArgumentException si el tipo, el rol o los parámetros de paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ExcuseSummaryView> findSummaryPage(Long after, Integer page, int size,
+                                                              String type, String role) {
+        ExcuseType typeEnum = type != null ? parseType(type) : null;
+        Role roleEnum = role != null ? parseRole(role) : null;
+        return Paging.fetch(after, page, size,
+                (from, limit) -> excuseRepository.findSummaries(from, typeEnum, roleEnum, limit),
+                pageable -> excuseRepository.findSummaries(typeEnum, roleEnum, pageable),
+                ExcuseSummaryView::id,
+                () -> rowCountEstimator.estimate(Excuse.class));
+    }
+
+    /**
+     * Obtiene una página del historial de excusas ordenado por ID, por keyset ({@code after}) o por número de página.
+     * Las relaciones vienen en la misma consulta, así que la página se puede mapear fuera de la transacción.
+     *
+     * @param after último ID de la página anterior (null para empezar)
+     * @param page  número de página por OFFSET (null para keyset)
+     * @param size  tamaño de página (1 a 100)
+     * @return página con total estimado y el ID para pedir la siguiente
+     * @throws IllegalArgumentException si los parámetros de paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Excuse> findPage(Long after, Integer page, int size) {
+        return Paging.fetch(after, page, size,
+                excuseRepository::findByIdGreaterThanOrderByIdAsc,
+                excuseRepository::findAllByOrderByIdAsc,
+                Excuse::getId,
+                () -> rowCountEstimator.estimate(Excuse.class));
+    }
+
     /**
      * Genera una excusa tech aleatoria simple.
      * Selecciona 4 fragmentos aleatorios (contexto, causa, consecuencia, recomendación)
@@ -79,18 +193,9 @@ public class ExcuseService {
      * @return excusa generada aleatoria
      * @throws IllegalStateException si no hay fragmentos suficientes de algún tipo
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Excuse generateRandom() {
-        Excuse excuse = new Excuse();
-        excuse.setContext(getRandomFragment(FragmentType.CONTEXTO));
-        excuse.setCause(getRandomFragment(FragmentType.CAUSA));
-        excuse.setConsequence(getRandomFragment(FragmentType.CONSECUENCIA));
-        excuse.setRecommendation(getRandomFragment(FragmentType.RECOMENDACION));
-        excuse.setType(ExcuseType.SIMPLE);
-        excuse.setSeed(System.nanoTime());
-        excuse.setCreatedAt(LocalDateTime.now());
-        excuse.setUpdatedAt(null);
-        excuse.setUpdatedAt(null);
-        return excuseRepository.save(excuse);
+        return generate(ExcuseType.SIMPLE, null);
     }
 
     /**
@@ -101,14 +206,9 @@ public class ExcuseService {
      * @return excusa con meme
      * @throws IllegalStateException si no hay fragmentos suficientes o memes disponibles
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Excuse generateWithMeme() {
-        Excuse excuse = generateRandom();
-        Meme meme = getRandomMeme();
-        if (meme != null) {
-            excuse.setMeme(meme);
-        }
-        excuse.setType(ExcuseType.CON_MEME);
-        return excuseRepository.save(excuse);
+        return generate(ExcuseType.CON_MEME, null);
     }
 
     /**
@@ -119,14 +219,9 @@ public class ExcuseService {
      * @return excusa con ley
      * @throws IllegalStateException si no hay fragmentos suficientes o leyes disponibles
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Excuse generateWithLaw() {
-        Excuse excuse = generateRandom();
-        Law law = getRandomLaw();
-        if (law != null) {
-            excuse.setLaw(law);
-        }
-        excuse.setType(ExcuseType.CON_LEY);
-        return excuseRepository.save(excuse);
+        return generate(ExcuseType.CON_LEY, null);
     }
 
     /**
@@ -137,21 +232,9 @@ public class ExcuseService {
      * @return excusa ULTRA_SHARK con fragmentos, meme y ley
      * @throws IllegalStateException si no hay elementos suficientes
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Excuse generateUltraShark() {
-        Excuse excuse = generateRandom();
-        
-        Meme meme = getRandomMeme();
-        if (meme != null) {
-            excuse.setMeme(meme);
-        }
-        
-        Law law = getRandomLaw();
-        if (law != null) {
-            excuse.setLaw(law);
-        }
-        
-        excuse.setType(ExcuseType.ULTRA_SHARK);
-        return excuseRepository.save(excuse);
+        return generate(ExcuseType.ULTRA_SHARK, null);
     }
 
     /**
@@ -165,30 +248,9 @@ public class ExcuseService {
      * @throws IllegalArgumentException si el rol no es válido
      * @throws IllegalStateException si no hay fragmentos suficientes
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Excuse generateByRole(String role) {
-        Role roleEnum;
-        try {
-            roleEnum = Role.valueOf(role.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Rol inválido: " + role + 
-                    ". Roles válidos: DEV, QA, DEVOPS, PM, ARCHITECT, DEVREL");
-        }
-
-        Excuse excuse = new Excuse();
-        excuse.setRole(roleEnum);
-
-        // Intentar obtener fragmentos específicos del rol
-        excuse.setContext(getRandomFragmentByRole(FragmentType.CONTEXTO, roleEnum));
-        excuse.setCause(getRandomFragmentByRole(FragmentType.CAUSA, roleEnum));
-        excuse.setConsequence(getRandomFragmentByRole(FragmentType.CONSECUENCIA, roleEnum));
-        excuse.setRecommendation(getRandomFragmentByRole(FragmentType.RECOMENDACION, roleEnum));
-
-        excuse.setType(ExcuseType.SIMPLE);
-        excuse.setSeed(System.nanoTime());
-        excuse.setCreatedAt(LocalDateTime.now());
-        excuse.setUpdatedAt(null);
-
-        return excuseRepository.save(excuse);
+        return generate(ExcuseType.SIMPLE, parseRole(role));
     }
 
     /**
@@ -196,24 +258,166 @@ public class ExcuseService {
      * Usa la fecha actual como seed para garantizar que
      * todos los usuarios obtengan la misma excusa durante el mismo día.
      * Perfecto para una excusa diaria compartida.
+     * Se guarda una sola vez por día: las llamadas siguientes devuelven la fila ya guardada.
      *
      * @return excusa del día (determinista según la fecha)
      */
     public Excuse generateDaily() {
-        long seed = LocalDate.now().toEpochDay();
-        Random dailyRandom = new Random(seed);
+        return generateDaily(LocalDate.now(), null);
+    }
 
-        Excuse excuse = new Excuse();
-        excuse.setContext(getRandomFragmentWithSeed(FragmentType.CONTEXTO, dailyRandom));
-        excuse.setCause(getRandomFragmentWithSeed(FragmentType.CAUSA, dailyRandom));
-        excuse.setConsequence(getRandomFragmentWithSeed(FragmentType.CONSECUENCIA, dailyRandom));
-        excuse.setRecommendation(getRandomFragmentWithSeed(FragmentType.RECOMENDACION, dailyRandom));
-        excuse.setType(ExcuseType.SIMPLE);
-        excuse.setSeed(seed);
-        excuse.setCreatedAt(LocalDateTime.now());
-        excuse.setUpdatedAt(null);
+    /**
+     * Excusa del día para una fecha y un rol, guardada una sola vez.
+     * Si ya existe la fila de ese día (mismo seed, tipo SIMPLE y rol) se devuelve esa, sin INSERT.
+     *
+     * @param day  fecha de la excusa (su epoch day es el seed)
+     * @param role rol del desarrollador (null para la excusa general)
+     * @return excusa del día persistida, con sus relaciones ya cargadas
+     */
+    public Excuse generateDaily(LocalDate day, Role role) {
+        long seed = day.toEpochDay();
+        return excuseRepository.findFirstByTypeAndSeedAndRoleOrderByIdAsc(ExcuseType.SIMPLE, seed, role)
+                .orElseGet(() -> excuseRepository.save(stamp(compose(ExcuseType.SIMPLE, role, seed))));
+    }
 
-        return excuseRepository.save(excuse);
+    /**
+     * Reconstruye en memoria la excusa que corresponde a un seed, sin leer ni escribir la tabla excuses.
+     * Toda generación es función pura de (seed, catálogo): con el mismo seed, tipo y rol
+     * se obtienen los mismos fragmentos, meme y ley mientras el catálogo no cambie.
+     *
+     * @param seed seed de la excusa (el que devuelven los endpoints de generación)
+     * @param type tipo de excusa (SIMPLE, CON_MEME, CON_LEY, ULTRA_SHARK); null equivale a SIMPLE
+     * @param role rol del desarrollador (opcional)
+     * @return excusa reconstruida, sin ID
+     * @throws IllegalArgumentException si el tipo o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Excuse replay(long seed, String type, String role) {
+        ExcuseType mode = type != null ? parseType(type) : ExcuseType.SIMPLE;
+        Role roleEnum = role != null ? parseRole(role) : null;
+        return compose(mode, roleEnum, seed);
+    }
+
+    /**
+     * Reconstruye la excusa de un token público (ver ExcuseResponseDTO.token) contra el catálogo en memoria,
+     * sin leer la tabla excuses ni hacer joins.
+     *
+     * @param token token de la excusa
+     * @return excusa reconstruida, sin ID ni seed
+     * @throws IllegalArgumentException si el token no es válido
+     * @throws EntityNotFoundException si algún elemento de la excusa ya no está en el catálogo
+     *                                 o el catálogo cambió y el token apunta a otra excusa
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Excuse fromToken(String token) {
+        return compositionCodec.decode(ExcuseMapper.fromToken(token));
+    }
+
+    /**
+     * Genera una excusa efímera: misma composición que los métodos generate*, pero sin persistirla.
+     * No abre transacción de escritura ni asigna ID; el seed devuelto permite recuperarla con replay().
+     *
+     * @param mode tipo de excusa a generar
+     * @param role rol del desarrollador (opcional)
+     * @return excusa generada, sin ID
+     * @throws IllegalArgumentException si el rol no es válido
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Excuse generateEphemeral(ExcuseType mode, String role) {
+        Role roleEnum = role != null ? parseRole(role) : null;
+        return compose(mode, roleEnum, randomSource.nextSeed(mode));
+    }
+
+    /**
+     * Excusa del día sin persistir (mismo seed y misma composición que generateDaily()).
+     *
+     * @return excusa del día, sin ID
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Excuse generateDailyEphemeral() {
+        return composeDaily(LocalDate.now(), null);
+    }
+
+    /**
+     * Compone en memoria la excusa del día para una fecha y un rol, sin persistirla
+     * (misma composición que generateDaily(day, role)).
+     *
+     * @param day  fecha de la excusa (su epoch day es el seed)
+     * @param role rol del desarrollador (null para la excusa general)
+     * @return excusa del día, sin ID
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Excuse composeDaily(LocalDate day, Role role) {
+        return compose(ExcuseType.SIMPLE, role, day.toEpochDay());
+    }
+
+    /**
+     * Genera y persiste un lote de excusas del mismo tipo y rol.
+     * Los INSERT se agrupan en batches JDBC de app.excuses.batch-flush-size
+     * y los IDs salen de la secuencia en bloques, por lo que 10.000 excusas
+     * son unas pocas decenas de round-trips en lugar de 10.000.
+     *
+     * @param count cantidad de excusas (1 a app.excuses.batch-max-count)
+     * @param type  tipo de excusa (SIMPLE por defecto)
+     * @param role  rol del desarrollador (opcional)
+     * @return excusas persistidas, en orden de generación
+     * @throws IllegalArgumentException si la cantidad, el tipo o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public List<Excuse> generateBatch(int count, String type, String role) {
+        return saveAll(composeBatch(count, type, role));
+    }
+
+    /**
+     * Genera un lote de excusas sin persistirlas (ver generateEphemeral()).
+     *
+     * @param count cantidad de excusas (1 a app.excuses.batch-max-count)
+     * @param type  tipo de excusa (SIMPLE por defecto)
+     * @param role  rol del desarrollador (opcional)
+     * @return excusas generadas, sin ID
+     * @throws IllegalArgumentException si la cantidad, el tipo o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Excuse> generateBatchEphemeral(int count, String type, String role) {
+        return composeBatch(count, type, role);
+    }
+
+    /**
+     * Persiste juntas varias excusas armadas por el llamador (por ejemplo con generateEphemeral()).
+     * Los INSERT se agrupan en batches JDBC, con un flush por batch en lugar de uno por excusa.
+     *
+     * @param excuses excusas sin persistir
+     * @return excusas persistidas, en el mismo orden
+     */
+    public List<Excuse> saveAll(List<Excuse> excuses) {
+        excuses.forEach(ExcuseService::stamp);
+        return excuseRepository.insertAll(excuses, excuseProperties.getBatchFlushSize());
+    }
+
+    /**
+     * Reemplaza las relaciones de una excusa archivada (que solo tienen el ID) por las entidades:
+     * un SELECT para los fragmentos y uno para el meme y la ley, si los tiene.
+     */
+    private Excuse withRelations(Excuse archived) {
+        Map<Long, Fragment> fragments = fragmentRepository.findAllById(Stream.of(archived.getContext(),
+                        archived.getCause(), archived.getConsequence(), archived.getRecommendation())
+                        .filter(Objects::nonNull).map(Fragment::getId).toList())
+                .stream().collect(Collectors.toMap(Fragment::getId, Function.identity()));
+        archived.setContext(archived.getContext() != null ? fragments.get(archived.getContext().getId()) : null);
+        archived.setCause(archived.getCause() != null ? fragments.get(archived.getCause().getId()) : null);
+        archived.setConsequence(archived.getConsequence() != null
+                ? fragments.get(archived.getConsequence().getId()) : null);
+        archived.setRecommendation(archived.getRecommendation() != null
+                ? fragments.get(archived.getRecommendation().getId()) : null);
+        archived.setMeme(archived.getMeme() != null
+                ? memeRepository.findById(archived.getMeme().getId()).orElse(null) : null);
+        archived.setLaw(archived.getLaw() != null
+                ? lawRepository.findById(archived.getLaw().getId()).orElse(null) : null);
+        return archived;
     }
 
     /**
@@ -265,87 +469,194 @@ public class ExcuseService {
     }
 
     /**
-     * Obtiene un fragmento aleatorio de un tipo específico.
-     * Método privado helper que lanza excepción si no hay fragmentos.
+     * Genera y persiste una excusa con un seed nuevo del modo indicado.
+     * La excusa se arma completa en memoria y se guarda con un único INSERT,
+     * o se encola para guardarla en batch si la escritura diferida está activa,
+     * o se confirma junto con las de otros requests concurrentes si está activo el group commit.
+     * Los métodos públicos que llegan acá no abren transacción (SUPPORTS): el request no retiene
+     * una conexión del pool mientras espera su batch; el INSERT lleva su propia transacción.
      *
-     * @param type tipo de fragmento (CONTEXTO, CAUSA, etc.)
-     * @return fragmento aleatorio del tipo especificado
-     * @throws IllegalStateException si no hay fragmentos disponibles
+     * @param mode tipo de excusa
+     * @param role rol del desarrollador (null para cualquier rol)
+     * @return excusa persistida (o con ID reservado y encolada)
      */
-    private Fragment getRandomFragment(FragmentType type) {
-        List<Fragment> fragments = fragmentRepository.findByType(type);
-        if (fragments.isEmpty()) {
-            throw new IllegalStateException(
-                    "No hay fragmentos de tipo " + type + " disponibles en la base de datos");
+    private Excuse generate(ExcuseType mode, Role role) {
+        Excuse excuse = stamp(compose(mode, role, randomSource.nextSeed(mode)));
+        if (excuseWriteBehind.isEnabled()) {
+            return writtenByAnotherThread(excuseWriteBehind.submit(excuse));
+        }
+        if (excuseGroupCommit.isEnabled()) {
+            return writtenByAnotherThread(excuseGroupCommit.save(excuse));
         }
-        return fragments.get(random.nextInt(fragments.size()));
+        return excuseRepository.save(excuse);
     }
 
     /**
-     * Obtiene un fragmento aleatorio de un tipo específico para un rol.
-     * Si no hay fragmentos específicos del rol, cae de vuelta a fragmentos generales.
-     * Método privado helper.
+     * La escritura diferida y el group commit confirman en su propio hilo, sin el cliente del request:
+     * el read-your-writes de la réplica se registra acá, en el hilo del request.
+     */
+    private Excuse writtenByAnotherThread(Excuse excuse) {
+        replicaLagGuard.ifAvailable(ReplicaLagGuard::recordWrite);
+        return excuse;
+    }
+
+    /**
+     * Compone en memoria un lote de excusas, cada una con su propio seed.
+     */
+    private List<Excuse> composeBatch(int count, String type, String role) {
+        if (count < 1 || count > excuseProperties.getBatchMaxCount()) {
+            throw new IllegalArgumentException("Cantidad inválida: " + count +
+                    ". Debe estar entre 1 y " + excuseProperties.getBatchMaxCount());
+        }
+        ExcuseType mode = type != null ? parseType(type) : ExcuseType.SIMPLE;
+        Role roleEnum = role != null ? parseRole(role) : null;
+        List<Excuse> excuses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            excuses.add(compose(mode, roleEnum, randomSource.nextSeed(mode)));
+        }
+        return excuses;
+    }
+
+    /**
+     * Composición completa en memoria (fragmentos y extras) para un seed dado.
      *
-     * @param type tipo de fragmento
-     * @param role rol del desarrollador
-     * @return fragmento del tipo y rol, o general si no hay específico del rol
-     */
-    private Fragment getRandomFragmentByRole(FragmentType type, Role role) {
-        List<Fragment> roleFragments = fragmentRepository.findByTypeAndRole(type, role);
-        
-        if (!roleFragments.isEmpty()) {
-            return roleFragments.get(random.nextInt(roleFragments.size()));
+     * @param mode tipo de excusa
+     * @param role rol del desarrollador (null para cualquier rol)
+     * @param seed seed de la excusa
+     * @return excusa sin persistir y sin fecha de creación
+     */
+    private Excuse compose(ExcuseType mode, Role role, long seed) {
+        RandomGenerator random = randomSource.seeded(mode, seed);
+        Excuse excuse = composeFragments(role, seed, random);
+        composeExtras(excuse, mode, random);
+        excuse.setCompositionKey(compositionCodec.encode(excuse));
+        return excuse;
+    }
+
+    /**
+     * Completa la fecha de creación justo antes de persistir.
+     */
+    private static Excuse stamp(Excuse excuse) {
+        if (excuse.getCreatedAt() == null) {
+            excuse.setCreatedAt(LocalDateTime.now());
         }
-        
-        // Si no hay fragmentos específicos del rol, usar fragmentos generales
-        return getRandomFragment(type);
+        return excuse;
     }
 
     /**
-     * Obtiene un fragmento aleatorio usando un Random con seed específico.
-     * Útil para generación reproducible (ej: excusa del día).
-     * Método privado helper.
+     * Primer paso de toda composición: arma una excusa SIMPLE con los 4 fragmentos.
+     * El orden de las selecciones es fijo, por lo que el resultado solo depende del generador.
      *
-     * @param type tipo de fragmento
-     * @param randomWithSeed instancia Random con seed predeterminado
-     * @return fragmento aleatorio
-     */
-    private Fragment getRandomFragmentWithSeed(FragmentType type, Random randomWithSeed) {
-        List<Fragment> fragments = fragmentRepository.findByType(type);
-        if (fragments.isEmpty()) {
-            throw new IllegalStateException(
-                    "No hay fragmentos de tipo " + type + " disponibles en la base de datos");
+     * @param role   rol del desarrollador (null para fragmentos de cualquier rol)
+     * @param seed   seed del que sale el generador
+     * @param random generador con seed
+     * @return excusa sin persistir
+     */
+    private Excuse composeFragments(Role role, long seed, RandomGenerator random) {
+        Excuse excuse = new Excuse();
+        excuse.setRole(role);
+        excuse.setContext(getRandomFragment(FragmentType.CONTEXTO, role, random));
+        excuse.setCause(getRandomFragment(FragmentType.CAUSA, role, random));
+        excuse.setConsequence(getRandomFragment(FragmentType.CONSECUENCIA, role, random));
+        excuse.setRecommendation(getRandomFragment(FragmentType.RECOMENDACION, role, random));
+        excuse.setType(ExcuseType.SIMPLE);
+        excuse.setSeed(seed);
+        return excuse;
+    }
+
+    /**
+     * Segundo paso: agrega meme y/o ley según el modo, continuando la secuencia del generador.
+     *
+     * @param excuse excusa con fragmentos
+     * @param mode   tipo final de la excusa
+     * @param random mismo generador usado para los fragmentos
+     */
+    private void composeExtras(Excuse excuse, ExcuseType mode, RandomGenerator random) {
+        if (mode == ExcuseType.CON_MEME || mode == ExcuseType.ULTRA_SHARK) {
+            Meme meme = getRandomMeme(random);
+            if (meme != null) {
+                excuse.setMeme(meme);
+            }
+        }
+        if (mode == ExcuseType.CON_LEY || mode == ExcuseType.ULTRA_SHARK) {
+            Law law = getRandomLaw(random);
+            if (law != null) {
+                excuse.setLaw(law);
+            }
         }
-        return fragments.get(randomWithSeed.nextInt(fragments.size()));
+        excuse.setType(mode);
     }
 
     /**
-     * Obtiene un meme aleatorio de la base de datos.
+     * Convierte el rol recibido (mayúsculas o minúsculas) al enum.
+     *
+     * @param role nombre del rol
+     * @return rol
+     * @throws IllegalArgumentException si el rol no es válido
+     */
+    static Role parseRole(String role) {
+        try {
+            return Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Rol inválido: " + role + 
+                    ". Roles válidos: DEV, QA, DEVOPS, PM, ARCHITECT, DEVREL");
+        }
+    }
+
+    /**
+     * Convierte el tipo recibido (mayúsculas o minúsculas) al enum.
+     *
+     * @param type nombre del tipo de excusa
+     * @return tipo de excusa
+     * @throws IllegalArgumentException si el tipo no es válido
+     */
+    public static ExcuseType parseType(String type) {
+        try {
+            return ExcuseType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo inválido: " + type +
+                    ". Tipos válidos: SIMPLE, CON_MEME, CON_LEY, ULTRA_SHARK");
+        }
+    }
+
+    /**
+     * Obtiene un fragmento aleatorio de un tipo (y opcionalmente un rol) desde el catálogo en memoria.
+     * Si no hay fragmentos específicos del rol, cae de vuelta a fragmentos generales;
+     * la cadena de fallback ya viene resuelta en el índice (tipo, rol) del catálogo.
+     * Con un generador con seed la selección es reproducible.
+     * Método privado helper que lanza excepción si no hay fragmentos.
+     *
+     * @param type   tipo de fragmento (CONTEXTO, CAUSA, etc.)
+     * @param role   rol del desarrollador (null para cualquier rol)
+     * @param random generador a utilizar
+     * @return fragmento aleatorio del tipo especificado
+     * @throws IllegalStateException si no hay fragmentos disponibles
+     */
+    private Fragment getRandomFragment(FragmentType type, Role role, RandomGenerator random) {
+        return fragmentCatalog.pick(type, role, random);
+    }
+
+    /**
+     * Obtiene un meme aleatorio del catálogo en memoria.
      * Retorna null si no hay memes disponibles.
      * Método privado helper.
      *
+     * @param random generador a utilizar
      * @return meme aleatorio o null si no hay memes
      */
-    private Meme getRandomMeme() {
-        List<Meme> memes = memeRepository.findAll();
-        if (memes.isEmpty()) {
-            return null;
-        }
-        return memes.get(random.nextInt(memes.size()));
+    private Meme getRandomMeme(RandomGenerator random) {
+        return memeCatalog.pick(random);
     }
 
     /**
-     * Obtiene una ley/axioma aleatoria de la base de datos.
+     * Obtiene una ley/axioma aleatoria del catálogo en memoria.
      * Retorna null si no hay leyes disponibles.
      * Método privado helper.
      *
+     * @param random generador a utilizar
      * @return ley aleatoria o null si no hay leyes
      */
-    private Law getRandomLaw() {
-        List<Law> laws = lawRepository.findAll();
-        if (laws.isEmpty()) {
-            return null;
-        }
-        return laws.get(random.nextInt(laws.size()));
+    private Law getRandomLaw(RandomGenerator random) {
+        return lawCatalog.pick(random);
     }
 }
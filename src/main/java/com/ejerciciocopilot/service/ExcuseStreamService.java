@@ -0,0 +1,208 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feed continuo de excusas efímeras sobre Server-Sent Events o NDJSON.
+ * Cada stream corre en su propio hilo virtual y escribe con I/O bloqueante: si el cliente
+ * lee despacio, el envío se bloquea y no se genera la siguiente excusa, así que no hay
+ * buffers que crezcan sin límite. La cantidad de streams simultáneos está acotada.
+ */
+@Slf4j
+@Service
+public class ExcuseStreamService implements MeterBinder, DisposableBean {
+
+    /**
+     * Máxima espera continua entre chequeos de cierre del stream.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ExcuseService excuseService;
+    private final ExcuseProperties excuseProperties;
+    private final Semaphore permits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("excuse-stream-", 0).factory());
+    private final LongAdder sent = new LongAdder();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excuseService    servicio que genera cada excusa (efímera)
+     * @param excuseProperties límites de concurrencia y tasa
+     */
+    public ExcuseStreamService(ExcuseService excuseService, ExcuseProperties excuseProperties) {
+        this.excuseService = excuseService;
+        this.excuseProperties = excuseProperties;
+        this.permits = new Semaphore(excuseProperties.getStreamMaxConcurrent());
+    }
+
+    /**
+     * Abre un stream SSE: un evento "excuse" por excusa, con el seed como id del evento.
+     *
+     * @param mode  tipo de excusa
+     * @param role  rol del desarrollador (opcional)
+     * @param rate  excusas por segundo
+     * @param limit cantidad de excusas a enviar antes de cerrar (0 = sin límite)
+     * @return emitter del stream, o vacío si ya hay el máximo de streams abiertos
+     * @throws IllegalArgumentException si la tasa o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public Optional<SseEmitter> openSse(ExcuseType mode, String role, double rate, long limit) {
+        SseEmitter emitter = new SseEmitter(0L);
+        return open(emitter, mode, role, rate, limit, dto -> emitter.send(SseEmitter.event()
+                .id(String.valueOf(dto.getSeed()))
+                .name("excuse")
+                .data(dto, MediaType.APPLICATION_JSON)));
+    }
+
+    /**
+     * Abre un stream NDJSON: una excusa en JSON por línea.
+     *
+     * @param mode  tipo de excusa
+     * @param role  rol del desarrollador (opcional)
+     * @param rate  excusas por segundo
+     * @param limit cantidad de excusas a enviar antes de cerrar (0 = sin límite)
+     * @return emitter del stream, o vacío si ya hay el máximo de streams abiertos
+     * @throws IllegalArgumentException si la tasa o el rol no son válidos
+     * @throws IllegalStateException si no hay fragmentos suficientes
+     */
+    public Optional<ResponseBodyEmitter> openNdjson(ExcuseType mode, String role, double rate, long limit) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        return open(emitter, mode, role, rate, limit, dto -> emitter.send(new LinkedHashSet<>(List.of(
+                new ResponseBodyEmitter.DataWithMediaType(dto, MediaType.APPLICATION_JSON),
+                new ResponseBodyEmitter.DataWithMediaType("\n", MediaType.TEXT_PLAIN)))));
+    }
+
+    /**
+     * Cantidad de streams abiertos en este momento.
+     *
+     * @return streams activos
+     */
+    public int active() {
+        return excuseProperties.getStreamMaxConcurrent() - permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("excuses.stream.active", this, ExcuseStreamService::active)
+                .description("Streams de excusas abiertos")
+                .register(registry);
+        FunctionCounter.builder("excuses.stream.sent", sent, LongAdder::sum)
+                .description("Excusas enviadas por los streams")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <E extends ResponseBodyEmitter> Optional<E> open(E emitter, ExcuseType mode, String role,
+                                                             double rate, long limit, Sender sender) {
+        if (!(rate > 0) || rate > excuseProperties.getStreamMaxRate()) {
+            throw new IllegalArgumentException("Tasa inválida: " + rate +
+                    ". Debe ser mayor a 0 y hasta " + excuseProperties.getStreamMaxRate() + " por segundo");
+        }
+        // Primero el permiso: con el máximo de streams abiertos se responde 503 sin generar nada.
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        // La primera excusa se genera en el hilo del request: un rol inválido o un catálogo vacío
+        // se responden con el código de error normal en lugar de un stream que se corta enseguida.
+        Excuse first;
+        try {
+            first = excuseService.generateEphemeral(mode, role);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        executor.execute(() -> {
+            try {
+                pump(emitter, sender, first, mode, role, (long) (TimeUnit.SECONDS.toNanos(1) / rate), limit, closed);
+            } finally {
+                permits.release();
+            }
+        });
+        return Optional.of(emitter);
+    }
+
+    private void pump(ResponseBodyEmitter emitter, Sender sender, Excuse first, ExcuseType mode, String role,
+                      long periodNanos, long limit, AtomicBoolean closed) {
+        Excuse excuse = first;
+        long deadline = System.nanoTime();
+        long count = 0;
+        try {
+            while (!closed.get() && (limit <= 0 || count < limit)) {
+                if (excuse == null) {
+                    excuse = excuseService.generateEphemeral(mode, role);
+                }
+                sender.send(ExcuseMapper.toResponse(excuse));
+                sent.increment();
+                count++;
+                excuse = null;
+                // Sin deuda acumulada: si el envío se bloqueó por un consumidor lento, la tasa efectiva baja
+                // en lugar de mandar una ráfaga para recuperar el atraso.
+                deadline = Math.max(deadline + periodNanos, System.nanoTime());
+                if (!parkUntil(deadline, closed)) {
+                    break;
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emitter ya cerrado
+            log.debug("Stream de excusas cerrado: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Espera hasta el deadline revisando periódicamente si el stream se cerró.
+     *
+     * @return false si el hilo fue interrumpido (apagado de la aplicación)
+     */
+    private static boolean parkUntil(long deadline, AtomicBoolean closed) {
+        long remaining;
+        while (!closed.get() && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(ExcuseResponseDTO dto) throws IOException;
+    }
+}
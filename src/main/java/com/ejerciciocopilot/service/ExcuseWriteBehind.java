@@ -0,0 +1,299 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.exception.ServiceBusyException;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritura diferida de excusas generadas (app.excuses.write-behind-enabled).
+ * El request reserva el ID en memoria (ExcuseRepository.nextId()), encola la excusa y responde sin esperar el INSERT;
+ * un hilo la guarda después en batches JDBC de app.excuses.write-behind-batch-size, o antes si pasó
+ * app.excuses.write-behind-flush-interval desde la primera excusa del batch.
+ * <p>
+ * La cola es acotada: llena, el request espera hasta app.excuses.write-behind-offer-timeout y después recibe 503.
+ * Mientras una excusa no se guardó se puede leer por ID con pending(); un batch que falla se reintenta y,
+ * si sigue fallando, se guarda de a una fila, así solo se pierden las excusas que la base rechaza.
+ * Al cerrar la aplicación la cola se vacía después de que el servidor web terminó los requests en curso
+ * (server.shutdown=graceful), esperando como mucho app.excuses.write-behind-shutdown-timeout.
+ */
+@Slf4j
+@Component
+public class ExcuseWriteBehind implements SmartLifecycle, MeterBinder {
+
+    /**
+     * Fase del ciclo de vida: arranca antes que el servidor web y se detiene después,
+     * así no quedan requests encolando cuando se vacía la cola.
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /**
+     * Espera máxima de cada poll: el hilo nota que se detuvo sin interrumpirlo (podría estar en un INSERT).
+     */
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ExcuseRepository excuseRepository;
+    private final ExcuseProperties excuseProperties;
+    private final BlockingQueue<Excuse> queue;
+    private final Map<Long, Excuse> pending = new ConcurrentHashMap<>();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean running;
+    private volatile Thread writer;
+    private Timer flushTimer;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excuseRepository repositorio que reserva los IDs e inserta los batches
+     * @param excuseProperties capacidad de la cola, tamaño de batch y tiempos de espera
+     */
+    public ExcuseWriteBehind(ExcuseRepository excuseRepository, ExcuseProperties excuseProperties) {
+        this.excuseRepository = excuseRepository;
+        this.excuseProperties = excuseProperties;
+        this.queue = new ArrayBlockingQueue<>(excuseProperties.getWriteBehindCapacity());
+    }
+
+    /**
+     * Si las excusas generadas se guardan de forma diferida.
+     *
+     * @return true con app.excuses.write-behind-enabled
+     */
+    public boolean isEnabled() {
+        return excuseProperties.isWriteBehindEnabled();
+    }
+
+    /**
+     * Reserva el ID de una excusa nueva y la encola para guardarla.
+     * Si el hilo de escritura no está corriendo (por ejemplo, durante el cierre), la guarda en el momento.
+     *
+     * @param excuse excusa sin ID, con createdAt
+     * @return la misma excusa, con ID asignado
+     * @throws ServiceBusyException si la cola sigue llena después de app.excuses.write-behind-offer-timeout
+     */
+    public Excuse submit(Excuse excuse) {
+        excuse.setId(excuseRepository.nextId());
+        if (!running) {
+            excuseRepository.insertAssigned(List.of(excuse));
+            return excuse;
+        }
+        pending.put(excuse.getId(), excuse);
+        boolean queued;
+        try {
+            queued = queue.offer(excuse, excuseProperties.getWriteBehindOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            pending.remove(excuse.getId());
+            rejected.increment();
+            throw new ServiceBusyException("Cola de escritura de excusas llena, reintentar en un momento");
+        }
+        return excuse;
+    }
+
+    /**
+     * Excusa encolada que todavía no se guardó.
+     *
+     * @param id ID reservado
+     * @return la excusa si sigue en la cola o en un batch que todavía se está guardando o reintentando
+     */
+    public Optional<Excuse> pending(long id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    /**
+     * Cantidad de excusas esperando el próximo batch.
+     *
+     * @return profundidad de la cola
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drain, "excuse-write-behind");
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        writer = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            if (!thread.join(excuseProperties.getWriteBehindShutdownTimeout())) {
+                log.warn("La escritura diferida no terminó en {}", excuseProperties.getWriteBehindShutdownTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!pending.isEmpty()) {
+            log.warn("Quedaron {} excusas sin guardar en la escritura diferida", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("excuses.writebehind.depth", this, ExcuseWriteBehind::depth)
+                .description("Excusas en la cola de escritura diferida")
+                .register(registry);
+        FunctionCounter.builder("excuses.writebehind.written", written, LongAdder::sum)
+                .description("Excusas guardadas por la escritura diferida")
+                .register(registry);
+        FunctionCounter.builder("excuses.writebehind.failed", failed, LongAdder::sum)
+                .description("Excusas que la base rechazó incluso insertadas de a una")
+                .register(registry);
+        FunctionCounter.builder("excuses.writebehind.rejected", rejected, LongAdder::sum)
+                .description("Requests que recibieron 503 con la cola llena")
+                .register(registry);
+        flushTimer = Timer.builder("excuses.writebehind.flush")
+                .description("Latencia de cada batch de INSERT de la escritura diferida")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Bucle del hilo de escritura: sigue hasta que se detiene y la cola queda vacía.
+     */
+    private void drain() {
+        int batchSize = excuseProperties.getWriteBehindBatchSize();
+        long intervalNanos = excuseProperties.getWriteBehindFlushInterval().toNanos();
+        List<Excuse> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Excuse first = queue.poll(TICK_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, batchSize, System.nanoTime() + intervalNanos);
+            } catch (InterruptedException e) {
+                // Solo se interrumpe desde afuera: se sigue hasta vaciar la cola
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Completa el batch con lo que haya en la cola, esperando nuevas excusas hasta el deadline.
+     */
+    private void fill(List<Excuse> batch, int batchSize, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || wait <= 0 || !running) {
+                return;
+            }
+            Excuse next = queue.poll(Math.min(wait, TICK_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    /**
+     * Guarda un batch. Ante errores transitorios lo reintenta con espera exponencial; si sigue fallando
+     * (o el error no es transitorio, por ejemplo una FK inválida) inserta las filas de a una, para que
+     * solo se pierdan las que la base rechaza. Cada excusa sigue en pending() hasta guardarse o rechazarse.
+     */
+    private void flush(List<Excuse> batch) {
+        long start = System.nanoTime();
+        try {
+            if (insertWithRetry(batch)) {
+                return;
+            }
+            log.warn("Falló el batch de {} excusas (IDs {} a {}), se guardan de a una", batch.size(),
+                    batch.get(0).getId(), batch.get(batch.size() - 1).getId());
+            for (Excuse excuse : batch) {
+                try {
+                    insert(List.of(excuse));
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    pending.remove(excuse.getId());
+                    log.error("No se pudo guardar la excusa {}: {}", excuse.getId(), e.getMessage());
+                }
+            }
+        } finally {
+            if (flushTimer != null) {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Intenta el batch hasta app.excuses.write-behind-max-attempts veces.
+     *
+     * @return true si se guardó; false si se agotaron los intentos o el error no es transitorio
+     */
+    private boolean insertWithRetry(List<Excuse> batch) {
+        long backoff = excuseProperties.getWriteBehindRetryBackoff().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return true;
+            } catch (NonTransientDataAccessException e) {
+                return false;
+            } catch (RuntimeException e) {
+                if (attempt >= excuseProperties.getWriteBehindMaxAttempts()) {
+                    return false;
+                }
+                log.warn("Falló el intento {} del batch de {} excusas, se reintenta: {}", attempt, batch.size(),
+                        e.getMessage());
+                LockSupport.parkNanos(this, backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private void insert(List<Excuse> excuses) {
+        excuseRepository.insertAssigned(excuses);
+        written.add(excuses.size());
+        excuses.forEach(excuse -> pending.remove(excuse.getId()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.ejerciciocopilot.service;
+
+/**
+ * Permutación pseudoaleatoria con clave del rango [0, size), sin tablas: cada posición se
+ * cifra con una red de Feistel balanceada sobre el menor dominio 2^(2h) que contiene al rango,
+ * y los resultados fuera del rango se vuelven a cifrar (cycle walking) hasta caer dentro.
+ * Como el dominio es menor que 4 * size, se esperan menos de 4 cifrados por posición.
+ */
+final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long key;
+
+    /**
+     * @param size tamaño del rango (1 a 2^62)
+     * @param key  clave de la permutación (distinta clave, distinto orden)
+     */
+    FeistelPermutation(long size, long key) {
+        if (size < 1 || size > 1L << 62) {
+            throw new IllegalArgumentException("Tamaño de permutación inválido: " + size);
+        }
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        this.size = size;
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.key = key;
+    }
+
+    /**
+     * Posición permutada.
+     *
+     * @param index posición en el rango [0, size)
+     * @return imagen de la posición, también en [0, size)
+     */
+    long apply(long index) {
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right + key + round * GOLDEN_GAMMA) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * Función de mezcla de SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,400 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Catálogo en memoria de fragmentos agrupados por tipo y por rol.
+ * Mantiene un snapshot inmutable (copy-on-write) que los lectores consultan sin ir a la base de datos.
+ * Cada tipo se carga de forma perezosa la primera vez que se pide; las escrituras publican
+ * un snapshot nuevo de forma atómica, por lo que nunca bloquean a los lectores.
+ * Las selecciones respetan el peso de cada fragmento con una tabla de alias por bucket (O(1) por selección).
+ */
+@Component
+public class FragmentCatalog implements MeterBinder {
+
+    private final FragmentRepository fragmentRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param fragmentRepository repositorio usado para cargar cada tipo la primera vez
+     */
+    public FragmentCatalog(FragmentRepository fragmentRepository) {
+        this.fragmentRepository = fragmentRepository;
+    }
+
+    /**
+     * Selecciona un fragmento aleatorio del tipo indicado.
+     *
+     * @param type   tipo de fragmento
+     * @param random generador a utilizar (permite selecciones reproducibles con seed)
+     * @return fragmento seleccionado (copia desacoplada del contexto de persistencia)
+     * @throws IllegalStateException si no hay fragmentos de ese tipo con peso positivo
+     */
+    public Fragment pick(FragmentType type, RandomGenerator random) {
+        return pick(type, null, random);
+    }
+
+    /**
+     * Selecciona un fragmento aleatorio del tipo indicado para un rol, con probabilidad proporcional a su peso.
+     * Si el rol no tiene fragmentos propios de ese tipo con peso positivo, se usa cualquier fragmento del tipo.
+     *
+     * @param type   tipo de fragmento
+     * @param role   rol del desarrollador (null para no filtrar por rol)
+     * @param random generador a utilizar
+     * @return fragmento seleccionado (copia desacoplada del contexto de persistencia)
+     * @throws IllegalStateException si no hay fragmentos de ese tipo con peso positivo
+     */
+    public Fragment pick(FragmentType type, Role role, RandomGenerator random) {
+        Bucket bucket = index(type).bucket(role);
+        if (bucket.isEmpty()) {
+            throw new IllegalStateException(
+                    "No hay fragmentos de tipo " + type + " disponibles en la base de datos");
+        }
+        return bucket.sample(random);
+    }
+
+    /**
+     * Cantidad de fragmentos de un tipo en el snapshot actual.
+     *
+     * @param type tipo de fragmento
+     * @return cantidad de fragmentos
+     */
+    public int size(FragmentType type) {
+        return index(type).bucket(null).size();
+    }
+
+    /**
+     * Cantidad de fragmentos entre los que elige pick(type, role, ...):
+     * los del rol o, si el rol no tiene propios con peso positivo, todos los del tipo.
+     *
+     * @param type tipo de fragmento
+     * @param role rol del desarrollador (null para no filtrar por rol)
+     * @return cantidad de fragmentos
+     */
+    public int size(FragmentType type, Role role) {
+        return index(type).bucket(role).size();
+    }
+
+    /**
+     * Fragmento en una posición del bucket (tipo, rol), con los fragmentos ordenados por ID.
+     * Permite recorrer las combinaciones de forma determinista, sin pesos.
+     *
+     * @param type     tipo de fragmento
+     * @param role     rol del desarrollador (null para no filtrar por rol)
+     * @param position posición entre 0 y size(type, role) - 1
+     * @return fragmento en esa posición
+     */
+    public Fragment get(FragmentType type, Role role, int position) {
+        return index(type).bucket(role).get(position);
+    }
+
+    /**
+     * Posición de un fragmento entre todos los de su tipo, ordenados por ID.
+     *
+     * @param type tipo de fragmento
+     * @param id   identificador del fragmento
+     * @return posición, o -1 si el fragmento no está en el catálogo con ese tipo
+     */
+    public int positionOf(FragmentType type, Long id) {
+        return id != null ? index(type).bucket(null).positionOf(id) : -1;
+    }
+
+    /**
+     * Checksum de los IDs del bucket (tipo, rol), en orden: cambia si se agrega, quita o mueve de tipo
+     * un fragmento del bucket, y es el mismo en todas las instancias con el mismo contenido.
+     *
+     * @param type tipo de fragmento
+     * @param role rol del desarrollador (null para no filtrar por rol)
+     * @return checksum de las posiciones del bucket
+     */
+    public int checksum(FragmentType type, Role role) {
+        return index(type).bucket(role).checksum;
+    }
+
+    /**
+     * Versión del snapshot publicado. Se incrementa con cada carga o escritura.
+     *
+     * @return versión actual
+     */
+    public long version() {
+        return snapshot.get().version();
+    }
+
+    /**
+     * Publica un fragmento creado o modificado.
+     * Si hay una transacción activa, la publicación se difiere hasta el commit.
+     *
+     * @param fragment fragmento persistido (con ID asignado)
+     */
+    public void onSaved(Fragment fragment) {
+        Fragment copy = copyOf(fragment);
+        AfterCommit.run(() -> publish(current -> current.withUpsert(copy)));
+    }
+
+    /**
+     * Quita un fragmento eliminado del catálogo.
+     * Si hay una transacción activa, la publicación se difiere hasta el commit.
+     *
+     * @param id identificador del fragmento eliminado
+     */
+    public void onDeleted(Long id) {
+        AfterCommit.run(() -> publish(current -> current.withRemoved(id)));
+    }
+
+    /**
+     * Descarta todos los tipos cargados; la próxima lectura de cada tipo vuelve a la base de datos.
+     * Útil cuando los fragmentos se modifican por fuera de FragmentService (cargas masivas, tests).
+     */
+    public void reload() {
+        publish(Snapshot::cleared);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("excuses.catalog.hits", hits, LongAdder::sum)
+                .description("Selecciones de fragmentos servidas desde el snapshot en memoria")
+                .register(registry);
+        FunctionCounter.builder("excuses.catalog.misses", misses, LongAdder::sum)
+                .description("Cargas de un tipo de fragmento desde la base de datos")
+                .register(registry);
+        Gauge.builder("excuses.catalog.version", this, FragmentCatalog::version)
+                .description("Versión del snapshot publicado del catálogo de fragmentos")
+                .register(registry);
+    }
+
+    /**
+     * Obtiene el índice de un tipo, cargándolo desde la base de datos si aún no está en el snapshot.
+     * Una sola consulta por tipo alimenta el bucket general y los buckets de todos los roles.
+     */
+    private TypeIndex index(FragmentType type) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            TypeIndex index = current.index(type);
+            if (index != null) {
+                hits.increment();
+                return index;
+            }
+            TypeIndex loaded = TypeIndex.of(fragmentRepository.findByType(type));
+            if (snapshot.compareAndSet(current, current.with(type, loaded))) {
+                misses.increment();
+                return loaded;
+            }
+        }
+    }
+
+    private void publish(UnaryOperator<Snapshot> change) {
+        snapshot.updateAndGet(change);
+    }
+
+    /**
+     * Copia desacoplada del contexto de persistencia, para que el snapshot
+     * no cambie si la entidad gestionada se modifica más tarde.
+     */
+    private static Fragment copyOf(Fragment fragment) {
+        return Fragment.builder()
+                .id(fragment.getId())
+                .type(fragment.getType())
+                .text(fragment.getText())
+                .role(fragment.getRole())
+                .weight(fragment.getWeight())
+                .createdAt(fragment.getCreatedAt())
+                .updatedAt(fragment.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Snapshot inmutable: un índice por tipo (null si el tipo todavía no se cargó).
+     */
+    private record Snapshot(long version, TypeIndex[] types) {
+
+        static final Snapshot EMPTY = new Snapshot(0, new TypeIndex[FragmentType.values().length]);
+
+        TypeIndex index(FragmentType type) {
+            return types[type.ordinal()];
+        }
+
+        Snapshot cleared() {
+            return new Snapshot(version + 1, new TypeIndex[types.length]);
+        }
+
+        Snapshot with(FragmentType type, TypeIndex index) {
+            TypeIndex[] copy = types.clone();
+            copy[type.ordinal()] = index;
+            return new Snapshot(version + 1, copy);
+        }
+
+        Snapshot withRemoved(Long id) {
+            TypeIndex[] copy = types.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] != null) {
+                    copy[i] = copy[i].without(id);
+                }
+            }
+            return new Snapshot(version + 1, copy);
+        }
+
+        Snapshot withUpsert(Fragment fragment) {
+            TypeIndex[] copy = withRemoved(fragment.getId()).types;
+            int target = fragment.getType().ordinal();
+            if (copy[target] != null) {
+                copy[target] = copy[target].with(fragment);
+            }
+            return new Snapshot(version + 1, copy);
+        }
+    }
+
+    /**
+     * Índice de un tipo: todos sus fragmentos más un bucket por rol.
+     * {@code resolved} guarda la cadena de fallback ya resuelta (fragmentos del rol
+     * o, si no hay con peso positivo, todos los del tipo), así cada selección por rol es un acceso a array.
+     * Un cambio no es incremental: copia entero el bucket del tipo y el del rol afectado y rearma sus
+     * tablas de alias (O(n) por escritura); los buckets de los demás roles se comparten sin copiar.
+     */
+    private static final class TypeIndex {
+
+        private final Bucket all;
+        private final Bucket[] own;
+        private final Bucket[] resolved;
+
+        private TypeIndex(Bucket all, Bucket[] own) {
+            this.all = all;
+            this.own = own;
+            this.resolved = new Bucket[own.length];
+            for (int i = 0; i < own.length; i++) {
+                resolved[i] = !own[i].isEmpty() ? own[i] : all;
+            }
+        }
+
+        static TypeIndex of(List<Fragment> source) {
+            Bucket all = Bucket.of(source);
+            Bucket[] own = new Bucket[Role.values().length];
+            for (Role role : Role.values()) {
+                own[role.ordinal()] = all.filter(role);
+            }
+            return new TypeIndex(all, own);
+        }
+
+        Bucket bucket(Role role) {
+            return role != null ? resolved[role.ordinal()] : all;
+        }
+
+        TypeIndex without(Long id) {
+            Fragment removed = all.find(id);
+            if (removed == null) {
+                return this;
+            }
+            Bucket[] copy = own;
+            if (removed.getRole() != null) {
+                copy = own.clone();
+                copy[removed.getRole().ordinal()] = own[removed.getRole().ordinal()].without(id);
+            }
+            return new TypeIndex(all.without(id), copy);
+        }
+
+        TypeIndex with(Fragment fragment) {
+            Bucket[] copy = own;
+            if (fragment.getRole() != null) {
+                copy = own.clone();
+                copy[fragment.getRole().ordinal()] = own[fragment.getRole().ordinal()].with(fragment);
+            }
+            return new TypeIndex(all.with(fragment), copy);
+        }
+    }
+
+    /**
+     * Arrays paralelos de IDs y fragmentos, ordenados por ID
+     * para que las selecciones con seed sean reproducibles, más la tabla de alias de sus pesos.
+     */
+    private static final class Bucket {
+
+        private final long[] ids;
+        private final Fragment[] fragments;
+        private final AliasTable sampler;
+        private final int checksum;
+
+        private Bucket(Fragment[] fragments) {
+            this.fragments = fragments;
+            this.ids = Arrays.stream(fragments).mapToLong(Fragment::getId).toArray();
+            this.checksum = Arrays.hashCode(ids);
+            this.sampler = AliasTable.of(Arrays.stream(fragments).mapToDouble(Fragment::getWeight).toArray());
+        }
+
+        static Bucket of(List<Fragment> source) {
+            return new Bucket(source.stream()
+                    .map(FragmentCatalog::copyOf)
+                    .sorted(Comparator.comparing(Fragment::getId))
+                    .toArray(Fragment[]::new));
+        }
+
+        int size() {
+            return fragments.length;
+        }
+
+        boolean isEmpty() {
+            return sampler.isEmpty();
+        }
+
+        Fragment get(int index) {
+            return fragments[index];
+        }
+
+        Fragment sample(RandomGenerator random) {
+            return fragments[sampler.sample(random)];
+        }
+
+        Fragment find(Long id) {
+            int index = positionOf(id);
+            return index >= 0 ? fragments[index] : null;
+        }
+
+        int positionOf(long id) {
+            return Math.max(-1, Arrays.binarySearch(ids, id));
+        }
+
+        Bucket filter(Role role) {
+            return new Bucket(Arrays.stream(fragments)
+                    .filter(fragment -> fragment.getRole() == role)
+                    .toArray(Fragment[]::new));
+        }
+
+        Bucket without(Long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            Fragment[] copy = new Fragment[fragments.length - 1];
+            System.arraycopy(fragments, 0, copy, 0, index);
+            System.arraycopy(fragments, index + 1, copy, index, copy.length - index);
+            return new Bucket(copy);
+        }
+
+        Bucket with(Fragment fragment) {
+            int insertion = -Arrays.binarySearch(ids, fragment.getId()) - 1;
+            Fragment[] copy = new Fragment[fragments.length + 1];
+            System.arraycopy(fragments, 0, copy, 0, insertion);
+            copy[insertion] = fragment;
+            System.arraycopy(fragments, insertion, copy, insertion + 1, fragments.length - insertion);
+            return new Bucket(copy);
+        }
+    }
+}
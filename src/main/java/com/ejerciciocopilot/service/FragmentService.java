@@ -1,10 +1,12 @@
 package com.ejerciciocopilot.service;
 
 import com.ejerciciocopilot.dto.FragmentRequestDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.exception.EntityNotFoundException;
 import com.ejerciciocopilot.mapper.FragmentMapper;
 import com.ejerciciocopilot.model.Fragment;
 import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +23,21 @@ import java.util.Optional;
 public class FragmentService {
 
     private final FragmentRepository fragmentRepository;
+    private final FragmentCatalog fragmentCatalog;
+    private final RowCountEstimator rowCountEstimator;
 
     /**
      * Constructor con inyección de dependencias.
      *
      * @param fragmentRepository repositorio de fragmentos
+     * @param fragmentCatalog    catálogo en memoria que se actualiza tras cada escritura
+     * @param rowCountEstimator  estimación del total para los listados paginados
      */
-    public FragmentService(FragmentRepository fragmentRepository) {
+    public FragmentService(FragmentRepository fragmentRepository, FragmentCatalog fragmentCatalog,
+                           RowCountEstimator rowCountEstimator) {
         this.fragmentRepository = fragmentRepository;
+        this.fragmentCatalog = fragmentCatalog;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     /**
@@ -37,6 +46,7 @@ public class FragmentService {
      * @param id identificador del fragmento
      * @return Optional con el fragmento si existe
      */
+    @Transactional(readOnly = true)
     public Optional<Fragment> findById(Long id) {
         return fragmentRepository.findById(id);
     }
@@ -46,13 +56,33 @@ public class FragmentService {
      *
      * @return lista de todos los fragmentos
      */
+    @Transactional(readOnly = true)
     public List<Fragment> findAll() {
         return fragmentRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de fragmentos ordenados por ID, por keyset ({@code after}) o por número de página.
+     *
+     * @param after último ID de la página anterior (null para empezar)
+     * @param page  número de página por OFFSET (null para keyset)
+     * @param size  tamaño de página (1 a 100)
+     * @return página con total estimado y el ID para pedir la siguiente
+     * @throws IllegalArgumentException si los parámetros de paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Fragment> findPage(Long after, Integer page, int size) {
+        return Paging.fetch(after, page, size,
+                fragmentRepository::findByIdGreaterThanOrderByIdAsc,
+                fragmentRepository::findAllByOrderByIdAsc,
+                Fragment::getId,
+                () -> rowCountEstimator.estimate(Fragment.class));
+    }
+
     /**
      * Crea un nuevo fragmento y lo persiste en base de datos.
      * Asigna automáticamente el timestamp de creación si no viene seteado.
+     * El catálogo en memoria recibe el fragmento al confirmarse la transacción.
      *
      * @param fragment entidad fragmento a crear (no nulo)
      * @return fragmento creado con ID asignado
@@ -61,7 +91,9 @@ public class FragmentService {
         if (fragment.getCreatedAt() == null) {
             fragment.setCreatedAt(LocalDateTime.now());
         }
-        return fragmentRepository.save(fragment);
+        Fragment saved = fragmentRepository.save(fragment);
+        fragmentCatalog.onSaved(saved);
+        return saved;
     }
 
     /**
@@ -101,8 +133,13 @@ public class FragmentService {
                             throw new IllegalArgumentException("Rol inválido: " + dto.getRole());
                         }
                     }
+                    if (dto.getWeight() != null) {
+                        existing.setWeight(dto.getWeight());
+                    }
                     existing.setUpdatedAt(LocalDateTime.now());
-                    return fragmentRepository.save(existing);
+                    Fragment saved = fragmentRepository.save(existing);
+                    fragmentCatalog.onSaved(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Fragment con ID " + id + " no encontrado"));
@@ -119,5 +156,6 @@ public class FragmentService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Fragment con ID " + id + " no encontrado"));
         fragmentRepository.delete(fragment);
+        fragmentCatalog.onDeleted(id);
     }
 }
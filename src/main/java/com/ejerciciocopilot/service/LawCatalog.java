@@ -0,0 +1,78 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.Law;
+import com.ejerciciocopilot.repository.LawRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Catálogo en memoria de leyes, usado para elegir leyes sin consultar la base de datos
+ * (o consultándola fila por fila si la tabla es demasiado grande, ver EntityCatalog).
+ */
+@Component
+public class LawCatalog extends EntityCatalog<Law> {
+
+    private final LawRepository lawRepository;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param lawRepository    repositorio usado para la carga inicial y para el modo remoto
+     * @param excuseProperties configuración (app.excuses.catalog-max-entries)
+     */
+    public LawCatalog(LawRepository lawRepository, ExcuseProperties excuseProperties) {
+        super(excuseProperties.getCatalogMaxEntries());
+        this.lawRepository = lawRepository;
+    }
+
+    @Override
+    protected List<Law> load() {
+        return lawRepository.findAll();
+    }
+
+    @Override
+    protected Long idOf(Law law) {
+        return law.getId();
+    }
+
+    @Override
+    protected Law copyOf(Law law) {
+        return Law.builder()
+                .id(law.getId())
+                .name(law.getName())
+                .description(law.getDescription())
+                .category(law.getCategory())
+                .weight(law.getWeight())
+                .createdAt(law.getCreatedAt())
+                .updatedAt(law.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    protected double weightOf(Law law) {
+        return law.getWeight();
+    }
+
+    @Override
+    protected long count() {
+        return lawRepository.countCached();
+    }
+
+    @Override
+    protected Law sample(RandomGenerator random) {
+        return lawRepository.findRandom(random).orElse(null);
+    }
+
+    @Override
+    protected Law fetch(long position) {
+        return lawRepository.findByPosition(position).orElse(null);
+    }
+
+    @Override
+    protected int locate(Long id) {
+        return lawRepository.existsById(id) ? Math.toIntExact(lawRepository.countByIdLessThan(id)) : -1;
+    }
+}
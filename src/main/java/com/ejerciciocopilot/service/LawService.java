@@ -1,10 +1,12 @@
 package com.ejerciciocopilot.service;
 
 import com.ejerciciocopilot.dto.LawRequestDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.exception.EntityNotFoundException;
 import com.ejerciciocopilot.mapper.LawMapper;
 import com.ejerciciocopilot.model.Law;
 import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +23,21 @@ import java.util.Optional;
 public class LawService {
 
     private final LawRepository lawRepository;
+    private final LawCatalog lawCatalog;
+    private final RowCountEstimator rowCountEstimator;
 
     /**
      * Constructor con inyección de dependencias.
      *
-     * @param lawRepository repositorio de leyes
+     * @param lawRepository     repositorio de leyes
+     * @param lawCatalog        catálogo en memoria que se actualiza tras cada escritura
+     * @param rowCountEstimator estimación del total para los listados paginados
      */
-    public LawService(LawRepository lawRepository) {
+    public LawService(LawRepository lawRepository, LawCatalog lawCatalog,
+                      RowCountEstimator rowCountEstimator) {
         this.lawRepository = lawRepository;
+        this.lawCatalog = lawCatalog;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     /**
@@ -37,6 +46,7 @@ public class LawService {
      * @param id identificador de la ley
      * @return Optional con la ley si existe
      */
+    @Transactional(readOnly = true)
     public Optional<Law> findById(Long id) {
         return lawRepository.findById(id);
     }
@@ -46,16 +56,36 @@ public class LawService {
      *
      * @return lista de todas las leyes
      */
+    @Transactional(readOnly = true)
     public List<Law> findAll() {
         return lawRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de leyes ordenadas por ID, por keyset ({@code after}) o por número de página.
+     *
+     * @param after último ID de la página anterior (null para empezar)
+     * @param page  número de página por OFFSET (null para keyset)
+     * @param size  tamaño de página (1 a 100)
+     * @return página con total estimado y el ID para pedir la siguiente
+     * @throws IllegalArgumentException si los parámetros de paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Law> findPage(Long after, Integer page, int size) {
+        return Paging.fetch(after, page, size,
+                lawRepository::findByIdGreaterThanOrderByIdAsc,
+                lawRepository::findAllByOrderByIdAsc,
+                Law::getId,
+                () -> rowCountEstimator.estimate(Law.class));
+    }
+
     /**
      * Obtiene todas las leyes de una categoría específica.
      *
      * @param category categoría de la ley (Murphy, Hofstadter, Dilbert, DevOps, etc.)
      * @return lista de leyes de esa categoría
      */
+    @Transactional(readOnly = true)
     public List<Law> findByCategory(String category) {
         return lawRepository.findByCategory(category);
     }
@@ -72,7 +102,9 @@ public class LawService {
             law.setCreatedAt(LocalDateTime.now());
         }
         law.setUpdatedAt(null);
-        return lawRepository.save(law);
+        Law saved = lawRepository.save(law);
+        lawCatalog.onSaved(saved);
+        return saved;
     }
 
     /**
@@ -108,8 +140,13 @@ public class LawService {
                     if (dto.getCategory() != null) {
                         existing.setCategory(dto.getCategory());
                     }
+                    if (dto.getWeight() != null) {
+                        existing.setWeight(dto.getWeight());
+                    }
                     existing.setUpdatedAt(LocalDateTime.now());
-                    return lawRepository.save(existing);
+                    Law saved = lawRepository.save(existing);
+                    lawCatalog.onSaved(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Law con ID " + id + " no encontrado"));
@@ -126,5 +163,6 @@ public class LawService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Law con ID " + id + " no encontrado"));
         lawRepository.delete(law);
+        lawCatalog.onDeleted(id);
     }
 }
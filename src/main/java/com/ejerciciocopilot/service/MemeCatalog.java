@@ -0,0 +1,77 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.Meme;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Catálogo en memoria de memes, usado para elegir memes sin consultar la base de datos
+ * (o consultándola fila por fila si la tabla es demasiado grande, ver EntityCatalog).
+ */
+@Component
+public class MemeCatalog extends EntityCatalog<Meme> {
+
+    private final MemeRepository memeRepository;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param memeRepository    repositorio usado para la carga inicial y para el modo remoto
+     * @param excuseProperties configuración (app.excuses.catalog-max-entries)
+     */
+    public MemeCatalog(MemeRepository memeRepository, ExcuseProperties excuseProperties) {
+        super(excuseProperties.getCatalogMaxEntries());
+        this.memeRepository = memeRepository;
+    }
+
+    @Override
+    protected List<Meme> load() {
+        return memeRepository.findAll();
+    }
+
+    @Override
+    protected Long idOf(Meme meme) {
+        return meme.getId();
+    }
+
+    @Override
+    protected Meme copyOf(Meme meme) {
+        return Meme.builder()
+                .id(meme.getId())
+                .author(meme.getAuthor())
+                .quote(meme.getQuote())
+                .weight(meme.getWeight())
+                .createdAt(meme.getCreatedAt())
+                .updatedAt(meme.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    protected double weightOf(Meme meme) {
+        return meme.getWeight();
+    }
+
+    @Override
+    protected long count() {
+        return memeRepository.countCached();
+    }
+
+    @Override
+    protected Meme sample(RandomGenerator random) {
+        return memeRepository.findRandom(random).orElse(null);
+    }
+
+    @Override
+    protected Meme fetch(long position) {
+        return memeRepository.findByPosition(position).orElse(null);
+    }
+
+    @Override
+    protected int locate(Long id) {
+        return memeRepository.existsById(id) ? Math.toIntExact(memeRepository.countByIdLessThan(id)) : -1;
+    }
+}
@@ -1,10 +1,12 @@
 package com.ejerciciocopilot.service;
 
 import com.ejerciciocopilot.dto.MemeRequestDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
 import com.ejerciciocopilot.exception.EntityNotFoundException;
 import com.ejerciciocopilot.mapper.MemeMapper;
 import com.ejerciciocopilot.model.Meme;
 import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +23,21 @@ import java.util.Optional;
 public class MemeService {
 
     private final MemeRepository memeRepository;
+    private final MemeCatalog memeCatalog;
+    private final RowCountEstimator rowCountEstimator;
 
     /**
      * Constructor con inyección de dependencias.
      *
-     * @param memeRepository repositorio de memes
+     * @param memeRepository    repositorio de memes
+     * @param memeCatalog       catálogo en memoria que se actualiza tras cada escritura
+     * @param rowCountEstimator estimación del total para los listados paginados
      */
-    public MemeService(MemeRepository memeRepository) {
+    public MemeService(MemeRepository memeRepository, MemeCatalog memeCatalog,
+                       RowCountEstimator rowCountEstimator) {
         this.memeRepository = memeRepository;
+        this.memeCatalog = memeCatalog;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     /**
@@ -37,6 +46,7 @@ public class MemeService {
      * @param id identificador del meme
      * @return Optional con el meme si existe
      */
+    @Transactional(readOnly = true)
     public Optional<Meme> findById(Long id) {
         return memeRepository.findById(id);
     }
@@ -46,10 +56,29 @@ public class MemeService {
      *
      * @return lista de todos los memes
      */
+    @Transactional(readOnly = true)
     public List<Meme> findAll() {
         return memeRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de memes ordenados por ID, por keyset ({@code after}) o por número de página.
+     *
+     * @param after último ID de la página anterior (null para empezar)
+     * @param page  número de página por OFFSET (null para keyset)
+     * @param size  tamaño de página (1 a 100)
+     * @return página con total estimado y el ID para pedir la siguiente
+     * @throws IllegalArgumentException si los parámetros de paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDTO<Meme> findPage(Long after, Integer page, int size) {
+        return Paging.fetch(after, page, size,
+                memeRepository::findByIdGreaterThanOrderByIdAsc,
+                memeRepository::findAllByOrderByIdAsc,
+                Meme::getId,
+                () -> rowCountEstimator.estimate(Meme.class));
+    }
+
     /**
      * Crea un nuevo meme y lo persiste en base de datos.
      * Asigna automáticamente el timestamp de creación si no viene seteado.
@@ -62,7 +91,9 @@ public class MemeService {
             meme.setCreatedAt(LocalDateTime.now());
         }
         meme.setUpdatedAt(null); // aseguramos coherencia inicial
-        return memeRepository.save(meme);
+        Meme saved = memeRepository.save(meme);
+        memeCatalog.onSaved(saved);
+        return saved;
     }
 
     /**
@@ -95,8 +126,13 @@ public class MemeService {
                     if (dto.getQuote() != null) {
                         existing.setQuote(dto.getQuote());
                     }
+                    if (dto.getWeight() != null) {
+                        existing.setWeight(dto.getWeight());
+                    }
                     existing.setUpdatedAt(LocalDateTime.now());
-                    return memeRepository.save(existing);
+                    Meme saved = memeRepository.save(existing);
+                    memeCatalog.onSaved(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Meme con ID " + id + " no encontrado"));
@@ -113,5 +149,6 @@ public class MemeService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Meme con ID " + id + " no encontrado"));
         memeRepository.delete(meme);
+        memeCatalog.onDeleted(id);
     }
 }
@@ -0,0 +1,65 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Armado de los listados paginados de excusas, fragmentos, memes y leyes.
+ * Por defecto pagina por keyset ({@code ?after=id}): cada página es un rango del índice de la clave primaria,
+ * con costo constante sin importar qué tan adentro de la tabla esté. Con {@code ?page=} usa OFFSET,
+ * que se vuelve más lento cuanto más lejos está la página. El total es una estimación (RowCountEstimator).
+ */
+final class Paging {
+
+    static final int MAX_SIZE = 100;
+
+    private Paging() {
+    }
+
+    /**
+     * Arma una página.
+     *
+     * @param after  último ID de la página anterior (keyset); null para empezar desde el principio
+     * @param page   número de página para paginar por OFFSET (null para keyset)
+     * @param size   tamaño de página (1 a {@value #MAX_SIZE})
+     * @param keyset consulta de las filas con ID mayor a un valor, ordenadas por ID
+     * @param offset consulta de una página por OFFSET, ordenada por ID
+     * @param idOf   ID de cada fila
+     * @param total  estimación de la cantidad total de filas
+     * @return página con el ID para pedir la siguiente (null si no hay más)
+     * @throws IllegalArgumentException si el tamaño o la página son inválidos, o si se combinan after y page
+     */
+    static <T> PageResponseDTO<T> fetch(Long after, Integer page, int size,
+                                        BiFunction<Long, Limit, List<T>> keyset,
+                                        Function<Pageable, List<T>> offset,
+                                        ToLongFunction<T> idOf,
+                                        LongSupplier total) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_SIZE);
+        }
+        if (page != null && (page < 0 || after != null)) {
+            throw new IllegalArgumentException("La página debe ser >= 0 y no se puede combinar con after");
+        }
+        List<T> content = page != null
+                ? offset.apply(PageRequest.of(page, size))
+                : keyset.apply(after != null ? after : Long.MIN_VALUE, Limit.of(size));
+        long totalElements = total.getAsLong();
+        Long nextAfter = content.size() == size ? idOf.applyAsLong(content.get(content.size() - 1)) : null;
+        return PageResponseDTO.<T>builder()
+                .content(content)
+                .totalElements(totalElements)
+                .totalPages((int) Math.min(Integer.MAX_VALUE, (totalElements + size - 1) / size))
+                .page(page)
+                .size(size)
+                .nextAfter(nextAfter)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.RandomProperties;
+import com.ejerciciocopilot.model.ExcuseType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Fuente de números aleatorios para la generación de excusas.
+ * Cada hilo obtiene su propio generador por modo (ExcuseType), de modo que los hilos de request
+ * no compiten por una semilla compartida como ocurre con un único java.util.Random.
+ * Las semillas de cada hilo salen de un SplittableRandom raíz, consultado solo al crear el generador.
+ */
+@Component
+public class RandomSource {
+
+    private final Map<ExcuseType, RandomGeneratorFactory<RandomGenerator>> factories =
+            new EnumMap<>(ExcuseType.class);
+    private final Map<ExcuseType, ThreadLocal<RandomGenerator>> streams = new EnumMap<>(ExcuseType.class);
+    private final SplittableRandom root = new SplittableRandom();
+
+    /**
+     * Constructor con inyección de la configuración.
+     *
+     * @param properties algoritmos por defecto y por modo
+     * @throws IllegalArgumentException si algún algoritmo configurado no existe
+     */
+    public RandomSource(RandomProperties properties) {
+        for (ExcuseType mode : ExcuseType.values()) {
+            String algorithm = properties.getModes().getOrDefault(mode, properties.getAlgorithm());
+            RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+            factories.put(mode, factory);
+            streams.put(mode, ThreadLocal.withInitial(() -> factory.create(nextThreadSeed())));
+        }
+    }
+
+    /**
+     * Generador del hilo actual para un modo de generación.
+     * No debe compartirse con otros hilos.
+     *
+     * @param mode modo de generación
+     * @return generador propio del hilo
+     */
+    public RandomGenerator forMode(ExcuseType mode) {
+        return streams.get(mode).get();
+    }
+
+    /**
+     * Seed nuevo para una generación del modo indicado, tomado del generador del hilo.
+     *
+     * @param mode modo de generación
+     * @return seed a guardar junto con la excusa
+     */
+    public long nextSeed(ExcuseType mode) {
+        return forMode(mode).nextLong();
+    }
+
+    /**
+     * Generador determinista para un seed: mismo modo y seed producen siempre la misma secuencia
+     * (mientras no cambie el algoritmo configurado para el modo). Es la base de la reproducción de excusas.
+     *
+     * @param mode modo de generación
+     * @param seed seed de la excusa
+     * @return generador nuevo, propio del llamador
+     */
+    public RandomGenerator seeded(ExcuseType mode, long seed) {
+        return factories.get(mode).create(seed);
+    }
+
+    /**
+     * Nombre del algoritmo configurado para un modo.
+     *
+     * @param mode modo de generación
+     * @return nombre del algoritmo (ej: L64X128MixRandom)
+     */
+    public String algorithm(ExcuseType mode) {
+        return factories.get(mode).name();
+    }
+
+    private synchronized long nextThreadSeed() {
+        return root.nextLong();
+    }
+}
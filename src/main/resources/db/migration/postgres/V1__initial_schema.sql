@@ -0,0 +1,63 @@
+-- ============================================================================
+-- V1: esquema inicial (perfil postgres)
+-- ============================================================================
+--
+-- Tablas de las entidades JPA (Fragment, Meme, Law, Excuse) y sus secuencias de IDs.
+-- Los INCREMENT BY coinciden con los allocationSize de @SequenceGenerator (optimizador pooled-lo).
+-- excuses está particionada por rango de created_at (una partición por mes, ver V2);
+-- la clave primaria incluye created_at porque Postgres lo exige en tablas particionadas.
+--
+
+CREATE SEQUENCE fragments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE memes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE laws_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE excuses_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE TABLE fragments (
+    id          BIGINT PRIMARY KEY,
+    type        VARCHAR(32) NOT NULL,
+    text        TEXT NOT NULL,
+    role        VARCHAR(32),
+    weight      DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE memes (
+    id          BIGINT PRIMARY KEY,
+    author      VARCHAR(255) NOT NULL,
+    quote       TEXT NOT NULL,
+    weight      DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE laws (
+    id          BIGINT PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    category    VARCHAR(255) NOT NULL,
+    weight      DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE excuses (
+    id                BIGINT NOT NULL,
+    context_id        BIGINT REFERENCES fragments (id),
+    cause_id          BIGINT REFERENCES fragments (id),
+    consequence_id    BIGINT REFERENCES fragments (id),
+    recommendation_id BIGINT REFERENCES fragments (id),
+    meme_id           BIGINT REFERENCES memes (id),
+    law_id            BIGINT REFERENCES laws (id),
+    type              VARCHAR(32) NOT NULL,
+    role              VARCHAR(32),
+    seed              BIGINT NOT NULL,
+    composition_key   BIGINT,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Filas fuera de los meses con partición propia (por ejemplo, fechas cargadas a mano)
+CREATE TABLE excuses_default PARTITION OF excuses DEFAULT;
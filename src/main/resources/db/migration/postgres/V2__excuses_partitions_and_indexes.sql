@@ -0,0 +1,51 @@
+-- ============================================================================
+-- V2: particiones mensuales de excuses e índices de los finders
+-- ============================================================================
+--
+-- ensure_excuses_partitions(n) crea las particiones del mes actual y de los n siguientes.
+-- Si la partición default ya tiene filas de ese mes, las mueve antes de adjuntar la nueva.
+-- La llaman afterMigrate.sql (en cada arranque, justo después de esta migración) y
+-- ExcusePartitionMaintainer (una vez por día).
+--
+
+CREATE OR REPLACE FUNCTION ensure_excuses_partitions(months_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    first_month DATE := date_trunc('month', localtimestamp)::DATE;
+    range_from  DATE;
+    range_to    DATE;
+    part_name   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    -- Una sola instancia a la vez crea particiones
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_excuses_partitions'));
+    FOR i IN 0..months_ahead LOOP
+        range_from := (first_month + make_interval(months => i))::DATE;
+        range_to := (range_from + INTERVAL '1 month')::DATE;
+        part_name := 'excuses_p' || to_char(range_from, 'YYYYMM');
+        IF to_regclass(part_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE excuses INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part_name);
+            EXECUTE format('WITH moved AS (DELETE FROM excuses_default WHERE created_at >= %L AND created_at < %L '
+                           'RETURNING *) INSERT INTO %I SELECT * FROM moved', range_from, range_to, part_name);
+            EXECUTE format('ALTER TABLE excuses ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           part_name, range_from, range_to);
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Excuses: se crean en la tabla particionada y se propagan a cada partición
+-- findSummaries(type, role, after) y findByType: filtro por tipo y orden por ID
+CREATE INDEX idx_excuses_type_id ON excuses (type, id);
+-- findSummaries(role, after) y findByRole
+CREATE INDEX idx_excuses_role_id ON excuses (role, id);
+-- Excusa del día: findFirstByTypeAndSeedAndRoleOrderByIdAsc
+CREATE INDEX idx_excuses_type_seed_role ON excuses (type, seed, role, id);
+
+-- Fragmentos: findByType, findByTypeAndRole y findByRole
+CREATE INDEX idx_fragments_type_role ON fragments (type, role);
+CREATE INDEX idx_fragments_role ON fragments (role);
+-- Memes y leyes: findByAuthor y findByCategory
+CREATE INDEX idx_memes_author ON memes (author);
+CREATE INDEX idx_laws_category ON laws (category);
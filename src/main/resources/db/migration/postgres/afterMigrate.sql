@@ -0,0 +1,2 @@
+-- Callback de Flyway en cada arranque: particiones de excuses del mes actual y de los siguientes
+SELECT ensure_excuses_partitions(${partitionMonthsAhead});
@@ -0,0 +1,47 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.service.FragmentService;
+import com.ejerciciocopilot.service.LawService;
+import com.ejerciciocopilot.service.MemeService;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos comunes de los benchmarks: 50 fragmentos por tipo (repartidos entre los roles),
+ * 50 memes y 50 leyes, cargados a través de los servicios del contexto.
+ */
+final class BenchmarkData {
+
+    private static final int PER_CATALOG = 50;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Carga el catálogo de prueba en la base del contexto.
+     *
+     * @param context contexto Spring del benchmark
+     */
+    static void load(ApplicationContext context) {
+        FragmentService fragments = context.getBean(FragmentService.class);
+        MemeService memes = context.getBean(MemeService.class);
+        LawService laws = context.getBean(LawService.class);
+        for (FragmentType type : FragmentType.values()) {
+            for (int i = 0; i < PER_CATALOG; i++) {
+                fragments.create(Fragment.builder()
+                        .type(type)
+                        .text(type + " #" + i)
+                        .role(Role.values()[i % Role.values().length])
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+        }
+        for (int i = 0; i < PER_CATALOG; i++) {
+            memes.create(Meme.builder().author("autor " + i).quote("meme #" + i).build());
+            laws.create(Law.builder().name("Ley #" + i).description("descripción " + i)
+                    .category("Murphy").createdAt(LocalDateTime.now()).build());
+        }
+    }
+}
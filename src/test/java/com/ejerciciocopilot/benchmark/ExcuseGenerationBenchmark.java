@@ -0,0 +1,84 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.Application;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.service.ExcuseService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: generación persistida (INSERT por excusa) vs efímera (sin escritura),
+ * contra el contexto Spring completo con H2 en memoria (perfil test).
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.ejerciciocopilot.benchmark.ExcuseGenerationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExcuseGenerationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ExcuseService excuseService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.ejerciciocopilot=WARN")
+                .run();
+        excuseService = context.getBean(ExcuseService.class);
+        BenchmarkData.load(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Excuse simplePersisted() {
+        return excuseService.generateRandom();
+    }
+
+    @Benchmark
+    public Excuse simpleEphemeral() {
+        return excuseService.generateEphemeral(ExcuseType.SIMPLE, null);
+    }
+
+    @Benchmark
+    public Excuse ultraSharkPersisted() {
+        return excuseService.generateUltraShark();
+    }
+
+    @Benchmark
+    public Excuse ultraSharkEphemeral() {
+        return excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 8}) {
+            Options options = new OptionsBuilder()
+                    .include(ExcuseGenerationBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(2))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(2))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.Application;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.service.ExcuseGroupCommit;
+import com.ejerciciocopilot.service.ExcuseService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: 200 hilos generando excusas persistidas (GET /api/excuses/random) con un INSERT
+ * y un commit por request vs group commit. Corre contra un PostgreSQL embebido con fsync y
+ * synchronous_commit activos, así cada commit espera el flush del WAL como en producción.
+ * Al terminar cada trial imprime los commits por fila y los fsync del WAL por fila.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.ejerciciocopilot.benchmark.ExcuseGroupCommitBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class ExcuseGroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ExcuseService excuseService;
+    private ExcuseGroupCommit excuseGroupCommit;
+    private ExcuseRepository excuseRepository;
+    private JdbcTemplate jdbcTemplate;
+    private long walSyncsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder()
+                .setServerConfig("fsync", "on")
+                .setServerConfig("synchronous_commit", "on")
+                .start();
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "postgres")
+                .properties("logging.level.com.ejerciciocopilot=WARN")
+                // Como argumentos, para pisar la URL de application-postgres.properties
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--app.excuses.group-commit-enabled=" + groupCommit);
+        excuseService = context.getBean(ExcuseService.class);
+        excuseGroupCommit = context.getBean(ExcuseGroupCommit.class);
+        excuseRepository = context.getBean(ExcuseRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.load(context);
+        walSyncsBefore = walSyncs();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        long rows = excuseRepository.count();
+        long commits = groupCommit ? excuseGroupCommit.commits() : rows;
+        System.out.printf("%ngroupCommit=%s: %d filas, %.3f commits/fila, %.3f fsync del WAL/fila%n",
+                groupCommit, rows, (double) commits / rows, (double) (walSyncs() - walSyncsBefore) / rows);
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Excuse generateRandom() {
+        return excuseService.generateRandom();
+    }
+
+    private long walSyncs() {
+        return jdbcTemplate.queryForObject("select wal_sync from pg_stat_wal", Long.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExcuseGroupCommitBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.Application;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: página del listado completo (GET /api/excuses, entidades con sus 6 relaciones)
+ * vs página del resumen (GET /api/excuses/summary, proyección de 4 columnas), incluyendo el
+ * serializado a JSON. Al iniciar imprime el tamaño en bytes de cada payload.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.ejerciciocopilot.benchmark.ExcuseListingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExcuseListingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private ExcuseService excuseService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.ejerciciocopilot=WARN")
+                .run();
+        excuseService = context.getBean(ExcuseService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        BenchmarkData.load(context);
+        excuseService.generateBatch(2_000, "ULTRA_SHARK", null);
+        System.out.printf("%nPayload de %d excusas: completo=%d bytes, resumen=%d bytes%n",
+                PAGE_SIZE, fullPage().length, summaryPage().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                excuseService.findPage(null, null, PAGE_SIZE).map(ExcuseMapper::toResponse));
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                excuseService.findSummaryPage(null, null, PAGE_SIZE, null, null).map(ExcuseMapper::toSummary));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExcuseListingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .build();
+        new Runner(options).run();
+    }
+}
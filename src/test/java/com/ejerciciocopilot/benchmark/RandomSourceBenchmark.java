@@ -0,0 +1,73 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.config.RandomProperties;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.service.RandomSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: java.util.Random compartido vs generadores por hilo de RandomSource.
+ * Mide el costo de una selección (nextInt acotado) con 1 a 64 hilos concurrentes.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.ejerciciocopilot.benchmark.RandomSourceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomSourceBenchmark {
+
+    private static final int BOUND = 1_000;
+
+    private Random sharedRandom;
+    private RandomSource randomSource;
+    private RandomSource splittableSource;
+
+    @Setup
+    public void setUp() {
+        sharedRandom = new Random();
+        randomSource = new RandomSource(new RandomProperties());
+        RandomProperties splittable = new RandomProperties();
+        splittable.setAlgorithm("SplittableRandom");
+        splittableSource = new RandomSource(splittable);
+    }
+
+    @Benchmark
+    public int sharedJavaUtilRandom() {
+        return sharedRandom.nextInt(BOUND);
+    }
+
+    @Benchmark
+    public int threadLocalL64X128MixRandom() {
+        return randomSource.forMode(ExcuseType.SIMPLE).nextInt(BOUND);
+    }
+
+    @Benchmark
+    public int threadLocalSplittableRandom() {
+        return splittableSource.forMode(ExcuseType.SIMPLE).nextInt(BOUND);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(RandomSourceBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ejerciciocopilot.benchmark;
+
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH: selección ponderada de fragmentos (tabla de alias) según el tamaño del catálogo.
+ * El tiempo por selección debe ser el mismo con 1.000 que con 1.000.000 de fragmentos.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.ejerciciocopilot.benchmark.WeightedSamplingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeightedSamplingBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private FragmentCatalog catalog;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom weights = new SplittableRandom(1);
+        List<Fragment> fragments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fragments.add(Fragment.builder()
+                    .id((long) i + 1)
+                    .type(FragmentType.CONTEXTO)
+                    .text("contexto #" + i)
+                    .role(i % 10 == 0 ? Role.values()[i % Role.values().length] : null)
+                    .weight(weights.nextInt(10))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        FragmentRepository repository = Mockito.mock(FragmentRepository.class);
+        Mockito.when(repository.findByType(FragmentType.CONTEXTO)).thenReturn(fragments);
+        catalog = new FragmentCatalog(repository);
+        catalog.size(FragmentType.CONTEXTO);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Fragment pickWeighted() {
+        return catalog.pick(FragmentType.CONTEXTO, random);
+    }
+
+    @Benchmark
+    public Fragment pickWeightedByRole() {
+        return catalog.pick(FragmentType.CONTEXTO, Role.DEV, random);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WeightedSamplingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,18 +1,29 @@
 package com.ejerciciocopilot.controller;
 
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseCursorResponseDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
 import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+import com.ejerciciocopilot.service.DailyExcuseService;
+import com.ejerciciocopilot.service.ExcuseCursorService;
+import com.ejerciciocopilot.service.ExcusePool;
 import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.ExcuseStreamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.MockBean;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -24,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests de integración para ExcuseController usando MockMvc.
  */
 @WebMvcTest(ExcuseController.class)
+@EnableConfigurationProperties(ExcuseProperties.class)
 @DisplayName("ExcuseController - Tests de Integración")
 class ExcuseControllerTest {
 
@@ -33,6 +45,18 @@ class ExcuseControllerTest {
     @MockBean
     private ExcuseService excuseService;
 
+    @MockBean
+    private ExcusePool excusePool;
+
+    @MockBean
+    private DailyExcuseService dailyExcuseService;
+
+    @MockBean
+    private ExcuseCursorService excuseCursorService;
+
+    @MockBean
+    private ExcuseStreamService excuseStreamService;
+
     private Excuse testExcuse;
     private Fragment testFragment;
 
@@ -59,13 +83,14 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses/random debe retornar 200 con excusa aleatoria")
+    @DisplayName("GET /api/excuses/random?persist=true debe retornar 200 con excusa aleatoria")
     void testGetRandomExcuse() throws Exception {
         // Arrange
         when(excuseService.generateRandom()).thenReturn(testExcuse);
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/random")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
@@ -75,22 +100,57 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses/daily debe retornar 200 con excusa del día")
+    @DisplayName("GET /api/excuses/daily?persist=true debe retornar 200 con excusa del día")
     void testGetDailyExcuse() throws Exception {
         // Arrange
-        when(excuseService.generateDaily()).thenReturn(testExcuse);
+        when(dailyExcuseService.todayStored(null, null)).thenReturn(ExcuseMapper.toResponse(testExcuse));
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/daily")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.type").value("SIMPLE"));
 
-        verify(excuseService, times(1)).generateDaily();
+        verify(dailyExcuseService, times(1)).todayStored(null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/daily?role=QA&tz=UTC sirve la excusa del día desde memoria sin guardarla")
+    void testGetDailyExcuseByRoleAndZone() throws Exception {
+        // Arrange
+        testExcuse.setId(null);
+        testExcuse.setRole(Role.QA);
+        when(dailyExcuseService.today("QA", "UTC")).thenReturn(ExcuseMapper.toResponse(testExcuse));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/daily")
+                .param("role", "QA")
+                .param("tz", "UTC")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.role").value("QA"));
+
+        verify(dailyExcuseService, never()).todayStored(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/daily con zona horaria inválida debe retornar 400")
+    void testGetDailyExcuseWithInvalidZone() throws Exception {
+        // Arrange
+        when(dailyExcuseService.today(null, "Marte/Olympus"))
+                .thenThrow(new IllegalArgumentException("Zona horaria inválida: Marte/Olympus"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/daily")
+                .param("tz", "Marte/Olympus")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
-    @DisplayName("GET /api/excuses/meme debe retornar 200 con excusa con meme")
+    @DisplayName("GET /api/excuses/meme?persist=true debe retornar 200 con excusa con meme")
     void testGetExcuseWithMeme() throws Exception {
         // Arrange
         Meme testMeme = Meme.builder()
@@ -116,6 +176,7 @@ class ExcuseControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/meme")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.type").value("CON_MEME"));
@@ -124,7 +185,7 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses/law debe retornar 200 con excusa con ley")
+    @DisplayName("GET /api/excuses/law?persist=true debe retornar 200 con excusa con ley")
     void testGetExcuseWithLaw() throws Exception {
         // Arrange
         Law testLaw = Law.builder()
@@ -151,6 +212,7 @@ class ExcuseControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/law")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.type").value("CON_LEY"));
@@ -159,7 +221,7 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses/ultra debe retornar 200 con excusa ULTRA_SHARK")
+    @DisplayName("GET /api/excuses/ultra?persist=true debe retornar 200 con excusa ULTRA_SHARK")
     void testGetUltraSharkExcuse() throws Exception {
         // Arrange
         Meme testMeme = Meme.builder()
@@ -194,6 +256,7 @@ class ExcuseControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/ultra")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.type").value("ULTRA_SHARK"));
@@ -202,7 +265,7 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses/role/DEV debe retornar 200 con excusa para rol DEV")
+    @DisplayName("GET /api/excuses/role/DEV?persist=true debe retornar 200 con excusa para rol DEV")
     void testGetExcuseByRoleDev() throws Exception {
         // Arrange
         Excuse devExcuse = Excuse.builder()
@@ -221,6 +284,7 @@ class ExcuseControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/role/DEV")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.role").value("DEV"));
@@ -237,12 +301,215 @@ class ExcuseControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses/role/INVALID_ROLE")
+                .param("persist", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
         verify(excuseService, times(1)).generateByRole("INVALID_ROLE");
     }
 
+    @Test
+    @DisplayName("GET /api/excuses/random sin persist sirve una excusa efímera del pool sin guardarla")
+    void testGetRandomExcuseIsEphemeralByDefault() throws Exception {
+        // Arrange
+        Excuse ephemeral = Excuse.builder()
+                .context(testFragment)
+                .cause(testFragment)
+                .consequence(testFragment)
+                .recommendation(testFragment)
+                .type(ExcuseType.SIMPLE)
+                .seed(12345L)
+                .build();
+
+        when(excusePool.next()).thenReturn(ExcuseMapper.toResponse(ephemeral));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/random")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.seed").value(12345L));
+
+        verify(excusePool, times(1)).next();
+        verify(excuseService, never()).generateRandom();
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/ultra?persist=false usa la generación efímera del modo ULTRA_SHARK")
+    void testGetUltraSharkExcuseEphemeral() throws Exception {
+        // Arrange
+        Excuse ephemeral = Excuse.builder()
+                .context(testFragment)
+                .cause(testFragment)
+                .consequence(testFragment)
+                .recommendation(testFragment)
+                .type(ExcuseType.ULTRA_SHARK)
+                .seed(12345L)
+                .build();
+
+        when(excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null)).thenReturn(ephemeral);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/ultra")
+                .param("persist", "false")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("ULTRA_SHARK"));
+
+        verify(excuseService, never()).generateUltraShark();
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/batch debe retornar N excusas efímeras")
+    void testGetBatchReturnsEphemeralExcuses() throws Exception {
+        // Arrange
+        when(excuseService.generateBatchEphemeral(2, "ULTRA_SHARK", null))
+                .thenReturn(Arrays.asList(testExcuse, testExcuse));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/batch")
+                .param("count", "2")
+                .param("type", "ULTRA_SHARK")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        verify(excuseService, never()).generateBatch(anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/excuses/batch debe retornar 201 con las excusas persistidas")
+    void testPostBatchPersistsExcuses() throws Exception {
+        // Arrange
+        when(excuseService.generateBatch(3, null, "DEV"))
+                .thenReturn(Arrays.asList(testExcuse, testExcuse, testExcuse));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/excuses/batch")
+                .param("count", "3")
+                .param("role", "DEV")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(excuseService, times(1)).generateBatch(3, null, "DEV");
+    }
+
+    @Test
+    @DisplayName("POST /api/excuses/batch con cantidad fuera de rango debe retornar 400")
+    void testPostBatchWithInvalidCountReturns400() throws Exception {
+        // Arrange
+        when(excuseService.generateBatch(anyInt(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Cantidad inválida"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/excuses/batch")
+                .param("count", "0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/stream debe retornar 503 si se alcanzó el máximo de streams")
+    void testStreamReturns503WhenAtCapacity() throws Exception {
+        // Arrange
+        when(excuseStreamService.openSse(ExcuseType.SIMPLE, null, 10, 0)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/stream con tipo inválido debe retornar 400")
+    void testStreamWithInvalidTypeReturns400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/stream")
+                .param("type", "MEGALODON"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(excuseStreamService);
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/replay/{seed} debe retornar 200 con la excusa reconstruida")
+    void testReplayExcuse() throws Exception {
+        // Arrange
+        Excuse replayed = Excuse.builder()
+                .context(testFragment)
+                .cause(testFragment)
+                .consequence(testFragment)
+                .recommendation(testFragment)
+                .role(Role.QA)
+                .type(ExcuseType.SIMPLE)
+                .seed(12345L)
+                .build();
+
+        when(excuseService.replay(12345L, null, "QA")).thenReturn(replayed);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/replay/12345")
+                .param("role", "QA")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed").value(12345L))
+                .andExpect(jsonPath("$.role").value("QA"));
+
+        verify(excuseService, times(1)).replay(12345L, null, "QA");
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/replay/{seed} con tipo inválido debe retornar 400")
+    void testReplayWithInvalidTypeReturns400() throws Exception {
+        // Arrange
+        when(excuseService.replay(anyLong(), anyString(), any()))
+                .thenThrow(new IllegalArgumentException("Tipo inválido"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/replay/1")
+                .param("type", "MEGALODON")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/t/{token} debe retornar 200 con la excusa del token")
+    void testGetExcuseByToken() throws Exception {
+        // Arrange
+        Excuse decoded = Excuse.builder()
+                .context(testFragment)
+                .cause(testFragment)
+                .consequence(testFragment)
+                .recommendation(testFragment)
+                .type(ExcuseType.SIMPLE)
+                .compositionKey(42L)
+                .build();
+        String token = ExcuseMapper.toToken(decoded);
+
+        when(excuseService.fromToken(token)).thenReturn(decoded);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/t/" + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(token))
+                .andExpect(jsonPath("$.type").value("SIMPLE"));
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/t/{token} con token inválido debe retornar 400")
+    void testGetExcuseByInvalidTokenReturns400() throws Exception {
+        // Arrange
+        when(excuseService.fromToken("zz")).thenThrow(new IllegalArgumentException("Token inválido: zz"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/t/zz")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/excuses/{id} debe retornar 200 cuando excusa existe")
     void testGetExcuseByIdSuccess() throws Exception {
@@ -273,7 +540,7 @@ class ExcuseControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/excuses debe retornar 200 con lista de excusas")
+    @DisplayName("GET /api/excuses debe retornar 200 con una página de excusas y el ID para pedir la siguiente")
     void testListAllExcuses() throws Exception {
         // Arrange
         Excuse excuse1 = testExcuse;
@@ -288,16 +555,104 @@ class ExcuseControllerTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(excuseService.findAll()).thenReturn(Arrays.asList(excuse1, excuse2));
+        when(excuseService.findPage(null, null, 2)).thenReturn(PageResponseDTO.<Excuse>builder()
+                .content(Arrays.asList(excuse1, excuse2))
+                .totalElements(10)
+                .totalPages(5)
+                .size(2)
+                .nextAfter(2L)
+                .build());
 
         // Act & Assert
         mockMvc.perform(get("/api/excuses")
+                .param("size", "2")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1L))
-                .andExpect(jsonPath("$[1].id").value(2L));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.content[1].id").value(2L))
+                .andExpect(jsonPath("$.totalElements").value(10))
+                .andExpect(jsonPath("$.nextAfter").value(2L));
+
+        verify(excuseService, times(1)).findPage(null, null, 2);
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses con tamaño de página inválido debe retornar 400")
+    void testListAllWithInvalidSizeReturns400() throws Exception {
+        // Arrange
+        when(excuseService.findPage(null, null, 500))
+                .thenThrow(new IllegalArgumentException("El tamaño de página debe estar entre 1 y 100"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses")
+                .param("size", "500")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 
-        verify(excuseService, times(1)).findAll();
+    @Test
+    @DisplayName("GET /api/excuses/summary debe retornar 200 con el resumen filtrado por tipo y rol")
+    void testListSummariesFiltered() throws Exception {
+        // Arrange
+        when(excuseService.findSummaryPage(null, null, 20, "SIMPLE", "DEV")).thenReturn(
+                PageResponseDTO.<ExcuseSummaryView>builder()
+                        .content(List.of(new ExcuseSummaryView(7L, ExcuseType.SIMPLE, Role.DEV, 99L)))
+                        .totalElements(1)
+                        .totalPages(1)
+                        .size(20)
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/summary")
+                .param("type", "SIMPLE")
+                .param("role", "DEV")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7L))
+                .andExpect(jsonPath("$.content[0].type").value("SIMPLE"))
+                .andExpect(jsonPath("$.content[0].role").value("DEV"))
+                .andExpect(jsonPath("$.content[0].seed").value(99L))
+                .andExpect(jsonPath("$.content[0].context").doesNotExist())
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+
+        verify(excuseService, times(1)).findSummaryPage(null, null, 20, "SIMPLE", "DEV");
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/next debe retornar 200 con la excusa y el cursor siguiente")
+    void testNextExcuseReturnsCursor() throws Exception {
+        // Arrange
+        testExcuse.setId(null);
+        ExcuseCursorResponseDTO page = ExcuseCursorResponseDTO.builder()
+                .excuse(ExcuseMapper.toResponse(testExcuse))
+                .nextCursor("AQAA")
+                .position(1)
+                .total(16)
+                .build();
+        when(excuseCursorService.next(null, "SIMPLE", null)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/next")
+                .param("type", "SIMPLE")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.excuse.id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("AQAA"))
+                .andExpect(jsonPath("$.position").value(1))
+                .andExpect(jsonPath("$.total").value(16))
+                .andExpect(jsonPath("$.restarted").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/excuses/next con cursor inválido retorna 400")
+    void testNextExcuseWithInvalidCursor() throws Exception {
+        // Arrange
+        when(excuseCursorService.next(eq("basura"), any(), any()))
+                .thenThrow(new IllegalArgumentException("Cursor inválido: basura"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/excuses/next").param("cursor", "basura"))
+                .andExpect(status().isBadRequest());
     }
 }
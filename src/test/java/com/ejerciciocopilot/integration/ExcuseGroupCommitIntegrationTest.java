@@ -0,0 +1,147 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.service.ExcuseGroupCommit;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración del group commit: los GET de generación con persistencia concurrentes
+ * comparten transacciones y cada uno vuelve con su excusa ya guardada.
+ * El pool tiene 2 conexiones para 50 requests: si un request retuviera la suya mientras espera
+ * su batch, el hilo del group commit no conseguiría conexión.
+ */
+@SpringBootTest(properties = {
+        "app.excuses.group-commit-enabled=true",
+        "app.excuses.group-commit-window=2ms",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+@ActiveProfiles("test")
+@DisplayName("Excuse Group Commit Integration Tests - INSERT concurrentes agrupados")
+class ExcuseGroupCommitIntegrationTest {
+
+    private static final int CALLERS = 50;
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private ExcuseGroupCommit excuseGroupCommit;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder().type(type).text("Fragmento " + type)
+                    .createdAt(LocalDateTime.now()).build());
+        }
+        memeRepository.save(Meme.builder().author("Anónimo").quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now()).build());
+        lawRepository.save(Law.builder().name("Ley de Murphy").description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy").createdAt(LocalDateTime.now()).build());
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // La base H2 en memoria se comparte con los otros contextos de test
+        excuseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Cada generateUltraShark() vuelve con la fila ya guardada")
+    void testSavedExcuseIsDurableOnReturn() {
+        // Act
+        Excuse excuse = excuseService.generateUltraShark();
+
+        // Assert: sin esperar, la fila ya está en la tabla
+        Excuse stored = excuseRepository.findWithRelationsById(excuse.getId()).orElseThrow();
+        assertThat(stored.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+        assertThat(stored.getLaw().getName()).isEqualTo("Ley de Murphy");
+    }
+
+    @Test
+    @DisplayName("generateRandom() concurrentes, con el catálogo sin cargar, se confirman en menos transacciones que requests")
+    void testConcurrentGenerationSharesCommits() throws Exception {
+        // Arrange
+        long commitsBefore = excuseGroupCommit.commits();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    Long id = excuseService.generateRandom().getId();
+                    // La fila ya está confirmada cuando vuelve el request
+                    assertThat(excuseRepository.existsById(id)).isTrue();
+                    return id;
+                }));
+            }
+            go.countDown();
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                ids.add(future.get());
+            }
+
+            // Assert
+            assertThat(ids).doesNotHaveDuplicates();
+            assertThat(excuseRepository.count()).isEqualTo(CALLERS);
+            assertThat(excuseGroupCommit.commits() - commitsBefore).isLessThan(CALLERS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ejerciciocopilot.integration;
 
+import com.ejerciciocopilot.mapper.ExcuseMapper;
 import com.ejerciciocopilot.model.*;
 import com.ejerciciocopilot.repository.ExcuseRepository;
 import com.ejerciciocopilot.repository.FragmentRepository;
 import com.ejerciciocopilot.repository.LawRepository;
 import com.ejerciciocopilot.repository.MemeRepository;
 import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,6 +46,15 @@ class ExcuseIntegrationTest {
     @Autowired
     private LawRepository lawRepository;
 
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
     @BeforeEach
     void setUp() {
         // Limpiar repositorios
@@ -52,6 +65,11 @@ class ExcuseIntegrationTest {
 
         // Cargar datos de prueba basados en los JSONs
         loadTestDataFromJsons();
+
+        // Los datos se cargan por fuera de los servicios: descartar los snapshots anteriores
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
     }
 
     @Test
@@ -85,6 +103,9 @@ class ExcuseIntegrationTest {
         // Ambas excusas deben tener el mismo seed (día)
         assertThat(excuse1.getSeed()).isEqualTo(excuse2.getSeed());
         assertThat(excuse1.getSeed()).isEqualTo(LocalDate.now().toEpochDay());
+        // Se guarda una sola vez por día
+        assertThat(excuse2.getId()).isEqualTo(excuse1.getId());
+        assertThat(excuseRepository.count()).isEqualTo(1);
     }
 
     @Test
@@ -127,6 +148,25 @@ class ExcuseIntegrationTest {
         assertThat(excuse.getRecommendation()).isNotNull();
     }
 
+    @Test
+    @DisplayName("El token de una excusa guardada la reconstruye completa desde el catálogo")
+    void testTokenRoundTripAgainstStoredExcuse() {
+        // Arrange
+        Excuse stored = excuseService.generateUltraShark();
+
+        // Act
+        Excuse reloaded = excuseRepository.findById(stored.getId()).orElseThrow();
+        Excuse decoded = excuseService.fromToken(ExcuseMapper.toToken(reloaded));
+
+        // Assert
+        assertThat(reloaded.getCompositionKey()).isNotNull();
+        assertThat(decoded.getContext().getId()).isEqualTo(stored.getContext().getId());
+        assertThat(decoded.getRecommendation().getId()).isEqualTo(stored.getRecommendation().getId());
+        assertThat(decoded.getMeme().getId()).isEqualTo(stored.getMeme().getId());
+        assertThat(decoded.getLaw().getId()).isEqualTo(stored.getLaw().getId());
+        assertThat(decoded.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+    }
+
     @Test
     @DisplayName("generateByRole(DEV) produce excusas con fragmentos específicos del rol")
     void testGenerateByRoleDEVUsesDEVFragments() {
@@ -156,6 +196,40 @@ class ExcuseIntegrationTest {
                 .isEqualTo(excuse2.getCause().getId());
     }
 
+    @Test
+    @DisplayName("replay() reconstruye una excusa ULTRA_SHARK persistida a partir de su seed")
+    void testReplayReproducesPersistedExcuse() {
+        // Act
+        Excuse excuse = excuseService.generateUltraShark();
+        Excuse replayed = excuseService.replay(excuse.getSeed(), "ULTRA_SHARK", null);
+
+        // Assert
+        assertThat(replayed.getId()).isNull();
+        assertThat(replayed.getContext().getId()).isEqualTo(excuse.getContext().getId());
+        assertThat(replayed.getCause().getId()).isEqualTo(excuse.getCause().getId());
+        assertThat(replayed.getConsequence().getId()).isEqualTo(excuse.getConsequence().getId());
+        assertThat(replayed.getRecommendation().getId()).isEqualTo(excuse.getRecommendation().getId());
+        assertThat(replayed.getMeme().getId()).isEqualTo(excuse.getMeme().getId());
+        assertThat(replayed.getLaw().getId()).isEqualTo(excuse.getLaw().getId());
+        assertThat(excuseRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generateEphemeral() y generateDailyEphemeral() no insertan filas en excuses")
+    void testEphemeralGenerationDoesNotInsert() {
+        // Act
+        Excuse ultra = excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null);
+        Excuse daily = excuseService.generateDailyEphemeral();
+        Excuse persistedDaily = excuseService.generateDaily();
+
+        // Assert
+        assertThat(ultra.getId()).isNull();
+        assertThat(ultra.getMeme()).isNotNull();
+        assertThat(daily.getSeed()).isEqualTo(persistedDaily.getSeed());
+        assertThat(daily.getContext().getId()).isEqualTo(persistedDaily.getContext().getId());
+        assertThat(excuseRepository.count()).isEqualTo(1);
+    }
+
     /**
      * Carga datos de prueba simulando el contenido de los JSONs.
      * En producción, estos datos vendrían de un CommandLineRunner.
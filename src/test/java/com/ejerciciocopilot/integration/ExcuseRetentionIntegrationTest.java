@@ -0,0 +1,142 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.service.ExcuseRetentionService;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de la retención por capas: las excusas viejas pasan a segmentos en disco
+ * en lotes acotados y GET /api/excuses/{id} (ExcuseService.findById) las sigue resolviendo.
+ */
+@SpringBootTest(properties = {
+        "app.excuses.cold-storage-dir=target/cold-${random.uuid}",
+        "app.excuses.retention-batch-size=250",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ejerciciocopilot.integration.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+@DisplayName("Excuse Retention Integration Tests - Capa caliente y capa fría")
+class ExcuseRetentionIntegrationTest {
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private ExcuseRetentionService excuseRetentionService;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder().type(type).text("Fragmento " + type)
+                    .createdAt(LocalDateTime.now()).build());
+        }
+        memeRepository.save(Meme.builder().author("Anónimo").quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now()).build());
+        lawRepository.save(Law.builder().name("Ley de Murphy").description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy").createdAt(LocalDateTime.now()).build());
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // La base H2 en memoria se comparte con los otros contextos de test
+        excuseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("archiveOlderThan() mueve solo las excusas viejas, con un DELETE acotado por lote")
+    void testArchiveMovesOldExcusesInBoundedBatches() {
+        // Arrange: 1000 excusas de hace 90 días y 200 actuales
+        List<Excuse> saved = excuseService.generateBatch(1_200, "ULTRA_SHARK", null);
+        Long lastOld = saved.get(999).getId();
+        jdbcTemplate.update("update excuses set created_at = ? where id <= ?",
+                LocalDateTime.now().minusDays(90), lastOld);
+        SqlStatementCounter.clear();
+
+        // Act
+        long archived = excuseRetentionService.archiveOlderThan(LocalDateTime.now().minusDays(30));
+
+        // Assert
+        assertThat(archived).isEqualTo(1_000);
+        assertThat(excuseRepository.count()).isEqualTo(200);
+        assertThat(SqlStatementCounter.count("delete")).isEqualTo(4);
+        assertThat(excuseRetentionService.archiveOlderThan(LocalDateTime.now().minusDays(30))).isZero();
+    }
+
+    @Test
+    @DisplayName("findById() devuelve una excusa archivada con sus fragmentos, meme y ley")
+    void testFindByIdReadsColdTierOnMiss() {
+        // Arrange
+        Excuse old = excuseService.generateUltraShark();
+        Excuse recent = excuseService.generateUltraShark();
+        jdbcTemplate.update("update excuses set created_at = ? where id = ?",
+                LocalDateTime.now().minusDays(90), old.getId());
+        excuseRetentionService.archiveOlderThan(LocalDateTime.now().minusDays(30));
+
+        // Act
+        ExcuseResponseDTO archived = excuseService.findById(old.getId()).map(ExcuseMapper::toResponse).orElseThrow();
+        ExcuseResponseDTO hot = excuseService.findById(recent.getId()).map(ExcuseMapper::toResponse).orElseThrow();
+
+        // Assert
+        assertThat(excuseRepository.existsById(old.getId())).isFalse();
+        assertThat(archived.getId()).isEqualTo(old.getId());
+        assertThat(archived.getSeed()).isEqualTo(old.getSeed());
+        assertThat(archived.getContext().getText()).isEqualTo("Fragmento CONTEXTO");
+        assertThat(archived.getMeme().getQuote()).isEqualTo("Funciona en mi máquina");
+        assertThat(archived.getLaw().getName()).isEqualTo("Ley de Murphy");
+        assertThat(hot.getId()).isEqualTo(recent.getId());
+        assertThat(excuseService.findById(Long.MAX_VALUE)).isEmpty();
+    }
+}
@@ -0,0 +1,314 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración que cuentan las sentencias SQL de cada modo de generación
+ * usando las estadísticas de Hibernate y SqlStatementCounter.
+ * Las consultas a la secuencia de IDs se cuentan aparte: dependen de cuántos IDs
+ * quedan en el bloque asignado, no del modo de generación.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ejerciciocopilot.integration.SqlStatementCounter",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Excuse Statement Count Tests - Sentencias SQL por modo")
+class ExcuseStatementCountTest {
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder()
+                    .type(type)
+                    .text("Fragmento " + type)
+                    .role(Role.DEV)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        memeRepository.save(Meme.builder()
+                .author("Anónimo")
+                .quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now())
+                .build());
+        lawRepository.save(Law.builder()
+                .name("Ley de Murphy")
+                .description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy")
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+        // Calentar los catálogos para medir solo la escritura de la excusa
+        excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    @DisplayName("generateRandom() emite una sola sentencia (INSERT)")
+    void testGenerateRandomIssuesSingleStatement() {
+        assertSingleInsert(excuseService::generateRandom);
+    }
+
+    @Test
+    @DisplayName("generateWithMeme() emite una sola sentencia (INSERT)")
+    void testGenerateWithMemeIssuesSingleStatement() {
+        assertSingleInsert(excuseService::generateWithMeme);
+    }
+
+    @Test
+    @DisplayName("generateWithLaw() emite una sola sentencia (INSERT)")
+    void testGenerateWithLawIssuesSingleStatement() {
+        assertSingleInsert(excuseService::generateWithLaw);
+    }
+
+    @Test
+    @DisplayName("generateUltraShark() emite una sola sentencia (INSERT)")
+    void testGenerateUltraSharkIssuesSingleStatement() {
+        assertSingleInsert(excuseService::generateUltraShark);
+    }
+
+    @Test
+    @DisplayName("generateByRole() emite una sola sentencia (INSERT)")
+    void testGenerateByRoleIssuesSingleStatement() {
+        assertSingleInsert(() -> excuseService.generateByRole("DEV"));
+    }
+
+    @Test
+    @DisplayName("generateDaily() inserta la excusa del día una sola vez; después solo la lee")
+    void testGenerateDailyInsertsOnce() {
+        // Act
+        statistics.clear();
+        SqlStatementCounter.clear();
+        Excuse first = excuseService.generateDaily();
+        long firstInserts = SqlStatementCounter.count("insert");
+        long firstSelects = SqlStatementCounter.count("select");
+        SqlStatementCounter.clear();
+        Excuse second = excuseService.generateDaily();
+
+        // Assert
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(firstInserts).isEqualTo(1);
+        assertThat(firstSelects).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert")).isZero();
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generateEphemeral() no emite sentencias SQL")
+    void testGenerateEphemeralIssuesNoStatements() {
+        // Act
+        excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, "QA");
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(SqlStatementCounter.total()).isZero();
+    }
+
+    @Test
+    @DisplayName("saveAll() persiste varias excusas en un solo batch JDBC y sin UPDATE")
+    void testSaveAllFlushesOnce() {
+        // Arrange
+        List<Excuse> assembled = List.of(
+                excuseService.generateEphemeral(ExcuseType.SIMPLE, null),
+                excuseService.generateEphemeral(ExcuseType.CON_MEME, null),
+                excuseService.generateEphemeral(ExcuseType.ULTRA_SHARK, null));
+
+        // Act
+        List<Excuse> saved = excuseService.saveAll(assembled);
+
+        // Assert
+        assertThat(saved).allSatisfy(excuse -> assertThat(excuse.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(SqlStatementCounter.count("insert")).isEqualTo(1);
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generateBatch() inserta 2500 excusas en 3 batches JDBC y pocas consultas a la secuencia")
+    void testGenerateBatchUsesJdbcBatching() {
+        // Act
+        List<Excuse> saved = excuseService.generateBatch(2_500, "ULTRA_SHARK", "DEV");
+
+        // Assert
+        assertThat(saved).hasSize(2_500);
+        assertThat(saved).extracting(Excuse::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2_500);
+        assertThat(SqlStatementCounter.count("insert")).isEqualTo(3);
+        assertThat(SqlStatementCounter.total()).isEqualTo(3);
+        assertThat(SqlStatementCounter.sequenceCalls()).isBetween(2L, 4L);
+        assertThat(excuseRepository.count()).isEqualTo(2_500);
+    }
+
+    @Test
+    @DisplayName("findPage() trae cada página de excusas con sus relaciones en un solo SELECT")
+    void testFindPageIssuesSingleSelectPerPage() {
+        // Arrange
+        excuseService.generateBatch(30, "ULTRA_SHARK", null);
+        excuseService.findPage(null, null, 10);
+        SqlStatementCounter.clear();
+
+        // Act
+        PageResponseDTO<ExcuseResponseDTO> first = excuseService.findPage(null, null, 10).map(ExcuseMapper::toResponse);
+        PageResponseDTO<ExcuseResponseDTO> second = excuseService.findPage(first.getNextAfter(), null, 10)
+                .map(ExcuseMapper::toResponse);
+
+        // Assert
+        assertThat(first.getContent()).hasSize(10);
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(first.getNextAfter());
+        assertThat(second.getContent().get(0).getLaw()).isNotNull();
+        assertThat(first.getTotalElements()).isEqualTo(30);
+        assertThat(SqlStatementCounter.count("select")).isEqualTo(2);
+        assertThat(SqlStatementCounter.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findAll() emite un solo SELECT sin importar la cantidad de excusas")
+    void testFindAllIssuesConstantStatements() {
+        // Arrange
+        excuseService.generateBatch(5, "ULTRA_SHARK", null);
+        SqlStatementCounter.clear();
+        List<ExcuseResponseDTO> few = excuseService.findAll().stream().map(ExcuseMapper::toResponse).toList();
+        long fewStatements = SqlStatementCounter.total();
+        excuseService.generateBatch(45, "ULTRA_SHARK", null);
+        SqlStatementCounter.clear();
+
+        // Act
+        List<ExcuseResponseDTO> many = excuseService.findAll().stream().map(ExcuseMapper::toResponse).toList();
+
+        // Assert
+        assertThat(few).hasSize(5);
+        assertThat(many).hasSize(50).allSatisfy(dto -> assertThat(dto.getMeme()).isNotNull());
+        assertThat(fewStatements).isEqualTo(1);
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findById() trae la excusa con sus 6 relaciones en un solo SELECT")
+    void testFindByIdIssuesSingleSelect() {
+        // Arrange
+        Long id = excuseService.generateUltraShark().getId();
+        SqlStatementCounter.clear();
+
+        // Act: el mapeo ocurre fuera de la transacción, como en el controller
+        ExcuseResponseDTO dto = excuseService.findById(id).map(ExcuseMapper::toResponse).orElseThrow();
+
+        // Assert
+        assertThat(dto.getContext().getText()).isNotBlank();
+        assertThat(dto.getRecommendation().getText()).isNotBlank();
+        assertThat(dto.getMeme().getQuote()).isNotBlank();
+        assertThat(dto.getLaw().getName()).isNotBlank();
+        assertThat(SqlStatementCounter.count("select")).isEqualTo(1);
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findSummaryPage() lee solo las columnas del resumen, sin joins ni entidades gestionadas")
+    void testFindSummaryPageSelectsOnlyProjectedColumns() {
+        // Arrange
+        excuseService.generateBatch(12, "SIMPLE", "DEV");
+        excuseService.generateBatch(8, "ULTRA_SHARK", null);
+        statistics.clear();
+        SqlStatementCounter.clear();
+
+        // Act
+        PageResponseDTO<ExcuseSummaryView> all = excuseService.findSummaryPage(null, null, 15, null, null);
+        PageResponseDTO<ExcuseSummaryView> filtered = excuseService.findSummaryPage(null, null, 20, "SIMPLE", "DEV");
+
+        // Assert
+        assertThat(all.getContent()).hasSize(15);
+        assertThat(all.getNextAfter()).isEqualTo(all.getContent().get(14).id());
+        assertThat(filtered.getContent()).hasSize(12)
+                .allSatisfy(view -> assertThat(view.role()).isEqualTo(Role.DEV));
+        assertThat(SqlStatementCounter.count("select")).isEqualTo(2);
+        assertThat(SqlStatementCounter.statements())
+                .allSatisfy(sql -> assertThat(sql.toLowerCase()).doesNotContain(" join ", "created_at"));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private void assertSingleInsert(Supplier<Excuse> generation) {
+        // Arrange
+        statistics.clear();
+        SqlStatementCounter.clear();
+
+        // Act
+        Excuse excuse = generation.get();
+
+        // Assert
+        assertThat(excuse.getId()).isNotNull();
+        assertThat(SqlStatementCounter.count("insert")).isEqualTo(1);
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración del feed /api/excuses/stream en sus dos formatos (SSE y NDJSON).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Excuse Stream Integration Tests - SSE y NDJSON")
+class ExcuseStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder()
+                    .type(type)
+                    .text("Fragmento " + type)
+                    .role(Role.QA)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        fragmentCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("NDJSON: una excusa por línea con la forma de ExcuseResponseDTO, sin persistir")
+    void testNdjsonStreamEmitsOneExcusePerLine() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/excuses/stream")
+                        .param("rate", "1000")
+                        .param("limit", "3")
+                        .param("role", "QA")
+                        .header("Accept", "application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        // Assert
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        for (String line : lines) {
+            JsonNode excuse = objectMapper.readTree(line);
+            assertThat(excuse.get("role").asText()).isEqualTo("QA");
+            assertThat(excuse.get("seed").isNumber()).isTrue();
+        }
+        assertThat(excuseRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("SSE: un evento 'excuse' por excusa, con el seed como id")
+    void testSseStreamEmitsEvents() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/excuses/stream")
+                        .param("rate", "1000")
+                        .param("limit", "2")
+                        .param("type", "simple")
+                        .header("Accept", "text/event-stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertThat(result.getResponse().getContentType()).startsWith("text/event-stream");
+        assertThat(body.split("event:excuse", -1)).hasSize(3);
+        assertThat(body).contains("\"type\":\"SIMPLE\"");
+    }
+}
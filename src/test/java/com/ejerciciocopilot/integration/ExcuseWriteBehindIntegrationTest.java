@@ -0,0 +1,145 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.ExcuseWriteBehind;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de la escritura diferida: los GET de generación con persistencia
+ * devuelven la excusa con ID antes del INSERT y un hilo la guarda después en batches JDBC.
+ */
+@SpringBootTest(properties = {
+        "app.excuses.write-behind-enabled=true",
+        "app.excuses.write-behind-flush-interval=50ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Excuse Write Behind Integration Tests - Escritura diferida en batches")
+class ExcuseWriteBehindIntegrationTest {
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private ExcuseWriteBehind excuseWriteBehind;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder().type(type).text("Fragmento " + type)
+                    .createdAt(LocalDateTime.now()).build());
+        }
+        memeRepository.save(Meme.builder().author("Anónimo").quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now()).build());
+        lawRepository.save(Law.builder().name("Ley de Murphy").description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy").createdAt(LocalDateTime.now()).build());
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // La base H2 en memoria se comparte con los otros contextos de test
+        await(() -> excuseWriteBehind.depth() == 0);
+        excuseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("generateUltraShark() devuelve la excusa con ID enseguida y la guarda en pocos batches")
+    void testGeneratedExcusesAreFlushedInBatches() {
+        // Arrange
+        double flushesBefore = meterRegistry.get("excuses.writebehind.flush").timer().count();
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ids.add(excuseService.generateUltraShark().getId());
+        }
+        Excuse readBack = excuseService.findById(ids.get(299)).orElseThrow();
+        await(() -> excuseRepository.count() == 300);
+
+        // Assert
+        assertThat(ids).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(readBack.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+        assertThat(excuseRepository.findAllById(ids)).hasSize(300);
+        Excuse stored = excuseService.findById(ids.get(0)).orElseThrow();
+        assertThat(stored.getMeme().getQuote()).isEqualTo("Funciona en mi máquina");
+        assertThat(stored.getLaw().getName()).isEqualTo("Ley de Murphy");
+        assertThat(meterRegistry.get("excuses.writebehind.flush").timer().count() - flushesBefore)
+                .isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Los IDs reservados en memoria no chocan con los que asigna Hibernate al guardar")
+    void testReservedIdsDoNotCollideWithHibernateInserts() {
+        // Act: se alternan excusas encoladas y lotes guardados por Hibernate
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(excuseService.generateRandom().getId());
+            excuseService.generateBatch(5, "SIMPLE", null).forEach(excuse -> ids.add(excuse.getId()));
+        }
+        await(() -> excuseRepository.count() == 120);
+
+        // Assert
+        assertThat(ids).hasSize(120).doesNotHaveDuplicates();
+        assertThat(excuseRepository.findAllById(ids)).hasSize(120);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timeout esperando la condición").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.config.DataLoader;
+import com.ejerciciocopilot.config.IdSequenceMigration;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de los IDs por secuencia (pooled-lo): la precarga de DataLoader
+ * emite un batch de INSERT por tabla y IdSequenceMigration adelanta las secuencias
+ * que quedaron por detrás de los IDs existentes.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ejerciciocopilot.integration.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+@DisplayName("Id Sequence Integration Tests - Secuencias y batches de INSERT")
+class IdSequenceIntegrationTest {
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private IdSequenceMigration idSequenceMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    @DisplayName("DataLoader emite un INSERT en batch por tabla en lugar de uno por fila")
+    void testDataLoaderIssuesOneInsertPerTable() throws Exception {
+        // Act: 6 fragmentos, 7 memes y 40 leyes desde docs/json
+        new DataLoader(fragmentRepository, memeRepository, lawRepository).run();
+
+        // Assert
+        assertThat(fragmentRepository.count()).isEqualTo(6);
+        assertThat(memeRepository.count()).isEqualTo(7);
+        assertThat(lawRepository.count()).isEqualTo(40);
+        assertThat(SqlStatementCounter.count("insert")).isEqualTo(3);
+        assertThat(SqlStatementCounter.sequenceCalls()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("IdSequenceMigration reinicia la secuencia por detrás del MAX(id) de la tabla")
+    void testMigrationAlignsSequenceWithExistingIds() {
+        // Arrange: fila con un ID asignado fuera de la secuencia (como las de IDENTITY)
+        jdbcTemplate.update("insert into laws (id, name, description, category, weight, created_at) "
+                + "values (1000000, 'Ley previa', 'Cargada con IDENTITY', 'Murphy', 1, current_timestamp)");
+
+        // Act
+        idSequenceMigration.run();
+
+        // Assert: el próximo bloque que pida Hibernate empieza después de la fila existente
+        Long next = jdbcTemplate.queryForObject("select next value for laws_seq", Long.class);
+        assertThat(next).isGreaterThan(1_000_000L);
+    }
+}
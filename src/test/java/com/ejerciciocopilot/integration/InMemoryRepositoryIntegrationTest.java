@@ -0,0 +1,197 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.repository.memory.InMemoryExcuseRepository;
+import com.ejerciciocopilot.repository.memory.InMemoryFragmentRepository;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración del perfil memory: los repositorios en memoria reemplazan a los de JPA,
+ * sin DataSource ni Hibernate, y mantienen la semántica de los finders.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "memory"})
+@DisplayName("In-Memory Repository Integration Tests - Perfil memory sin JPA")
+class InMemoryRepositoryIntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        memeRepository.deleteAll();
+        lawRepository.deleteAll();
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.save(Fragment.builder().type(type).text(type + " general")
+                    .createdAt(LocalDateTime.now()).build());
+            fragmentRepository.save(Fragment.builder().type(type).text(type + " dev").role(Role.DEV)
+                    .createdAt(LocalDateTime.now()).build());
+        }
+        memeRepository.save(Meme.builder().author("Anónimo").quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now()).build());
+        lawRepository.save(Law.builder().name("Ley de Murphy").description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy").createdAt(LocalDateTime.now()).build());
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("El contexto arranca sin DataSource ni EntityManagerFactory, con los repositorios en memoria")
+    void testContextHasNoJpa() {
+        // Assert
+        assertThat(applicationContext.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EntityManagerFactory.class)).isEmpty();
+        assertThat(fragmentRepository).isInstanceOf(InMemoryFragmentRepository.class);
+        assertThat(excuseRepository).isInstanceOf(InMemoryExcuseRepository.class);
+    }
+
+    @Test
+    @DisplayName("findByTypeAndRole() con rol null busca los fragmentos sin rol, como IS NULL")
+    void testFindByTypeAndRoleWithNullRole() {
+        // Act
+        List<Fragment> general = fragmentRepository.findByTypeAndRole(FragmentType.CONTEXTO, null);
+        List<Fragment> dev = fragmentRepository.findByTypeAndRole(FragmentType.CONTEXTO, Role.DEV);
+
+        // Assert
+        assertThat(general).extracting(Fragment::getText).containsExactly("CONTEXTO general");
+        assertThat(dev).extracting(Fragment::getText).containsExactly("CONTEXTO dev");
+        assertThat(fragmentRepository.findByType(FragmentType.CONTEXTO)).hasSize(2);
+        assertThat(fragmentRepository.findByRole(Role.DEV)).hasSize(FragmentType.values().length);
+    }
+
+    @Test
+    @DisplayName("Una entidad leída es una copia: los cambios solo se ven después de save(), y mueven los índices")
+    void testReadsAreCopiesAndSaveReindexes() {
+        // Arrange
+        Law law = lawRepository.findByCategory("Murphy").get(0);
+
+        // Act
+        law.setCategory("Hofstadter");
+
+        // Assert: sin save, nada cambió
+        assertThat(lawRepository.findByCategory("Murphy")).hasSize(1);
+        assertThat(lawRepository.findByCategory("Hofstadter")).isEmpty();
+
+        // Act
+        lawRepository.save(law);
+
+        // Assert
+        assertThat(lawRepository.findByCategory("Murphy")).isEmpty();
+        assertThat(lawRepository.findByCategory("Hofstadter")).extracting(Law::getId).containsExactly(law.getId());
+        assertThat(lawRepository.findByName("Ley de Murphy").getCategory()).isEqualTo("Hofstadter");
+        assertThat(memeRepository.findByAuthor("Anónimo")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("generateUltraShark() guarda la excusa con sus relaciones y aparece en los listados")
+    void testGeneratedExcuseIsStored() {
+        // Act
+        Excuse excuse = excuseService.generateUltraShark();
+        PageResponseDTO<ExcuseSummaryView> page = excuseService.findSummaryPage(null, null, 10, "ULTRA_SHARK", null);
+
+        // Assert
+        Excuse stored = excuseRepository.findWithRelationsById(excuse.getId()).orElseThrow();
+        assertThat(stored.getLaw().getName()).isEqualTo("Ley de Murphy");
+        assertThat(stored.getContext().getType()).isEqualTo(FragmentType.CONTEXTO);
+        assertThat(excuseRepository.findByType(ExcuseType.ULTRA_SHARK)).extracting(Excuse::getId)
+                .containsExactly(excuse.getId());
+        assertThat(page.getContent()).extracting(ExcuseSummaryView::id).containsExactly(excuse.getId());
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generateDaily() guarda la excusa del día una sola vez")
+    void testDailyExcuseIsStoredOnce() {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 1, 1);
+
+        // Act
+        Excuse first = excuseService.generateDaily(day, Role.DEV);
+        Excuse second = excuseService.generateDaily(day, Role.DEV);
+
+        // Assert
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(excuseRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generateRandom() concurrentes reciben IDs distintos y quedan todas guardadas")
+    void testConcurrentGeneration() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> excuseService.generateRandom().getId()));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                ids.add(future.get());
+            }
+
+            // Assert
+            assertThat(ids).doesNotHaveDuplicates();
+            assertThat(excuseRepository.count()).isEqualTo(200);
+            assertThat(excuseRepository.findByType(ExcuseType.SIMPLE)).hasSize(200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.service.FragmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de los listados paginados (keyset y OFFSET) sobre fragmentos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Pagination Integration Tests - Keyset y OFFSET")
+class PaginationIntegrationTest {
+
+    @Autowired
+    private FragmentService fragmentService;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        List<Fragment> fragments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            fragments.add(Fragment.builder()
+                    .type(FragmentType.values()[i % FragmentType.values().length])
+                    .text("Fragmento #" + i)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        ids = fragmentRepository.saveAll(fragments).stream().map(Fragment::getId).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("Recorrer con nextAfter devuelve todos los fragmentos en orden y sin repetir")
+    void testKeysetWalkCoversWholeTable() {
+        // Act
+        List<Long> walked = new ArrayList<>();
+        Long after = null;
+        int pages = 0;
+        do {
+            PageResponseDTO<Fragment> page = fragmentService.findPage(after, null, 7);
+            page.getContent().forEach(fragment -> walked.add(fragment.getId()));
+            after = page.getNextAfter();
+            pages++;
+        } while (after != null);
+
+        // Assert
+        assertThat(walked).containsExactlyElementsOf(ids);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("La página por OFFSET coincide con la página por keyset equivalente")
+    void testOffsetPageMatchesKeysetPage() {
+        // Act
+        PageResponseDTO<Fragment> byOffset = fragmentService.findPage(null, 1, 5);
+        PageResponseDTO<Fragment> byKeyset = fragmentService.findPage(ids.get(4), null, 5);
+
+        // Assert
+        assertThat(byOffset.getContent()).extracting(Fragment::getId)
+                .containsExactlyElementsOf(byKeyset.getContent().stream().map(Fragment::getId).toList());
+        assertThat(byOffset.getPage()).isEqualTo(1);
+        assertThat(byOffset.getTotalPages()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("findPage() rechaza tamaños fuera de rango y la combinación de after con page")
+    void testFindPageValidatesParameters() {
+        // Act & Assert
+        assertThatThrownBy(() -> fragmentService.findPage(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fragmentService.findPage(null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fragmentService.findPage(3L, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
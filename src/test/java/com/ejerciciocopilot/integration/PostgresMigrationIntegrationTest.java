@@ -0,0 +1,165 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.PageResponseDTO;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.ExcuseSummaryView;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
+import com.ejerciciocopilot.service.ExcuseService;
+import com.ejerciciocopilot.service.FragmentCatalog;
+import com.ejerciciocopilot.service.LawCatalog;
+import com.ejerciciocopilot.service.MemeCatalog;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración del perfil postgres contra un PostgreSQL embebido (sin Docker):
+ * migraciones de Flyway validadas por Hibernate, particiones mensuales de excuses
+ * y volúmenes que no entrarían cómodos en H2 en memoria.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Postgres Migration Integration Tests - Esquema versionado y particiones")
+class PostgresMigrationIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private ExcuseService excuseService;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private FragmentCatalog fragmentCatalog;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private LawCatalog lawCatalog;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate excuses, fragments, memes, laws");
+        for (FragmentType type : FragmentType.values()) {
+            fragmentRepository.saveAll(List.of(
+                    Fragment.builder().type(type).text(type + " general").createdAt(LocalDateTime.now()).build(),
+                    Fragment.builder().type(type).text(type + " dev").role(Role.DEV)
+                            .createdAt(LocalDateTime.now()).build()));
+        }
+        memeRepository.save(Meme.builder().author("Anónimo").quote("Funciona en mi máquina")
+                .createdAt(LocalDateTime.now()).build());
+        lawRepository.save(Law.builder().name("Ley de Murphy").description("Si algo puede salir mal, saldrá mal.")
+                .category("Murphy").createdAt(LocalDateTime.now()).build());
+        fragmentCatalog.reload();
+        memeCatalog.reload();
+        lawCatalog.reload();
+    }
+
+    @Test
+    @DisplayName("Flyway aplica V1 y V2, Hibernate valida el esquema y existen las particiones del mes actual")
+    void testMigrationsMatchEntities() {
+        // Act
+        List<String> versions = jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success and version is not null order by installed_rank",
+                String.class);
+        String kind = jdbcTemplate.queryForObject(
+                "select relkind::text from pg_class where oid = 'excuses'::regclass", String.class);
+
+        // Assert
+        assertThat(versions).containsExactly("1", "2");
+        assertThat(kind).isEqualTo("p");
+        assertThat(partitionExists(LocalDateTime.now())).isTrue();
+        assertThat(partitionExists(LocalDateTime.now().plusMonths(3))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Las excusas van a la partición de su mes y el listado por keyset las recorre")
+    void testExcusesAreStoredInMonthlyPartition() {
+        // Act
+        excuseService.generateBatch(10_000, "ULTRA_SHARK", null);
+        excuseService.generateBatch(2_000, "SIMPLE", "DEV");
+        jdbcTemplate.execute("analyze excuses");
+        List<String> partitions = jdbcTemplate.queryForList(
+                "select distinct tableoid::regclass::text from excuses", String.class);
+        PageResponseDTO<ExcuseSummaryView> first = excuseService.findSummaryPage(null, null, 100, "SIMPLE", "DEV");
+        PageResponseDTO<ExcuseSummaryView> second =
+                excuseService.findSummaryPage(first.getNextAfter(), null, 100, "SIMPLE", "DEV");
+
+        // Assert
+        assertThat(partitions).containsExactly("excuses_p" + LocalDateTime.now().format(PARTITION_SUFFIX));
+        assertThat(second.getContent()).hasSize(100)
+                .allSatisfy(view -> assertThat(view.id()).isGreaterThan(first.getNextAfter()));
+        assertThat(rowCountEstimator.estimate(Excuse.class)).isBetween(11_000L, 13_000L);
+    }
+
+    @Test
+    @DisplayName("ensure_excuses_partitions() mueve a la partición nueva las filas que estaban en la default")
+    void testEnsurePartitionsMovesRowsOutOfDefault() {
+        // Arrange: una excusa de dentro de 6 meses cae en la partición default
+        LocalDateTime future = LocalDateTime.now().plusMonths(6);
+        jdbcTemplate.update("insert into excuses (id, type, seed, created_at) values (nextval('excuses_seq'), 'SIMPLE', 1, ?)",
+                future);
+
+        // Act
+        Integer created = jdbcTemplate.queryForObject("select ensure_excuses_partitions(6)", Integer.class);
+        String partition = jdbcTemplate.queryForObject("select tableoid::regclass::text from excuses", String.class);
+
+        // Assert
+        assertThat(created).isGreaterThanOrEqualTo(1);
+        assertThat(partition).isEqualTo("excuses_p" + future.format(PARTITION_SUFFIX));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from excuses_default", Long.class)).isZero();
+    }
+
+    private boolean partitionExists(LocalDateTime month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null",
+                Boolean.class, "excuses_p" + month.format(PARTITION_SUFFIX)));
+    }
+}
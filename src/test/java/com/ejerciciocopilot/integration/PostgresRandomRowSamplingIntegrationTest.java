@@ -0,0 +1,108 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.model.Meme;
+import com.ejerciciocopilot.repository.MemeRepository;
+import com.ejerciciocopilot.service.MemeCatalog;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de la selección aleatoria en PostgreSQL embebido: con la tabla de memes por encima
+ * de app.excuses.catalog-max-entries el catálogo pasa a modo remoto y cada selección usa TABLESAMPLE,
+ * el camino que en H2 no se ejecuta.
+ */
+@SpringBootTest(properties = {
+        "app.excuses.catalog-max-entries=100",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ejerciciocopilot.integration.SqlStatementCounter"
+})
+@ActiveProfiles({"test", "postgres"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Postgres Random Row Sampling - TABLESAMPLE con catálogo remoto")
+class PostgresRandomRowSamplingIntegrationTest {
+
+    private static final int MEMES = 20_000;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    @Autowired
+    private MemeCatalog memeCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate excuses, memes");
+        // IDs de 10 en 10: densidad 0.1, así sin TABLESAMPLE el sorteo caería en OFFSET
+        jdbcTemplate.update("insert into memes (id, author, quote, created_at) "
+                + "select g * 10, 'Autor ' || g, 'Meme #' || g, now() from generate_series(1, ?) g", MEMES);
+        jdbcTemplate.execute("analyze memes");
+        memeCatalog.reload();
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    @DisplayName("Con la tabla sobre catalog-max-entries, pick() elige filas existentes con TABLESAMPLE")
+    void testRemoteCatalogUsesTableSample() {
+        // Act
+        Random random = new Random(5);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            seen.add(memeCatalog.pick(random).getId());
+        }
+
+        // Assert
+        assertThat(memeCatalog.isRemote()).isTrue();
+        assertThat(seen).hasSizeGreaterThan(25)
+                .allSatisfy(id -> assertThat(id % 10).isZero())
+                .allSatisfy(id -> assertThat(id).isBetween(10L, 10L * MEMES));
+        assertThat(SqlStatementCounter.statements())
+                .anyMatch(sql -> sql.contains("tablesample system"))
+                .noneMatch(sql -> sql.contains(" offset "));
+    }
+
+    @Test
+    @DisplayName("findRandom() con TABLESAMPLE REPEATABLE y el mismo seed elige la misma fila")
+    void testTableSampleIsReproducibleWithSeed() {
+        // Act
+        Meme first = memeRepository.findRandom(new Random(42)).orElseThrow();
+        Meme second = memeRepository.findRandom(new Random(42)).orElseThrow();
+
+        // Assert
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(SqlStatementCounter.statements()).anyMatch(sql -> sql.contains("tablesample system"));
+    }
+}
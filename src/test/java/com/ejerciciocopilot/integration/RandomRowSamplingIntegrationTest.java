@@ -0,0 +1,81 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.model.Meme;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de la selección aleatoria en la base de datos (MemeSamplingRepository).
+ * Usa una tabla con huecos en los IDs para cubrir los reintentos y el fallback por OFFSET.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Random Row Sampling - Tests de Integración")
+class RandomRowSamplingIntegrationTest {
+
+    @Autowired
+    private MemeRepository memeRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        memeRepository.deleteAll();
+        List<Meme> memes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            memes.add(Meme.builder().author("Autor " + i).quote("Meme #" + i).createdAt(LocalDateTime.now()).build());
+        }
+        List<Meme> saved = memeRepository.saveAll(memes);
+        // Borrar uno de cada cuatro deja huecos en el rango de IDs
+        memeRepository.deleteAll(saved.stream().filter(meme -> meme.getId() % 4 == 0).toList());
+        ids = memeRepository.findAll().stream().map(Meme::getId).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("findRandom() devuelve solo filas existentes y termina cubriendo toda la tabla")
+    void testFindRandomReturnsExistingRows() {
+        // Act
+        Random random = new Random(3);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 600; i++) {
+            seen.add(memeRepository.findRandom(random).orElseThrow().getId());
+        }
+
+        // Assert
+        assertThat(ids).containsAll(seen);
+        assertThat(seen).hasSameSizeAs(ids);
+    }
+
+    @Test
+    @DisplayName("findRandom() con el mismo seed elige la misma fila")
+    void testFindRandomIsReproducibleWithSeed() {
+        // Act
+        Long first = memeRepository.findRandom(new Random(99)).orElseThrow().getId();
+        Long second = memeRepository.findRandom(new Random(99)).orElseThrow().getId();
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("findByPosition() y countByIdLessThan() siguen el orden por ID; tabla vacía devuelve vacío")
+    void testPositionLookupsAndEmptyTable() {
+        // Act & Assert
+        assertThat(memeRepository.findByPosition(5)).map(Meme::getId).contains(ids.get(5));
+        assertThat(memeRepository.findByPosition(ids.size())).isEmpty();
+        assertThat(memeRepository.countByIdLessThan(ids.get(7))).isEqualTo(7);
+
+        memeRepository.deleteAll();
+        assertThat(memeRepository.findRandom(new Random(1))).isEmpty();
+    }
+}
@@ -0,0 +1,208 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.config.ReplicaLagGuard;
+import com.ejerciciocopilot.model.Law;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.service.LawService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.servlet.http.Cookie;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración de la separación de lecturas y escrituras con dos bases H2:
+ * una hace de primario y otra de réplica. La replicación se simula copiando el primario
+ * a la réplica con SCRIPT / RUNSCRIPT, así lo que se escribe después queda solo en el primario.
+ * El read-your-writes es por cliente (cookie de ReadYourWritesFilter), así que esos casos van por HTTP.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rw_primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.max-lag=1s"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("Read/Write Routing Integration Tests - Primario y réplica")
+class ReadWriteRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:rw_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private LawService lawService;
+
+    @Autowired
+    private LawRepository lawRepository;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        excuseRepository.deleteAll();
+        lawRepository.deleteAll();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new SingleConnectionDataSource(REPLICA_URL, "sa", "", true));
+        replicate();
+        // Inicializa el DispatcherServlet, para que el primer request no se coma max-lag
+        mockMvc.perform(get("/api/laws")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Las transacciones de solo lectura leen de la réplica")
+    void testReadOnlyTransactionsUseReplica() {
+        // Arrange: fila que solo existe en la réplica
+        replica.update("insert into laws (id, name, description, category, weight, created_at) "
+                + "values (1000000, 'Solo en la réplica', 'No está en el primario', 'Murphy', 1, current_timestamp)");
+
+        // Act
+        var laws = lawService.findAll();
+
+        // Assert
+        assertThat(laws).extracting(Law::getName).containsExactly("Solo en la réplica");
+        assertThat(primary.queryForObject("select count(*) from laws", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Las escrituras van al primario y no a la réplica")
+    void testWritesUsePrimary() {
+        // Act
+        Law created = lawService.create(law("Ley de Hofstadter"));
+
+        // Assert
+        assertThat(primary.queryForObject("select count(*) from laws where id = ?", Long.class, created.getId()))
+                .isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from laws where id = ?", Long.class, created.getId()))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Después de escribir, las lecturas del mismo cliente van al primario hasta que pasa max-lag")
+    void testReadYourWritesAfterCommit() throws Exception {
+        // Arrange
+        Cookie writer = createLaw("Ley de Brooks");
+
+        // Act + Assert: lectura inmediata del mismo cliente, la réplica todavía no tiene la ley
+        mockMvc.perform(get("/api/laws").cookie(writer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Ley de Brooks"));
+
+        // Act + Assert: pasado max-lag, la misma cookie ya no fija las lecturas
+        Thread.sleep(1100);
+        mockMvc.perform(get("/api/laws").cookie(writer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La escritura de un cliente no fija al primario las lecturas de otro cliente")
+    void testWriteDoesNotPinOtherClients() throws Exception {
+        // Arrange
+        Cookie writer = createLaw("Ley de Conway");
+
+        // Act + Assert: otro cliente (sin la cookie) sigue leyendo de la réplica
+        mockMvc.perform(get("/api/laws"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+        mockMvc.perform(get("/api/laws").cookie(writer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Ley de Conway"));
+    }
+
+    @Test
+    @DisplayName("Una transacción de escritura sin DML (reserva de ID por secuencia) no fija las lecturas al primario")
+    void testTransactionWithoutDmlIsNotAWrite() {
+        // Arrange
+        List<Instant> writes = new ArrayList<>();
+        replicaLagGuard.bind(null, writes::add);
+        try {
+            // Act
+            excuseRepository.nextId();
+
+            // Assert
+            assertThat(writes).isEmpty();
+            assertThat(replicaLagGuard.readsPinnedToPrimary()).isFalse();
+
+            // Act + Assert: un INSERT confirmado sí cuenta
+            lawService.create(law("Ley de Parkinson"));
+            assertThat(writes).hasSize(1);
+            assertThat(replicaLagGuard.readsPinnedToPrimary()).isTrue();
+        } finally {
+            replicaLagGuard.unbind();
+        }
+    }
+
+    /**
+     * Crea una ley por HTTP y devuelve la cookie de read-your-writes que recibió el cliente.
+     */
+    private Cookie createLaw(String name) throws Exception {
+        Cookie cookie = mockMvc.perform(post("/api/laws")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Siempre tarda más\","
+                                + "\"category\":\"Murphy\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie("rw-primary-until");
+        assertThat(cookie).isNotNull();
+        return cookie;
+    }
+
+    /**
+     * Copia el esquema y los datos del primario a la réplica.
+     */
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            primary.execute("script to '" + script.toAbsolutePath() + "'");
+            replica.execute("drop all objects");
+            replica.execute("runscript from '" + script.toAbsolutePath() + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private static Law law(String name) {
+        return Law.builder()
+                .name(name)
+                .description("Siempre tarda más de lo que esperás")
+                .category("Murphy")
+                .build();
+    }
+}
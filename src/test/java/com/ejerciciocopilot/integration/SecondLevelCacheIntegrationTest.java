@@ -0,0 +1,149 @@
+package com.ejerciciocopilot.integration;
+
+import com.ejerciciocopilot.dto.FragmentRequestDTO;
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.service.FragmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de integración de la caché de segundo nivel y de consultas:
+ * las lecturas repetidas del catálogo no llegan a la base y las escrituras
+ * del servicio invalidan las entradas afectadas.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ejerciciocopilot.integration.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+@DisplayName("Second Level Cache Integration Tests - Caché de entidades y consultas")
+class SecondLevelCacheIntegrationTest {
+
+    private static final String FRAGMENT_REGION = Fragment.class.getName();
+
+    @Autowired
+    private FragmentService fragmentService;
+
+    @Autowired
+    private FragmentRepository fragmentRepository;
+
+    @Autowired
+    private ExcuseRepository excuseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Fragment context;
+
+    @BeforeEach
+    void setUp() {
+        excuseRepository.deleteAll();
+        fragmentRepository.deleteAll();
+        context = fragmentService.create(fragment(FragmentType.CONTEXTO, "En mi máquina anda"));
+        fragmentService.create(fragment(FragmentType.CAUSA, "Cambió el proveedor de DNS"));
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    @DisplayName("La segunda ejecución de findByType se sirve desde la caché de consultas")
+    void testRepeatedFinderHitsQueryCache() {
+        // Arrange
+        List<Fragment> first = fragmentRepository.findByType(FragmentType.CONTEXTO);
+        SqlStatementCounter.clear();
+
+        // Act
+        List<Fragment> second = fragmentRepository.findByType(FragmentType.CONTEXTO);
+
+        // Assert
+        assertThat(second).extracting(Fragment::getId)
+                .containsExactlyElementsOf(first.stream().map(Fragment::getId).toList());
+        assertThat(SqlStatementCounter.count("select")).isZero();
+    }
+
+    @Test
+    @DisplayName("findById en otra transacción se resuelve desde la región de la entidad")
+    void testFindByIdHitsEntityRegion() {
+        // Arrange
+        CacheRegionStatistics region = regionStatistics();
+        long hitsBefore = region.getHitCount();
+
+        // Act
+        Fragment loaded = fragmentRepository.findById(context.getId()).orElseThrow();
+
+        // Assert
+        assertThat(loaded.getText()).isEqualTo("En mi máquina anda");
+        assertThat(SqlStatementCounter.count("select")).isZero();
+        assertThat(region.getHitCount()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Crear y actualizar desde el servicio invalida la caché de consultas y de entidades")
+    void testServiceWritesInvalidateCache() {
+        // Arrange: consulta y entidad en caché
+        assertThat(fragmentRepository.findByType(FragmentType.CONTEXTO)).hasSize(1);
+        fragmentRepository.findById(context.getId()).orElseThrow();
+        FragmentRequestDTO dto = new FragmentRequestDTO();
+        dto.setText("En staging anda");
+
+        // Act
+        Fragment created = fragmentService.create(fragment(FragmentType.CONTEXTO, "Ayer funcionaba"));
+        fragmentService.updateFromDTO(context.getId(), dto);
+
+        // Assert
+        assertThat(fragmentRepository.findByType(FragmentType.CONTEXTO))
+                .extracting(Fragment::getId)
+                .containsExactlyInAnyOrder(context.getId(), created.getId());
+        assertThat(fragmentRepository.findById(context.getId()).orElseThrow().getText())
+                .isEqualTo("En staging anda");
+    }
+
+    @Test
+    @DisplayName("La proporción de aciertos de la región se publica en excuses.cache.hit.ratio")
+    void testHitRatioIsPublished() {
+        // Act
+        fragmentRepository.findById(context.getId()).orElseThrow();
+        fragmentRepository.findById(context.getId()).orElseThrow();
+
+        // Assert
+        double ratio = meterRegistry.get("excuses.cache.hit.ratio")
+                .tag("region", FRAGMENT_REGION)
+                .gauge()
+                .value();
+        assertThat(ratio).isGreaterThan(0).isLessThanOrEqualTo(1);
+        assertThat(meterRegistry.get("excuses.cache.hits").tag("region", FRAGMENT_REGION)
+                .functionCounter().count()).isGreaterThan(0);
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getCacheRegionStatistics(FRAGMENT_REGION);
+    }
+
+    private static Fragment fragment(FragmentType type, String text) {
+        return Fragment.builder()
+                .type(type)
+                .text(text)
+                .role(Role.DEV)
+                .build();
+    }
+}
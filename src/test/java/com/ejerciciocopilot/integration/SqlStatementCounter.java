@@ -0,0 +1,63 @@
+package com.ejerciciocopilot.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * StatementInspector de Hibernate que registra cada sentencia SQL preparada.
+ * Con batching JDBC, un batch de INSERT cuenta como una sola sentencia.
+ * Se activa con hibernate.session_factory.statement_inspector en los tests que lo usan.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.trim().toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Sentencias que empiezan con la palabra clave indicada (insert, update, delete, select),
+     * sin contar las consultas a secuencias.
+     */
+    static long count(String keyword) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith(keyword))
+                .filter(sql -> !isSequenceCall(sql))
+                .count();
+    }
+
+    /**
+     * Consultas a secuencias para asignar IDs.
+     */
+    static long sequenceCalls() {
+        return STATEMENTS.stream().filter(SqlStatementCounter::isSequenceCall).count();
+    }
+
+    /**
+     * Total de sentencias sin contar las consultas a secuencias.
+     */
+    static long total() {
+        return STATEMENTS.size() - sequenceCalls();
+    }
+
+    /**
+     * Sentencias registradas desde el último clear(), en minúsculas.
+     */
+    static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    private static boolean isSequenceCall(String sql) {
+        return sql.contains("next value for") || sql.contains("nextval(");
+    }
+}
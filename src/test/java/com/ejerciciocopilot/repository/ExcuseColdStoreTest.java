@@ -0,0 +1,133 @@
+package com.ejerciciocopilot.repository;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para ExcuseColdStore.
+ * Cubre búsqueda por índice disperso entre bloques y segmentos, campos opcionales,
+ * recarga de los índices desde disco y compresión.
+ */
+@DisplayName("ExcuseColdStore - Tests Unitarios")
+class ExcuseColdStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private ExcuseProperties excuseProperties;
+
+    @BeforeEach
+    void setUp() {
+        excuseProperties = new ExcuseProperties();
+        excuseProperties.setColdStorageDir(directory);
+    }
+
+    @Test
+    @DisplayName("find() encuentra cada excusa archivada en cualquier bloque y no inventa las que faltan")
+    void testFindAcrossBlocks() {
+        // Arrange: IDs pares, más de dos bloques
+        ExcuseColdStore store = new ExcuseColdStore(excuseProperties);
+        List<Excuse> excuses = LongStream.rangeClosed(1, 300).map(i -> i * 2).mapToObj(this::excuse).toList();
+
+        // Act
+        store.append(excuses);
+
+        // Assert
+        for (long id : new long[] {2, 256, 258, 514, 600}) {
+            assertThat(store.find(id)).get().extracting(Excuse::getSeed).isEqualTo(id * 10);
+        }
+        assertThat(store.find(3)).isEmpty();
+        assertThat(store.find(601)).isEmpty();
+        assertThat(store.find(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("find() conserva tipo, rol, clave de composición, IDs de relaciones y fechas")
+    void testFindRestoresAllFields() {
+        // Arrange
+        ExcuseColdStore store = new ExcuseColdStore(excuseProperties);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+        Excuse full = Excuse.builder()
+                .id(42L)
+                .type(ExcuseType.ULTRA_SHARK)
+                .role(Role.QA)
+                .seed(-7L)
+                .compositionKey(123_456_789L)
+                .context(Fragment.builder().id(1L).build())
+                .cause(Fragment.builder().id(2L).build())
+                .consequence(Fragment.builder().id(3L).build())
+                .recommendation(Fragment.builder().id(4L).build())
+                .meme(Meme.builder().id(5L).build())
+                .law(Law.builder().id(6L).build())
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusHours(1))
+                .build();
+
+        // Act
+        store.append(List.of(full, excuse(41)));
+        Excuse found = store.find(42).orElseThrow();
+        Excuse minimal = store.find(41).orElseThrow();
+
+        // Assert
+        assertThat(found.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+        assertThat(found.getRole()).isEqualTo(Role.QA);
+        assertThat(found.getSeed()).isEqualTo(-7L);
+        assertThat(found.getCompositionKey()).isEqualTo(123_456_789L);
+        assertThat(found.getContext().getId()).isEqualTo(1L);
+        assertThat(found.getRecommendation().getId()).isEqualTo(4L);
+        assertThat(found.getMeme().getId()).isEqualTo(5L);
+        assertThat(found.getLaw().getId()).isEqualTo(6L);
+        assertThat(found.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(found.getUpdatedAt()).isEqualTo(createdAt.plusHours(1));
+        assertThat(minimal.getRole()).isNull();
+        assertThat(minimal.getMeme()).isNull();
+        assertThat(minimal.getUpdatedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Una instancia nueva carga los índices de los segmentos existentes")
+    void testReloadsSegmentsFromDisk() throws Exception {
+        // Arrange
+        ExcuseColdStore writer = new ExcuseColdStore(excuseProperties);
+        writer.append(LongStream.rangeClosed(1, 1_000).mapToObj(this::excuse).toList());
+        writer.append(LongStream.rangeClosed(1_001, 1_010).mapToObj(this::excuse).toList());
+        long bytes;
+        try (var files = Files.list(directory)) {
+            bytes = files.mapToLong(path -> path.toFile().length()).sum();
+        }
+
+        // Act
+        ExcuseColdStore reader = new ExcuseColdStore(excuseProperties);
+
+        // Assert
+        assertThat(reader.segmentCount()).isEqualTo(2);
+        assertThat(reader.find(777)).isPresent();
+        assertThat(reader.find(1_005)).isPresent();
+        assertThat(bytes).isLessThan(1_010L * 30);
+    }
+
+    private Excuse excuse(long id) {
+        return Excuse.builder()
+                .id(id)
+                .type(ExcuseType.SIMPLE)
+                .seed(id * 10)
+                .context(Fragment.builder().id(1L).build())
+                .cause(Fragment.builder().id(2L).build())
+                .consequence(Fragment.builder().id(3L).build())
+                .recommendation(Fragment.builder().id(4L).build())
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ejerciciocopilot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para AliasTable.
+ * Cubre la distribución (chi-cuadrado), pesos 0 (sueltos y todos) y compatibilidad del caso uniforme con nextInt.
+ */
+@DisplayName("AliasTable - Tests Unitarios")
+class AliasTableTest {
+
+    /**
+     * Valor crítico de chi-cuadrado con 4 grados de libertad y p = 0.001.
+     */
+    private static final double CHI_SQUARE_CRITICAL_DF4 = 18.467;
+
+    @Test
+    @DisplayName("sample() respeta los pesos (chi-cuadrado) y nunca elige pesos 0")
+    void testSampleFollowsWeights() {
+        // Arrange
+        double[] weights = {1, 2, 3, 4, 0, 10};
+        AliasTable table = AliasTable.of(weights);
+        SplittableRandom random = new SplittableRandom(42);
+        int samples = 200_000;
+        long[] observed = new long[weights.length];
+
+        // Act
+        for (int i = 0; i < samples; i++) {
+            observed[table.sample(random)]++;
+        }
+
+        // Assert
+        double total = 20;
+        double chiSquare = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                double expected = samples * weights[i] / total;
+                chiSquare += Math.pow(observed[i] - expected, 2) / expected;
+            }
+        }
+        assertThat(observed[4]).isZero();
+        assertThat(chiSquare).isLessThan(CHI_SQUARE_CRITICAL_DF4);
+    }
+
+    @Test
+    @DisplayName("con pesos iguales sample() consume el generador igual que nextInt()")
+    void testUniformWeightsMatchNextInt() {
+        // Arrange
+        AliasTable table = AliasTable.of(new double[] {1, 1, 1, 1, 1, 1, 1});
+        SplittableRandom random = new SplittableRandom(7);
+        SplittableRandom reference = new SplittableRandom(7);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(table.sample(random)).isEqualTo(reference.nextInt(7));
+        }
+    }
+
+    @Test
+    @DisplayName("con todos los pesos en 0 la tabla queda vacía y sample() falla")
+    void testAllZeroWeightsHaveNoEligibleIndex() {
+        // Arrange
+        AliasTable table = AliasTable.of(new double[] {0, 0, -1});
+
+        // Act & Assert
+        assertThat(table.isEmpty()).isTrue();
+        assertThat(AliasTable.of(new double[0]).isEmpty()).isTrue();
+        assertThat(AliasTable.of(new double[] {0, 1}).isEmpty()).isFalse();
+        assertThatThrownBy(() -> table.sample(new SplittableRandom(3)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.exception.EntityNotFoundException;
+import com.ejerciciocopilot.mapper.ExcuseMapper;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CompositionCodec.
+ * Cubre la ida y vuelta de la clave, las excusas no codificables, las claves que ya no existen en el catálogo
+ * los tokens viejos cuyas posiciones apuntan a otros elementos y los catálogos que no entran en su campo.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CompositionCodec - Tests Unitarios")
+class CompositionCodecTest {
+
+    @Mock
+    private FragmentRepository fragmentRepository;
+
+    @Mock
+    private MemeRepository memeRepository;
+
+    @Mock
+    private LawRepository lawRepository;
+
+    private FragmentCatalog fragmentCatalog;
+    private MemeCatalog memeCatalog;
+    private CompositionCodec compositionCodec;
+
+    @BeforeEach
+    void setUp() {
+        fragmentCatalog = new FragmentCatalog(fragmentRepository);
+        memeCatalog = new MemeCatalog(memeRepository, new ExcuseProperties());
+        compositionCodec = new CompositionCodec(fragmentCatalog, memeCatalog, new LawCatalog(lawRepository, new ExcuseProperties()));
+        long id = 10;
+        for (FragmentType type : FragmentType.values()) {
+            List<Fragment> fragments = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                fragments.add(Fragment.builder()
+                        .id(id++)
+                        .type(type)
+                        .text(type + " #" + i)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+            lenient().when(fragmentRepository.findByType(type)).thenReturn(fragments);
+        }
+        lenient().when(memeRepository.findAll()).thenReturn(List.of(
+                Meme.builder().id(1L).author("Anónimo").quote("It works on my machine").createdAt(LocalDateTime.now()).build(),
+                Meme.builder().id(2L).author("KC Green").quote("This is fine").createdAt(LocalDateTime.now()).build()));
+        lenient().when(lawRepository.findAll()).thenReturn(List.of(
+                Law.builder().id(5L).name("Murphy").description("Si algo puede fallar, fallará")
+                        .createdAt(LocalDateTime.now()).build()));
+    }
+
+    @Test
+    @DisplayName("decode(encode(excusa)) devuelve los mismos fragmentos, meme, ley, tipo y rol")
+    void testRoundTrip() {
+        // Arrange
+        Excuse excuse = Excuse.builder()
+                .context(fragmentCatalog.get(FragmentType.CONTEXTO, null, 2))
+                .cause(fragmentCatalog.get(FragmentType.CAUSA, null, 0))
+                .consequence(fragmentCatalog.get(FragmentType.CONSECUENCIA, null, 1))
+                .recommendation(fragmentCatalog.get(FragmentType.RECOMENDACION, null, 2))
+                .meme(memeCatalog.get(1))
+                .law(Law.builder().id(5L).build())
+                .type(ExcuseType.ULTRA_SHARK)
+                .role(Role.DEVOPS)
+                .build();
+
+        // Act
+        Long key = compositionCodec.encode(excuse);
+        excuse.setCompositionKey(key);
+        Excuse decoded = compositionCodec.decode(ExcuseMapper.fromToken(ExcuseMapper.toToken(excuse)));
+
+        // Assert
+        assertThat(key).isNotNull();
+        assertThat(decoded.getContext().getId()).isEqualTo(excuse.getContext().getId());
+        assertThat(decoded.getCause().getId()).isEqualTo(excuse.getCause().getId());
+        assertThat(decoded.getConsequence().getId()).isEqualTo(excuse.getConsequence().getId());
+        assertThat(decoded.getRecommendation().getId()).isEqualTo(excuse.getRecommendation().getId());
+        assertThat(decoded.getMeme().getId()).isEqualTo(2L);
+        assertThat(decoded.getLaw().getId()).isEqualTo(5L);
+        assertThat(decoded.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+        assertThat(decoded.getRole()).isEqualTo(Role.DEVOPS);
+        assertThat(decoded.getCompositionKey()).isEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("encode() devuelve null si un fragmento no está en el catálogo con su tipo")
+    void testEncodeReturnsNullForUnknownFragment() {
+        // Arrange: la causa es en realidad un fragmento de CONTEXTO
+        Excuse excuse = Excuse.builder()
+                .context(fragmentCatalog.get(FragmentType.CONTEXTO, null, 0))
+                .cause(fragmentCatalog.get(FragmentType.CONTEXTO, null, 1))
+                .consequence(fragmentCatalog.get(FragmentType.CONSECUENCIA, null, 0))
+                .recommendation(fragmentCatalog.get(FragmentType.RECOMENDACION, null, 0))
+                .type(ExcuseType.SIMPLE)
+                .build();
+
+        // Act & Assert
+        assertThat(compositionCodec.encode(excuse)).isNull();
+    }
+
+    @Test
+    @DisplayName("decode() lanza EntityNotFoundException si la posición ya no existe y IllegalArgumentException con rol inválido")
+    void testDecodeRejectsStaleOrInvalidKeys() {
+        // Arrange: posición 3 de CONTEXTO (solo hay 3) y código de rol 7 (solo hay 6 roles)
+        long staleKey = 3L << 5;
+        long invalidRoleKey = 7L << 2;
+
+        // Act & Assert
+        assertThatThrownBy(() -> compositionCodec.decode(staleKey))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> compositionCodec.decode(invalidRoleKey))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ExcuseMapper.fromToken("no-es-un-token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Token inválido");
+    }
+
+    @Test
+    @DisplayName("Un token emitido antes de borrar un fragmento da EntityNotFoundException en lugar de otra excusa")
+    void testDecodeRejectsTokenAfterFragmentDeleted() {
+        // Arrange: contexto en la posición 1 (ID 11); al borrar el ID 10, la posición 1 pasa a ser el ID 12
+        Excuse excuse = Excuse.builder()
+                .context(fragmentCatalog.get(FragmentType.CONTEXTO, null, 1))
+                .cause(fragmentCatalog.get(FragmentType.CAUSA, null, 0))
+                .consequence(fragmentCatalog.get(FragmentType.CONSECUENCIA, null, 0))
+                .recommendation(fragmentCatalog.get(FragmentType.RECOMENDACION, null, 0))
+                .type(ExcuseType.SIMPLE)
+                .build();
+        excuse.setCompositionKey(compositionCodec.encode(excuse));
+        String token = ExcuseMapper.toToken(excuse);
+
+        // Act
+        fragmentCatalog.onDeleted(10L);
+
+        // Assert: la clave sola todavía se resuelve, pero a otro fragmento
+        assertThat(compositionCodec.decode(excuse.getCompositionKey()).getContext().getId()).isEqualTo(12L);
+        assertThatThrownBy(() -> compositionCodec.decode(ExcuseMapper.fromToken(token)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("encode() devuelve null sin consultar la base si el catálogo de memes está en modo remoto")
+    void testEncodeSkipsRemoteCatalogWithoutQueries() {
+        // Arrange: más memes que catalog-max-entries (y que los 9 bits del campo)
+        ExcuseProperties properties = new ExcuseProperties();
+        properties.setCatalogMaxEntries(1);
+        when(memeRepository.countCached()).thenReturn(1_000L);
+        CompositionCodec remoteCodec = new CompositionCodec(fragmentCatalog, new MemeCatalog(memeRepository, properties),
+                new LawCatalog(lawRepository, new ExcuseProperties()));
+        Excuse excuse = Excuse.builder()
+                .context(fragmentCatalog.get(FragmentType.CONTEXTO, null, 0))
+                .cause(fragmentCatalog.get(FragmentType.CAUSA, null, 0))
+                .consequence(fragmentCatalog.get(FragmentType.CONSECUENCIA, null, 0))
+                .recommendation(fragmentCatalog.get(FragmentType.RECOMENDACION, null, 0))
+                .meme(Meme.builder().id(1L).build())
+                .type(ExcuseType.ULTRA_SHARK)
+                .build();
+
+        // Act
+        Long key = remoteCodec.encode(excuse);
+
+        // Assert
+        assertThat(key).isNull();
+        verify(memeRepository, never()).existsById(any());
+        verify(memeRepository, never()).countByIdLessThan(any());
+    }
+}
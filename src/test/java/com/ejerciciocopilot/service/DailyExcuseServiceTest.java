@@ -0,0 +1,235 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para DailyExcuseService.
+ * Cubre memoización por (fecha, rol), fecha según zona horaria, guardado único, precálculo antes de medianoche
+ * y el registro acotado de zonas.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DailyExcuseService - Tests Unitarios")
+class DailyExcuseServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private ExcuseService excuseService;
+
+    private MutableClock clock;
+    private ExcuseProperties properties;
+    private DailyExcuseService dailyExcuseService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(DAY.atTime(12, 0).toInstant(ZoneOffset.UTC));
+        properties = new ExcuseProperties();
+        properties.setDailyZone(ZoneOffset.UTC);
+        dailyExcuseService = new DailyExcuseService(excuseService, properties, clock);
+    }
+
+    @Test
+    @DisplayName("today() compone la excusa una sola vez por día y rol")
+    void testTodayIsComputedOncePerDayAndRole() {
+        // Arrange
+        when(excuseService.composeDaily(any(), any())).thenAnswer(call -> daily(call.getArgument(0), null));
+        when(excuseService.composeDaily(DAY, Role.QA)).thenReturn(daily(DAY, Role.QA));
+
+        // Act
+        ExcuseResponseDTO first = dailyExcuseService.today(null, null);
+        ExcuseResponseDTO second = dailyExcuseService.today(null, "UTC");
+        ExcuseResponseDTO qa = dailyExcuseService.today("qa", null);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSeed()).isEqualTo(DAY.toEpochDay());
+        assertThat(qa.getRole()).isEqualTo("QA");
+        verify(excuseService, times(1)).composeDaily(DAY, null);
+        verify(excuseService, times(1)).composeDaily(DAY, Role.QA);
+        verify(excuseService, never()).generateDaily(any(), any());
+    }
+
+    @Test
+    @DisplayName("today() usa la fecha de la zona horaria pedida")
+    void testTodayUsesRequestedZone() {
+        // Arrange
+        clock.set(DAY.atTime(23, 30).toInstant(ZoneOffset.UTC));
+        when(excuseService.composeDaily(any(), any())).thenAnswer(call -> daily(call.getArgument(0), null));
+
+        // Act
+        ExcuseResponseDTO utc = dailyExcuseService.today(null, null);
+        ExcuseResponseDTO tokyo = dailyExcuseService.today(null, "Asia/Tokyo");
+
+        // Assert
+        assertThat(utc.getSeed()).isEqualTo(DAY.toEpochDay());
+        assertThat(tokyo.getSeed()).isEqualTo(DAY.plusDays(1).toEpochDay());
+    }
+
+    @Test
+    @DisplayName("todayStored() guarda la excusa del día una sola vez")
+    void testTodayStoredPersistsOnce() {
+        // Arrange
+        when(excuseService.composeDaily(DAY, null)).thenReturn(daily(DAY, null));
+        Excuse stored = daily(DAY, null);
+        stored.setId(7L);
+        when(excuseService.generateDaily(DAY, null)).thenReturn(stored);
+
+        // Act
+        ExcuseResponseDTO first = dailyExcuseService.todayStored(null, null);
+        ExcuseResponseDTO second = dailyExcuseService.todayStored(null, null);
+
+        // Assert
+        assertThat(first.getId()).isEqualTo(7L);
+        assertThat(second).isSameAs(first);
+        assertThat(dailyExcuseService.today(null, null).getId()).isNull();
+        verify(excuseService, times(1)).generateDaily(DAY, null);
+    }
+
+    @Test
+    @DisplayName("rollover() precalcula el día siguiente antes de medianoche y descarta los días viejos")
+    void testRolloverPrecomputesNextDay() {
+        // Arrange
+        when(excuseService.composeDaily(any(), any())).thenAnswer(call -> daily(call.getArgument(0), null));
+        dailyExcuseService.today(null, null);
+        dailyExcuseService.today("DEV", null);
+
+        // Act: a dos minutos de medianoche todavía no se precalcula
+        clock.set(DAY.atTime(23, 58).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.rollover();
+        verify(excuseService, never()).composeDaily(eq(DAY.plusDays(1)), any());
+
+        // Act: a 30 segundos de medianoche se precalculan la excusa general y la de DEV
+        clock.set(DAY.atTime(23, 59, 30).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.rollover();
+        clock.set(DAY.plusDays(1).atTime(0, 0, 5).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.today(null, null);
+        dailyExcuseService.today("DEV", null);
+
+        // Assert
+        verify(excuseService, times(1)).composeDaily(DAY.plusDays(1), null);
+        verify(excuseService, times(1)).composeDaily(DAY.plusDays(1), Role.DEV);
+
+        // Act: dos días después se descarta el día original
+        clock.set(DAY.plusDays(2).atTime(12, 0).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.rollover();
+        clock.set(DAY.atTime(12, 0).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.today(null, null);
+        verify(excuseService, times(2)).composeDaily(DAY, null);
+    }
+
+    @Test
+    @DisplayName("Con el registro de zonas lleno, una zona nueva se sirve igual pero no se precalcula")
+    void testZonesBeyondLimitAreNotPrecomputed() {
+        // Arrange: solo entra la zona por defecto (UTC)
+        properties.setDailyMaxZones(1);
+        when(excuseService.composeDaily(any(), any())).thenAnswer(call -> daily(call.getArgument(0), null));
+        dailyExcuseService.today(null, null);
+        ExcuseResponseDTO plusFive = dailyExcuseService.today(null, "+05:00");
+
+        // Act: a 30 segundos de la medianoche de +05:00
+        clock.set(DAY.atTime(18, 59, 30).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.rollover();
+
+        // Assert
+        assertThat(plusFive.getSeed()).isEqualTo(DAY.toEpochDay());
+        verify(excuseService, never()).composeDaily(eq(DAY.plusDays(1)), any());
+    }
+
+    @Test
+    @DisplayName("rollover() olvida las zonas que no se piden hace más de ZONE_IDLE")
+    void testIdleZonesAreForgotten() {
+        // Arrange
+        when(excuseService.composeDaily(any(), any())).thenAnswer(call -> daily(call.getArgument(0), null));
+        dailyExcuseService.today(null, "+05:00");
+
+        // Act: tres días después, a 30 segundos de la medianoche de +05:00
+        LocalDate later = DAY.plusDays(3);
+        clock.set(later.atTime(18, 59, 30).toInstant(ZoneOffset.UTC));
+        dailyExcuseService.rollover();
+
+        // Assert
+        verify(excuseService, never()).composeDaily(eq(later.plusDays(1)), any());
+    }
+
+    @Test
+    @DisplayName("today() lanza IllegalArgumentException con zona horaria o rol inválidos")
+    void testTodayThrowsWithInvalidZoneOrRole() {
+        // Act & Assert
+        assertThatThrownBy(() -> dailyExcuseService.today(null, "Marte/Olympus"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Zona horaria inválida");
+        assertThatThrownBy(() -> dailyExcuseService.today("CEO", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Rol inválido");
+        verifyNoInteractions(excuseService);
+    }
+
+    private static Excuse daily(LocalDate day, Role role) {
+        Fragment fragment = Fragment.builder()
+                .id(1L)
+                .type(FragmentType.CONTEXTO)
+                .text("En producción")
+                .createdAt(LocalDateTime.now())
+                .build();
+        return Excuse.builder()
+                .context(fragment)
+                .cause(fragment)
+                .consequence(fragment)
+                .recommendation(fragment)
+                .type(ExcuseType.SIMPLE)
+                .role(role)
+                .seed(day.toEpochDay())
+                .build();
+    }
+
+    /**
+     * Reloj que el test puede mover.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.config.RandomProperties;
+import com.ejerciciocopilot.dto.ExcuseCursorResponseDTO;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.model.*;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.LawRepository;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExcuseCursorService.
+ * Cubre el recorrido completo sin repeticiones, el cursor opaco y la detección de cambios de catálogo.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcuseCursorService - Tests Unitarios")
+class ExcuseCursorServiceTest {
+
+    @Mock
+    private FragmentRepository fragmentRepository;
+
+    @Mock
+    private MemeRepository memeRepository;
+
+    @Mock
+    private LawRepository lawRepository;
+
+    private FragmentCatalog fragmentCatalog;
+    private ExcuseCursorService excuseCursorService;
+
+    @BeforeEach
+    void setUp() {
+        fragmentCatalog = new FragmentCatalog(fragmentRepository);
+        excuseCursorService = new ExcuseCursorService(fragmentCatalog, new MemeCatalog(memeRepository, new ExcuseProperties()),
+                new LawCatalog(lawRepository, new ExcuseProperties()), new RandomSource(new RandomProperties()));
+        long id = 1;
+        for (FragmentType type : FragmentType.values()) {
+            List<Fragment> fragments = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                fragments.add(Fragment.builder()
+                        .id(id++)
+                        .type(type)
+                        .text(type + " #" + i)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+            lenient().when(fragmentRepository.findByType(type)).thenReturn(fragments);
+        }
+    }
+
+    @Test
+    @DisplayName("next() recorre todas las combinaciones sin repetir y termina con cursor null")
+    void testNextWalksWholeSpaceWithoutRepeats() {
+        // Arrange
+        when(memeRepository.findAll()).thenReturn(List.of(
+                Meme.builder().id(1L).author("Tano").quote("¿Cómo que falló?").build(),
+                Meme.builder().id(2L).author("Milei").quote("¡Afuera!").build()));
+        Set<String> seen = new HashSet<>();
+
+        // Act
+        ExcuseCursorResponseDTO page = excuseCursorService.next(null, "con_meme", null);
+        long total = page.getTotal();
+        seen.add(key(page.getExcuse()));
+        while (page.getNextCursor() != null) {
+            page = excuseCursorService.next(page.getNextCursor(), null, null);
+            assertThat(page.getExcuse().getType()).isEqualTo("CON_MEME");
+            assertThat(seen.add(key(page.getExcuse()))).as("combinación repetida").isTrue();
+        }
+
+        // Assert
+        assertThat(total).isEqualTo(3 * 3 * 3 * 3 * 2);
+        assertThat(seen).hasSize((int) total);
+        assertThat(page.getPosition()).isEqualTo(total);
+        verify(memeRepository, times(1)).findAll();
+        verifyNoInteractions(lawRepository);
+    }
+
+    @Test
+    @DisplayName("next() con el mismo cursor devuelve la misma excusa")
+    void testSameCursorReturnsSameExcuse() {
+        // Act
+        String cursor = excuseCursorService.next(null, null, null).getNextCursor();
+        ExcuseCursorResponseDTO first = excuseCursorService.next(cursor, null, null);
+        ExcuseCursorResponseDTO again = excuseCursorService.next(cursor, null, null);
+
+        // Assert
+        assertThat(key(again.getExcuse())).isEqualTo(key(first.getExcuse()));
+        assertThat(again.getNextCursor()).isEqualTo(first.getNextCursor());
+        assertThat(first.getPosition()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("next() vuelve a empezar el recorrido si el catálogo cambió desde que se emitió el cursor")
+    void testNextRestartsWhenCatalogChanged() {
+        // Arrange
+        String cursor = excuseCursorService.next(null, null, null).getNextCursor();
+
+        // Act
+        fragmentCatalog.onSaved(Fragment.builder()
+                .id(99L)
+                .type(FragmentType.CAUSA)
+                .text("Un rayo cósmico")
+                .createdAt(LocalDateTime.now())
+                .build());
+        ExcuseCursorResponseDTO page = excuseCursorService.next(cursor, null, null);
+
+        // Assert
+        assertThat(page.isRestarted()).isTrue();
+        assertThat(page.getPosition()).isEqualTo(1);
+        assertThat(page.getTotal()).isEqualTo(3 * 4 * 3 * 3);
+    }
+
+    @Test
+    @DisplayName("next() vuelve a empezar si el catálogo cambió aunque el total de combinaciones sea el mismo")
+    void testNextRestartsWhenCatalogChangedWithSameTotal() {
+        // Arrange
+        String cursor = excuseCursorService.next(null, null, null).getNextCursor();
+
+        // Act: se borra una causa y se agrega otra, el total no cambia
+        fragmentCatalog.onDeleted(4L);
+        fragmentCatalog.onSaved(Fragment.builder()
+                .id(99L)
+                .type(FragmentType.CAUSA)
+                .text("Un rayo cósmico")
+                .createdAt(LocalDateTime.now())
+                .build());
+        ExcuseCursorResponseDTO page = excuseCursorService.next(cursor, null, null);
+        ExcuseCursorResponseDTO next = excuseCursorService.next(page.getNextCursor(), null, null);
+
+        // Assert
+        assertThat(page.isRestarted()).isTrue();
+        assertThat(page.getPosition()).isEqualTo(1);
+        assertThat(next.isRestarted()).isFalse();
+        assertThat(next.getPosition()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("next() lanza IllegalArgumentException con cursor o tipo inválidos")
+    void testNextThrowsWithInvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> excuseCursorService.next("no-es-un-cursor", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor inválido");
+        assertThatThrownBy(() -> excuseCursorService.next(null, "MEGALODON", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Tipo inválido");
+    }
+
+    private static String key(ExcuseResponseDTO excuse) {
+        return excuse.getContext().getId() + "-" + excuse.getCause().getId() + "-"
+                + excuse.getConsequence().getId() + "-" + excuse.getRecommendation().getId() + "-"
+                + (excuse.getMeme() != null ? excuse.getMeme().getId() : null);
+    }
+}
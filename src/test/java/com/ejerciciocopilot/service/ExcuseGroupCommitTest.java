@@ -0,0 +1,196 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.exception.ServiceBusyException;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExcuseGroupCommit.
+ * Cubre el agrupado de requests concurrentes, el aislamiento de las filas que fallan, la espera acotada
+ * del commit y el modo sin hilo.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcuseGroupCommit - Tests Unitarios")
+class ExcuseGroupCommitTest {
+
+    private static final int CALLERS = 64;
+
+    @Mock
+    private ExcuseRepository excuseRepository;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private ExcuseProperties properties;
+    private ExcuseGroupCommit groupCommit;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExcuseProperties();
+        properties.setGroupCommitEnabled(true);
+        properties.setGroupCommitWindow(Duration.ofMillis(5));
+        properties.setGroupCommitMaxBatch(32);
+        lenient().when(excuseRepository.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+        lenient().doAnswer(invocation -> {
+            List<Excuse> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(Excuse::getId).toList());
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        groupCommit = new ExcuseGroupCommit(excuseRepository, properties);
+        registry = new SimpleMeterRegistry();
+        groupCommit.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        groupCommit.stop();
+    }
+
+    @Test
+    @DisplayName("save() concurrentes se confirman en pocos batches y cada request recibe su ID")
+    void testConcurrentSavesShareCommits() throws Exception {
+        // Arrange
+        groupCommit.start();
+
+        // Act
+        List<Excuse> saved = saveConcurrently();
+
+        // Assert
+        assertThat(saved).extracting(Excuse::getId).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(batches.stream().flatMap(List::stream).toList())
+                .containsExactlyInAnyOrderElementsOf(saved.stream().map(Excuse::getId).toList());
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(32));
+        assertThat(groupCommit.commits()).isEqualTo(batches.size()).isLessThan(CALLERS / 2);
+        assertThat(registry.get("excuses.groupcommit.batch.size").summary().totalAmount()).isEqualTo(CALLERS);
+        verify(excuseRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Si el batch falla por una fila, solo el request de esa fila recibe el error")
+    void testBatchFailureOnlyFailsTheBadRow() throws Exception {
+        // Arrange: la excusa con seed -1 viola una FK y revierte cualquier batch que la incluya
+        doAnswer(invocation -> {
+            List<Excuse> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(excuse -> excuse.getSeed() == -1L)) {
+                throw new DataIntegrityViolationException("FK inválida");
+            }
+            batches.add(batch.stream().map(Excuse::getId).toList());
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        groupCommit.start();
+        Excuse bad = excuse();
+        bad.setSeed(-1L);
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Excuse>> good = executor.submit(this::saveConcurrently);
+            Future<Excuse> failed = executor.submit(() -> groupCommit.save(bad));
+
+            // Assert
+            assertThatThrownBy(failed::get).hasRootCauseInstanceOf(DataIntegrityViolationException.class);
+            assertThat(good.get()).hasSize(CALLERS);
+            assertThat(batches.stream().flatMap(List::stream).toList())
+                    .containsExactlyInAnyOrderElementsOf(good.get().stream().map(Excuse::getId).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Si el batch no se confirma en group-commit-wait-timeout, save() lanza ServiceBusyException")
+    void testSaveTimesOutWhenCommitHangs() {
+        // Arrange: el INSERT queda colgado hasta el final del test
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        properties.setGroupCommitWaitTimeout(Duration.ofMillis(100));
+        groupCommit.start();
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> groupCommit.save(excuse()))
+                    .isInstanceOf(ServiceBusyException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Sin el hilo del group commit, save() guarda la excusa sola con el repositorio")
+    void testSaveFallsBackWhenStopped() {
+        // Arrange
+        Excuse excuse = excuse();
+        when(excuseRepository.save(excuse)).thenReturn(excuse);
+
+        // Act
+        groupCommit.save(excuse);
+
+        // Assert
+        verify(excuseRepository, times(1)).save(excuse);
+        verify(excuseRepository, never()).insertAssigned(anyList());
+    }
+
+    /**
+     * Lanza CALLERS save() a la vez y devuelve las excusas confirmadas.
+     */
+    private List<Excuse> saveConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Excuse>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    return groupCommit.save(excuse());
+                }));
+            }
+            go.countDown();
+            List<Excuse> saved = new ArrayList<>();
+            for (Future<Excuse> future : futures) {
+                saved.add(future.get());
+            }
+            return saved;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Excuse excuse() {
+        return Excuse.builder()
+                .type(ExcuseType.SIMPLE)
+                .seed(42L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.dto.ExcuseResponseDTO;
+import com.ejerciciocopilot.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExcusePool.
+ * Cubre fallback síncrono, llenado en segundo plano, invalidación por versión del catálogo, nivel objetivo
+ * y recuperación del hilo ante errores de la base.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcusePool - Tests Unitarios")
+class ExcusePoolTest {
+
+    @Mock
+    private ExcuseService excuseService;
+
+    @Mock
+    private FragmentCatalog fragmentCatalog;
+
+    private ExcusePool excusePool;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ExcuseProperties properties = new ExcuseProperties();
+        properties.setPoolCapacity(64);
+        properties.setPoolMinFill(8);
+        excusePool = new ExcusePool(excuseService, fragmentCatalog, properties);
+        registry = new SimpleMeterRegistry();
+        excusePool.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        excusePool.destroy();
+    }
+
+    @Test
+    @DisplayName("next() genera la excusa en el momento si el pool está vacío")
+    void testNextFallsBackWhenEmpty() {
+        // Arrange
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, null)).thenReturn(excuse());
+
+        // Act
+        ExcuseResponseDTO response = excusePool.next();
+
+        // Assert
+        assertThat(response.getSeed()).isEqualTo(42L);
+        assertThat(count("excuses.pool.misses")).isEqualTo(1);
+        assertThat(count("excuses.pool.hits")).isZero();
+        verify(excuseService, times(1)).generateEphemeral(ExcuseType.SIMPLE, null);
+    }
+
+    @Test
+    @DisplayName("start() llena el pool hasta el nivel mínimo y next() lo consume sin generar")
+    void testStartFillsPoolAndNextServesHits() throws InterruptedException {
+        // Arrange
+        when(fragmentCatalog.version()).thenReturn(1L);
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, null)).thenReturn(excuse());
+
+        // Act
+        excusePool.start();
+        await(() -> excusePool.size() >= 8);
+        excusePool.destroy();
+        int generated = mockingDetails(excuseService).getInvocations().size();
+        ExcuseResponseDTO response = excusePool.next();
+
+        // Assert
+        assertThat(response.getSeed()).isEqualTo(42L);
+        assertThat(count("excuses.pool.hits")).isEqualTo(1);
+        assertThat(count("excuses.pool.misses")).isZero();
+        assertThat(mockingDetails(excuseService).getInvocations()).hasSize(generated);
+        assertThat(registry.get("excuses.pool.refill").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Si la recarga falla con un error de la base, el hilo sigue vivo y vuelve a llenar el pool")
+    void testProducerSurvivesDataAccessErrors() {
+        // Arrange: la primera generación falla como un catálogo en modo remoto sin conexión
+        when(fragmentCatalog.version()).thenReturn(1L);
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, null))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+                .thenReturn(excuse());
+
+        // Act
+        excusePool.start();
+
+        // Assert
+        await(() -> excusePool.size() >= 8);
+    }
+
+    @Test
+    @DisplayName("next() descarta las excusas generadas con una versión anterior del catálogo")
+    void testNextDiscardsStaleEntries() throws InterruptedException {
+        // Arrange
+        when(fragmentCatalog.version()).thenReturn(1L);
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, null)).thenReturn(excuse());
+        excusePool.start();
+        await(() -> excusePool.size() >= 8);
+        excusePool.destroy();
+
+        // Act
+        when(fragmentCatalog.version()).thenReturn(2L);
+        excusePool.next();
+
+        // Assert
+        assertThat(excusePool.size()).isZero();
+        assertThat(count("excuses.pool.misses")).isEqualTo(1);
+        assertThat(count("excuses.pool.hits")).isZero();
+    }
+
+    @Test
+    @DisplayName("el nivel objetivo sigue la tasa de consumo, acotado entre el mínimo y la capacidad")
+    void testTargetFollowsDrainRate() {
+        // Act & Assert
+        excusePool.updateTarget(0, TimeUnit.SECONDS.toNanos(1));
+        assertThat(excusePool.target()).isEqualTo(8);
+
+        for (int i = 0; i < 20; i++) {
+            excusePool.updateTarget(40, TimeUnit.SECONDS.toNanos(1));
+        }
+        assertThat(excusePool.target()).isEqualTo(40);
+
+        excusePool.updateTarget(10_000, TimeUnit.SECONDS.toNanos(1));
+        assertThat(excusePool.target()).isEqualTo(64);
+    }
+
+    private double count(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+
+    private static Excuse excuse() {
+        Fragment fragment = Fragment.builder()
+                .id(1L)
+                .type(FragmentType.CONTEXTO)
+                .text("En producción")
+                .createdAt(LocalDateTime.now())
+                .build();
+        return Excuse.builder()
+                .context(fragment)
+                .cause(fragment)
+                .consequence(fragment)
+                .recommendation(fragment)
+                .type(ExcuseType.SIMPLE)
+                .seed(42L)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timeout esperando la condición").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.ejerciciocopilot.service;
 
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.config.RandomProperties;
+import com.ejerciciocopilot.config.ReplicaLagGuard;
 import com.ejerciciocopilot.model.*;
 import com.ejerciciocopilot.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -41,7 +45,21 @@ class ExcuseServiceTest {
     @Mock
     private LawRepository lawRepository;
 
-    @InjectMocks
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private ExcuseColdStore excuseColdStore;
+
+    @Mock
+    private ExcuseWriteBehind excuseWriteBehind;
+
+    @Mock
+    private ExcuseGroupCommit excuseGroupCommit;
+
+    @Mock
+    private ObjectProvider<ReplicaLagGuard> replicaLagGuard;
+
     private ExcuseService excuseService;
 
     private Fragment contextFragment;
@@ -53,6 +71,12 @@ class ExcuseServiceTest {
 
     @BeforeEach
     void setUp() {
+        excuseService = new ExcuseService(excuseRepository, fragmentRepository,
+                memeRepository, lawRepository, new FragmentCatalog(fragmentRepository),
+                new MemeCatalog(memeRepository, new ExcuseProperties()), new LawCatalog(lawRepository, new ExcuseProperties()),
+                new RandomSource(new RandomProperties()), new ExcuseProperties(), rowCountEstimator, excuseColdStore,
+                excuseWriteBehind, excuseGroupCommit, replicaLagGuard);
+
         // Fragmentos de prueba basados en dev_axioms.json
         contextFragment = Fragment.builder()
                 .id(1L)
@@ -165,17 +189,6 @@ class ExcuseServiceTest {
         // Arrange
         setupFragmentMocks();
 
-        Excuse simpleExcuse = Excuse.builder()
-                .id(1L)
-                .context(contextFragment)
-                .cause(causeFragment)
-                .consequence(consequenceFragment)
-                .recommendation(recommendationFragment)
-                .type(ExcuseType.SIMPLE)
-                .seed(12345L)
-                .createdAt(LocalDateTime.now())
-                .build();
-
         Excuse excuseWithMeme = Excuse.builder()
                 .id(1L)
                 .context(contextFragment)
@@ -188,9 +201,7 @@ class ExcuseServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(excuseRepository.save(any(Excuse.class)))
-                .thenReturn(simpleExcuse)
-                .thenReturn(excuseWithMeme);
+        when(excuseRepository.save(any(Excuse.class))).thenReturn(excuseWithMeme);
         when(memeRepository.findAll()).thenReturn(List.of(testMeme));
 
         // Act
@@ -201,6 +212,7 @@ class ExcuseServiceTest {
         assertThat(result.getMeme()).isEqualTo(testMeme);
         assertThat(result.getType()).isEqualTo(ExcuseType.CON_MEME);
         verify(memeRepository, times(1)).findAll();
+        verify(excuseRepository, times(1)).save(any(Excuse.class));
     }
 
     @Test
@@ -222,9 +234,6 @@ class ExcuseServiceTest {
                 .build();
 
         when(excuseRepository.save(any(Excuse.class)))
-                .thenReturn(Excuse.builder()
-                        .context(contextFragment)
-                        .build())
                 .thenReturn(excuseWithoutMeme);
         when(memeRepository.findAll()).thenReturn(Collections.emptyList());
 
@@ -255,9 +264,6 @@ class ExcuseServiceTest {
                 .build();
 
         when(excuseRepository.save(any(Excuse.class)))
-                .thenReturn(Excuse.builder()
-                        .context(contextFragment)
-                        .build())
                 .thenReturn(excuseWithLaw);
         when(lawRepository.findAll()).thenReturn(List.of(testLaw));
 
@@ -269,6 +275,7 @@ class ExcuseServiceTest {
         assertThat(result.getLaw()).isEqualTo(testLaw);
         assertThat(result.getType()).isEqualTo(ExcuseType.CON_LEY);
         verify(lawRepository, times(1)).findAll();
+        verify(excuseRepository, times(1)).save(any(Excuse.class));
     }
 
     @Test
@@ -291,9 +298,6 @@ class ExcuseServiceTest {
                 .build();
 
         when(excuseRepository.save(any(Excuse.class)))
-                .thenReturn(Excuse.builder()
-                        .context(contextFragment)
-                        .build())
                 .thenReturn(ultraSharkExcuse);
         when(memeRepository.findAll()).thenReturn(List.of(testMeme));
         when(lawRepository.findAll()).thenReturn(List.of(testLaw));
@@ -308,6 +312,125 @@ class ExcuseServiceTest {
         assertThat(result.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
     }
 
+    @Test
+    @DisplayName("generateUltraShark() guarda una sola vez la excusa ya completa")
+    void testGenerateUltraSharkSavesCompleteExcuseOnce() {
+        // Arrange
+        setupFragmentMocks();
+        when(memeRepository.findAll()).thenReturn(List.of(testMeme));
+        when(lawRepository.findAll()).thenReturn(List.of(testLaw));
+        when(excuseRepository.save(any(Excuse.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Excuse> captor = ArgumentCaptor.forClass(Excuse.class);
+
+        // Act
+        excuseService.generateUltraShark();
+
+        // Assert
+        verify(excuseRepository, times(1)).save(captor.capture());
+        Excuse saved = captor.getValue();
+        assertThat(saved.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+        assertThat(saved.getMeme().getId()).isEqualTo(testMeme.getId());
+        assertThat(saved.getLaw().getId()).isEqualTo(testLaw.getId());
+        assertThat(saved.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Con escritura diferida, generateWithLaw() encola la excusa en lugar de guardarla")
+    void testGenerateWithWriteBehindSubmitsInsteadOfSaving() {
+        // Arrange
+        setupFragmentMocks();
+        when(lawRepository.findAll()).thenReturn(List.of(testLaw));
+        when(excuseWriteBehind.isEnabled()).thenReturn(true);
+        when(excuseWriteBehind.submit(any(Excuse.class))).thenAnswer(invocation -> {
+            Excuse queued = invocation.getArgument(0);
+            queued.setId(42L);
+            return queued;
+        });
+
+        // Act
+        Excuse result = excuseService.generateWithLaw();
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(42L);
+        assertThat(result.getType()).isEqualTo(ExcuseType.CON_LEY);
+        assertThat(result.getCreatedAt()).isNotNull();
+        verify(excuseRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Con group commit, generateRandom() guarda la excusa en el próximo batch compartido")
+    void testGenerateWithGroupCommitSavesThroughBatch() {
+        // Arrange
+        setupFragmentMocks();
+        when(excuseGroupCommit.isEnabled()).thenReturn(true);
+        when(excuseGroupCommit.save(any(Excuse.class))).thenAnswer(invocation -> {
+            Excuse committed = invocation.getArgument(0);
+            committed.setId(7L);
+            return committed;
+        });
+
+        // Act
+        Excuse result = excuseService.generateRandom();
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getType()).isEqualTo(ExcuseType.SIMPLE);
+        assertThat(result.getCreatedAt()).isNotNull();
+        verify(excuseRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("saveAll() persiste en un solo lote las excusas armadas por el llamador")
+    void testSaveAllPersistsAssembledExcusesTogether() {
+        // Arrange
+        setupFragmentMocks();
+        when(memeRepository.findAll()).thenReturn(List.of(testMeme));
+        List<Excuse> assembled = List.of(
+                excuseService.generateEphemeral(ExcuseType.SIMPLE, null),
+                excuseService.generateEphemeral(ExcuseType.CON_MEME, null));
+        when(excuseRepository.insertAll(assembled, 1_000)).thenReturn(assembled);
+
+        // Act
+        List<Excuse> result = excuseService.saveAll(assembled);
+
+        // Assert
+        assertThat(result).hasSize(2).allSatisfy(excuse -> assertThat(excuse.getCreatedAt()).isNotNull());
+        verify(excuseRepository, times(1)).insertAll(assembled, 1_000);
+        verify(excuseRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("generateBatch() rechaza cantidades fuera de rango sin tocar la base de datos")
+    void testGenerateBatchRejectsInvalidCount() {
+        // Act & Assert
+        assertThatThrownBy(() -> excuseService.generateBatch(0, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cantidad inválida");
+        assertThatThrownBy(() -> excuseService.generateBatch(10_001, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(excuseRepository, fragmentRepository);
+    }
+
+    @Test
+    @DisplayName("generateBatchEphemeral() genera N excusas con seeds distintos sin persistirlas")
+    void testGenerateBatchEphemeralDoesNotSave() {
+        // Arrange
+        setupFragmentMocks();
+        when(lawRepository.findAll()).thenReturn(List.of(testLaw));
+
+        // Act
+        List<Excuse> result = excuseService.generateBatchEphemeral(50, "con_ley", null);
+
+        // Assert
+        assertThat(result).hasSize(50)
+                .allSatisfy(excuse -> {
+                    assertThat(excuse.getId()).isNull();
+                    assertThat(excuse.getType()).isEqualTo(ExcuseType.CON_LEY);
+                });
+        assertThat(result).extracting(Excuse::getSeed).doesNotHaveDuplicates();
+        verifyNoInteractions(excuseRepository);
+    }
+
     @Test
     @DisplayName("generateDaily() genera excusas reproducibles usando seed basado en fecha")
     void testGenerateDailyIsReproducible() {
@@ -327,6 +450,9 @@ class ExcuseServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        when(excuseRepository.findFirstByTypeAndSeedAndRoleOrderByIdAsc(ExcuseType.SIMPLE, dailySeed, null))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(dailyExcuse));
         when(excuseRepository.save(any(Excuse.class))).thenReturn(dailyExcuse);
 
         // Act
@@ -337,7 +463,8 @@ class ExcuseServiceTest {
         assertThat(result1).isNotNull();
         assertThat(result2).isNotNull();
         assertThat(result1.getSeed()).isEqualTo(result2.getSeed());
-        verify(excuseRepository, times(2)).save(any(Excuse.class));
+        // Se guarda una sola vez por día; la segunda llamada reutiliza la fila
+        verify(excuseRepository, times(1)).save(any(Excuse.class));
     }
 
     @Test
@@ -352,13 +479,21 @@ class ExcuseServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CONTEXTO, Role.DEV))
-                .thenReturn(List.of(devContext));
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CAUSA, Role.DEV))
+        Fragment generalContext = Fragment.builder()
+                .id(5L)
+                .type(FragmentType.CONTEXTO)
+                .text("Durante el despliegue del pipeline")
+                .role(null)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO))
+                .thenReturn(List.of(devContext, generalContext));
+        when(fragmentRepository.findByType(FragmentType.CAUSA))
                 .thenReturn(List.of(causeFragment));
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CONSECUENCIA, Role.DEV))
+        when(fragmentRepository.findByType(FragmentType.CONSECUENCIA))
                 .thenReturn(List.of(consequenceFragment));
-        when(fragmentRepository.findByTypeAndRole(FragmentType.RECOMENDACION, Role.DEV))
+        when(fragmentRepository.findByType(FragmentType.RECOMENDACION))
                 .thenReturn(List.of(recommendationFragment));
 
         Excuse devExcuse = Excuse.builder()
@@ -382,6 +517,7 @@ class ExcuseServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getRole()).isEqualTo(Role.DEV);
         assertThat(result.getContext()).isEqualTo(devContext);
+        verify(fragmentRepository, never()).findByTypeAndRole(any(), any());
     }
 
     @Test
@@ -396,17 +532,7 @@ class ExcuseServiceTest {
     @Test
     @DisplayName("generateByRole() cae de vuelta a fragmentos generales si no hay específicos del rol")
     void testGenerateByRoleFallsBackToGeneralFragments() {
-        // Arrange
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CONTEXTO, Role.QA))
-                .thenReturn(Collections.emptyList());
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CAUSA, Role.QA))
-                .thenReturn(Collections.emptyList());
-        when(fragmentRepository.findByTypeAndRole(FragmentType.CONSECUENCIA, Role.QA))
-                .thenReturn(Collections.emptyList());
-        when(fragmentRepository.findByTypeAndRole(FragmentType.RECOMENDACION, Role.QA))
-                .thenReturn(Collections.emptyList());
-
-        // Fallback a fragmentos generales
+        // Arrange: ningún fragmento es específico de QA, fallback a fragmentos generales
         when(fragmentRepository.findByType(FragmentType.CONTEXTO))
                 .thenReturn(List.of(contextFragment));
         when(fragmentRepository.findByType(FragmentType.CAUSA))
@@ -436,6 +562,106 @@ class ExcuseServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getRole()).isEqualTo(Role.QA);
+        verify(fragmentRepository, never()).findByTypeAndRole(any(), any());
+    }
+
+    @Test
+    @DisplayName("replay() reconstruye la misma excusa para el mismo seed sin persistir")
+    void testReplayIsPureFunctionOfSeed() {
+        // Arrange: varios candidatos por tipo para que el seed decida la combinación
+        Fragment otherContext = Fragment.builder()
+                .id(10L)
+                .type(FragmentType.CONTEXTO)
+                .text("En la demo con el cliente")
+                .createdAt(LocalDateTime.now())
+                .build();
+        Fragment otherCause = Fragment.builder()
+                .id(20L)
+                .type(FragmentType.CAUSA)
+                .text("Alguien mergeó un viernes a las 18hs")
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO))
+                .thenReturn(List.of(contextFragment, otherContext));
+        when(fragmentRepository.findByType(FragmentType.CAUSA))
+                .thenReturn(List.of(causeFragment, otherCause));
+        when(fragmentRepository.findByType(FragmentType.CONSECUENCIA))
+                .thenReturn(List.of(consequenceFragment));
+        when(fragmentRepository.findByType(FragmentType.RECOMENDACION))
+                .thenReturn(List.of(recommendationFragment));
+        when(memeRepository.findAll()).thenReturn(List.of(testMeme));
+        when(lawRepository.findAll()).thenReturn(List.of(testLaw));
+
+        // Act & Assert
+        for (long seed = 0; seed < 32; seed++) {
+            Excuse first = excuseService.replay(seed, "ultra_shark", null);
+            Excuse second = excuseService.replay(seed, "ULTRA_SHARK", null);
+            assertThat(first.getSeed()).isEqualTo(seed);
+            assertThat(first.getId()).isNull();
+            assertThat(first.getType()).isEqualTo(ExcuseType.ULTRA_SHARK);
+            assertThat(first.getContext().getId()).isEqualTo(second.getContext().getId());
+            assertThat(first.getCause().getId()).isEqualTo(second.getCause().getId());
+            assertThat(first.getMeme().getId()).isEqualTo(testMeme.getId());
+            assertThat(first.getLaw().getId()).isEqualTo(testLaw.getId());
+        }
+        verify(excuseRepository, never()).save(any());
+        verify(fragmentRepository, times(1)).findByType(FragmentType.CONTEXTO);
+    }
+
+    @Test
+    @DisplayName("replay() reproduce la excusa persistida por generateRandom() a partir de su seed")
+    void testReplayMatchesGeneratedExcuse() {
+        // Arrange
+        Fragment otherContext = Fragment.builder()
+                .id(10L)
+                .type(FragmentType.CONTEXTO)
+                .text("En la demo con el cliente")
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO))
+                .thenReturn(List.of(contextFragment, otherContext));
+        when(fragmentRepository.findByType(FragmentType.CAUSA))
+                .thenReturn(List.of(causeFragment));
+        when(fragmentRepository.findByType(FragmentType.CONSECUENCIA))
+                .thenReturn(List.of(consequenceFragment));
+        when(fragmentRepository.findByType(FragmentType.RECOMENDACION))
+                .thenReturn(List.of(recommendationFragment));
+        when(excuseRepository.save(any(Excuse.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act & Assert
+        for (int i = 0; i < 16; i++) {
+            Excuse generated = excuseService.generateRandom();
+            Excuse replayed = excuseService.replay(generated.getSeed(), null, null);
+            assertThat(replayed.getContext().getId()).isEqualTo(generated.getContext().getId());
+        }
+    }
+
+    @Test
+    @DisplayName("replay() lanza IllegalArgumentException con tipo inválido")
+    void testReplayThrowsExceptionWithInvalidType() {
+        // Act & Assert
+        assertThatThrownBy(() -> excuseService.replay(1L, "MEGALODON", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Tipo inválido");
+    }
+
+    @Test
+    @DisplayName("generateEphemeral() compone la excusa completa sin persistirla")
+    void testGenerateEphemeralDoesNotSave() {
+        // Arrange
+        setupFragmentMocks();
+        when(memeRepository.findAll()).thenReturn(List.of(testMeme));
+
+        // Act
+        Excuse result = excuseService.generateEphemeral(ExcuseType.CON_MEME, "dev");
+
+        // Assert
+        assertThat(result.getId()).isNull();
+        assertThat(result.getSeed()).isNotNull();
+        assertThat(result.getType()).isEqualTo(ExcuseType.CON_MEME);
+        assertThat(result.getRole()).isEqualTo(Role.DEV);
+        assertThat(result.getMeme().getId()).isEqualTo(testMeme.getId());
+        verify(excuseRepository, never()).save(any());
     }
 
     @Test
@@ -450,7 +676,7 @@ class ExcuseServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(excuseRepository.findById(1L)).thenReturn(Optional.of(excuse));
+        when(excuseRepository.findWithRelationsById(1L)).thenReturn(Optional.of(excuse));
 
         // Act
         Optional<Excuse> result = excuseService.findById(1L);
@@ -458,14 +684,14 @@ class ExcuseServiceTest {
         // Assert
         assertThat(result).isPresent();
         assertThat(result.get()).isEqualTo(excuse);
-        verify(excuseRepository, times(1)).findById(1L);
+        verify(excuseRepository, times(1)).findWithRelationsById(1L);
     }
 
     @Test
     @DisplayName("findById() retorna Optional vacío si no existe")
     void testFindByIdReturnsEmptyWhenNotExists() {
         // Arrange
-        when(excuseRepository.findById(999L)).thenReturn(Optional.empty());
+        when(excuseRepository.findWithRelationsById(999L)).thenReturn(Optional.empty());
 
         // Act
         Optional<Excuse> result = excuseService.findById(999L);
@@ -474,6 +700,33 @@ class ExcuseServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("findById() busca en la capa fría si no está en la tabla y resuelve las relaciones por ID")
+    void testFindByIdFallsBackToColdStore() {
+        // Arrange
+        Excuse archived = Excuse.builder()
+                .id(7L)
+                .context(Fragment.builder().id(contextFragment.getId()).build())
+                .meme(Meme.builder().id(testMeme.getId()).build())
+                .type(ExcuseType.CON_MEME)
+                .seed(12345L)
+                .createdAt(LocalDateTime.now().minusDays(90))
+                .build();
+        when(excuseRepository.findWithRelationsById(7L)).thenReturn(Optional.empty());
+        when(excuseColdStore.find(7L)).thenReturn(Optional.of(archived));
+        when(fragmentRepository.findAllById(List.of(contextFragment.getId()))).thenReturn(List.of(contextFragment));
+        when(memeRepository.findById(testMeme.getId())).thenReturn(Optional.of(testMeme));
+
+        // Act
+        Optional<Excuse> result = excuseService.findById(7L);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getContext().getText()).isEqualTo(contextFragment.getText());
+        assertThat(result.get().getMeme().getQuote()).isEqualTo(testMeme.getQuote());
+        assertThat(result.get().getLaw()).isNull();
+    }
+
     @Test
     @DisplayName("findAll() retorna lista de todas las excusas")
     void testFindAllReturnsAllExcuses() {
@@ -0,0 +1,125 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExcuseStreamService.
+ * Cubre validación de parámetros, tope de streams simultáneos y liberación de permisos.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcuseStreamService - Tests Unitarios")
+class ExcuseStreamServiceTest {
+
+    @Mock
+    private ExcuseService excuseService;
+
+    private ExcuseStreamService excuseStreamService;
+
+    @BeforeEach
+    void setUp() {
+        ExcuseProperties properties = new ExcuseProperties();
+        properties.setStreamMaxConcurrent(1);
+        excuseStreamService = new ExcuseStreamService(excuseService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        excuseStreamService.destroy();
+    }
+
+    @Test
+    @DisplayName("openSse() rechaza abrir más streams que el máximo configurado")
+    void testOpenRejectsStreamsOverCapacity() {
+        // Arrange
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, null)).thenReturn(excuse());
+
+        // Act
+        boolean first = excuseStreamService.openSse(ExcuseType.SIMPLE, null, 1, 0).isPresent();
+        boolean second = excuseStreamService.openNdjson(ExcuseType.CON_LEY, null, 1, 0).isPresent();
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(excuseStreamService.active()).isEqualTo(1);
+        verify(excuseService, never()).generateEphemeral(ExcuseType.CON_LEY, null);
+    }
+
+    @Test
+    @DisplayName("si la primera excusa falla, el permiso se devuelve y el error llega al request")
+    void testPermitIsReleasedWhenFirstExcuseFails() {
+        // Arrange
+        when(excuseService.generateEphemeral(ExcuseType.SIMPLE, "PM"))
+                .thenThrow(new IllegalArgumentException("Rol inválido: PM"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> excuseStreamService.openSse(ExcuseType.SIMPLE, "PM", 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(excuseStreamService.active()).isZero();
+    }
+
+    @Test
+    @DisplayName("el permiso se libera cuando el stream llega al límite de excusas")
+    void testPermitIsReleasedWhenLimitIsReached() {
+        // Arrange
+        when(excuseService.generateEphemeral(ExcuseType.CON_MEME, "QA")).thenReturn(excuse());
+
+        // Act
+        excuseStreamService.openNdjson(ExcuseType.CON_MEME, "QA", 1_000, 5);
+
+        // Assert
+        await(() -> excuseStreamService.active() == 0);
+        verify(excuseService, times(5)).generateEphemeral(ExcuseType.CON_MEME, "QA");
+        assertThat(excuseStreamService.openSse(ExcuseType.CON_MEME, "QA", 1_000, 1)).isPresent();
+    }
+
+    @Test
+    @DisplayName("openSse() lanza IllegalArgumentException con tasa fuera de rango")
+    void testOpenThrowsWithInvalidRate() {
+        // Act & Assert
+        assertThatThrownBy(() -> excuseStreamService.openSse(ExcuseType.SIMPLE, null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Tasa inválida");
+        assertThatThrownBy(() -> excuseStreamService.openSse(ExcuseType.SIMPLE, null, 5_000, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(excuseService);
+    }
+
+    private static Excuse excuse() {
+        Fragment fragment = Fragment.builder()
+                .id(1L)
+                .type(FragmentType.CONTEXTO)
+                .text("En producción")
+                .createdAt(LocalDateTime.now())
+                .build();
+        return Excuse.builder()
+                .context(fragment)
+                .cause(fragment)
+                .consequence(fragment)
+                .recommendation(fragment)
+                .type(ExcuseType.SIMPLE)
+                .seed(42L)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timeout esperando la condición").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.exception.ServiceBusyException;
+import com.ejerciciocopilot.model.Excuse;
+import com.ejerciciocopilot.model.ExcuseType;
+import com.ejerciciocopilot.repository.ExcuseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ExcuseWriteBehind.
+ * Cubre batches por tamaño, backpressure con la cola llena, reintentos y filas rechazadas,
+ * y vaciado de la cola al detenerse.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcuseWriteBehind - Tests Unitarios")
+class ExcuseWriteBehindTest {
+
+    @Mock
+    private ExcuseRepository excuseRepository;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private ExcuseProperties properties;
+    private ExcuseWriteBehind writeBehind;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExcuseProperties();
+        properties.setWriteBehindEnabled(true);
+        properties.setWriteBehindCapacity(4);
+        properties.setWriteBehindBatchSize(3);
+        properties.setWriteBehindFlushInterval(Duration.ofSeconds(5));
+        properties.setWriteBehindOfferTimeout(Duration.ofMillis(50));
+        lenient().when(excuseRepository.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+        lenient().doAnswer(invocation -> {
+            List<Excuse> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(Excuse::getId).toList());
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        writeBehind = new ExcuseWriteBehind(excuseRepository, properties);
+        registry = new SimpleMeterRegistry();
+        writeBehind.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.stop();
+    }
+
+    @Test
+    @DisplayName("submit() asigna el ID en el momento y el hilo guarda batches llenos sin esperar el intervalo")
+    void testSubmitAssignsIdAndFlushesFullBatches() {
+        // Arrange
+        writeBehind.start();
+
+        // Act
+        List<Excuse> submitted = List.of(writeBehind.submit(excuse()), writeBehind.submit(excuse()),
+                writeBehind.submit(excuse()));
+
+        // Assert
+        assertThat(submitted).extracting(Excuse::getId).containsExactly(1L, 2L, 3L);
+        // El timer se registra al final del flush, después del INSERT y de liberar pending
+        await(() -> registry.get("excuses.writebehind.flush").timer().count() > 0);
+        assertThat(batches).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(writeBehind.pending(1L)).isEmpty();
+        assertThat(registry.get("excuses.writebehind.written").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("excuses.writebehind.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Con la cola llena, submit() espera offer-timeout y lanza ServiceBusyException")
+    void testSubmitAppliesBackpressureWhenQueueIsFull() throws InterruptedException {
+        // Arrange: el primer batch queda bloqueado en la base y la cola se llena detrás
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        writeBehind.start();
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(excuse());
+        }
+        await(() -> writeBehind.depth() == 0);
+        for (int i = 0; i < 4; i++) {
+            writeBehind.submit(excuse());
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> writeBehind.submit(excuse()))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(writeBehind.depth()).isEqualTo(4);
+        assertThat(writeBehind.pending(8L)).isEmpty();
+        assertThat(registry.get("excuses.writebehind.rejected").functionCounter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Un batch que falla por un error transitorio sigue en pending() y se reintenta")
+    void testTransientFailureKeepsPendingAndRetries() throws InterruptedException {
+        // Arrange: el primer intento falla; el reintento llega después de 300 ms
+        properties.setWriteBehindRetryBackoff(Duration.ofMillis(300));
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstAttempt.countDown();
+            throw new QueryTimeoutException("timeout");
+        }).doAnswer(invocation -> {
+            List<Excuse> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(Excuse::getId).toList());
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        writeBehind.start();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(excuse());
+        }
+
+        // Assert: durante la espera del reintento las excusas se siguen encontrando
+        assertThat(firstAttempt.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(writeBehind.pending(1L)).isPresent();
+        await(() -> registry.get("excuses.writebehind.flush").timer().count() > 0);
+        assertThat(batches).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(writeBehind.pending(1L)).isEmpty();
+        assertThat(registry.get("excuses.writebehind.failed").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Si la base rechaza una fila del batch, las demás se guardan de a una y solo esa se pierde")
+    void testRejectedRowDoesNotDropTheBatch() {
+        // Arrange: la excusa con seed -1 viola una FK y hace fallar cualquier batch que la incluya
+        doAnswer(invocation -> {
+            List<Excuse> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(excuse -> excuse.getSeed() == -1L)) {
+                throw new DataIntegrityViolationException("FK inválida");
+            }
+            batches.add(batch.stream().map(Excuse::getId).toList());
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        writeBehind.start();
+        Excuse bad = excuse();
+        bad.setSeed(-1L);
+
+        // Act
+        writeBehind.submit(excuse());
+        writeBehind.submit(bad);
+        writeBehind.submit(excuse());
+
+        // Assert
+        await(() -> registry.get("excuses.writebehind.flush").timer().count() > 0);
+        assertThat(batches).containsExactly(List.of(1L), List.of(3L));
+        assertThat(writeBehind.pending(2L)).isEmpty();
+        assertThat(registry.get("excuses.writebehind.written").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("excuses.writebehind.failed").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stop() guarda lo que quedó en la cola antes de terminar")
+    void testStopDrainsQueue() {
+        // Arrange: batch incompleto, el intervalo de flush (5 s) todavía no venció
+        writeBehind.start();
+        writeBehind.submit(excuse());
+        writeBehind.submit(excuse());
+
+        // Act
+        writeBehind.stop();
+
+        // Assert
+        assertThat(batches).containsExactly(List.of(1L, 2L));
+        assertThat(writeBehind.depth()).isZero();
+        assertThat(writeBehind.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("stop() espera al hilo como mucho write-behind-shutdown-timeout aunque el INSERT siga colgado")
+    void testStopIsBounded() {
+        // Arrange: el INSERT queda colgado hasta el final del test
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(excuseRepository).insertAssigned(anyList());
+        properties.setWriteBehindShutdownTimeout(Duration.ofMillis(200));
+        writeBehind.start();
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(excuse());
+        }
+        await(() -> writeBehind.depth() == 0);
+
+        // Act
+        long start = System.nanoTime();
+        writeBehind.stop();
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        release.countDown();
+        assertThat(Duration.ofNanos(elapsed)).isLessThan(Duration.ofSeconds(2));
+        assertThat(writeBehind.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sin el hilo de escritura, submit() guarda la excusa en el momento")
+    void testSubmitWritesSynchronouslyWhenStopped() {
+        // Act
+        Excuse excuse = writeBehind.submit(excuse());
+
+        // Assert
+        assertThat(excuse.getId()).isEqualTo(1L);
+        assertThat(batches).containsExactly(List.of(1L));
+        verify(excuseRepository, times(1)).insertAssigned(anyList());
+    }
+
+    private static Excuse excuse() {
+        return Excuse.builder()
+                .type(ExcuseType.SIMPLE)
+                .seed(42L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timeout esperando la condición").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ejerciciocopilot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para FeistelPermutation.
+ * Cubre que sea una biyección del rango para distintos tamaños y que la clave cambie el orden.
+ */
+@DisplayName("FeistelPermutation - Tests Unitarios")
+class FeistelPermutationTest {
+
+    @Test
+    @DisplayName("apply() es una permutación de [0, size) para tamaños pares, impares y potencias de 2")
+    void testApplyIsBijection() {
+        for (long size : new long[] {1, 2, 3, 7, 16, 1_000, 4_096, 10_007}) {
+            FeistelPermutation permutation = new FeistelPermutation(size, 42L);
+            BitSet seen = new BitSet((int) size);
+            for (long i = 0; i < size; i++) {
+                long image = permutation.apply(i);
+                assertThat(image).isBetween(0L, size - 1);
+                assertThat(seen.get((int) image)).as("repetido %d en size %d", image, size).isFalse();
+                seen.set((int) image);
+            }
+            assertThat(seen.cardinality()).isEqualTo((int) size);
+        }
+    }
+
+    @Test
+    @DisplayName("claves distintas producen órdenes distintos y la misma clave el mismo orden")
+    void testKeyChangesOrder() {
+        // Arrange
+        FeistelPermutation first = new FeistelPermutation(1_000, 1L);
+        FeistelPermutation same = new FeistelPermutation(1_000, 1L);
+        FeistelPermutation other = new FeistelPermutation(1_000, 2L);
+        int differences = 0;
+
+        // Act
+        for (long i = 0; i < 1_000; i++) {
+            assertThat(same.apply(i)).isEqualTo(first.apply(i));
+            if (other.apply(i) != first.apply(i)) {
+                differences++;
+            }
+        }
+
+        // Assert
+        assertThat(differences).isGreaterThan(900);
+    }
+
+    @Test
+    @DisplayName("el constructor rechaza tamaños fuera de rango")
+    void testConstructorRejectsInvalidSize() {
+        assertThatThrownBy(() -> new FeistelPermutation(0, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FeistelPermutation((1L << 62) + 1, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.model.Fragment;
+import com.ejerciciocopilot.model.FragmentType;
+import com.ejerciciocopilot.model.Role;
+import com.ejerciciocopilot.repository.FragmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para FragmentCatalog.
+ * Cubre carga perezosa por tipo, índice (tipo, rol) con fallback, publicación copy-on-write, eliminación y pesos.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FragmentCatalog - Tests Unitarios")
+class FragmentCatalogTest {
+
+    @Mock
+    private FragmentRepository fragmentRepository;
+
+    private FragmentCatalog fragmentCatalog;
+
+    private Fragment context;
+
+    @BeforeEach
+    void setUp() {
+        fragmentCatalog = new FragmentCatalog(fragmentRepository);
+        context = Fragment.builder()
+                .id(1L)
+                .type(FragmentType.CONTEXTO)
+                .text("Durante el despliegue del pipeline")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("pick() consulta la base de datos una sola vez por tipo")
+    void testPickLoadsTypeOnlyOnce() {
+        // Arrange
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context));
+
+        // Act
+        Fragment first = fragmentCatalog.pick(FragmentType.CONTEXTO, new Random());
+        Fragment second = fragmentCatalog.pick(FragmentType.CONTEXTO, new Random());
+
+        // Assert
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getText()).isEqualTo(context.getText());
+        verify(fragmentRepository, times(1)).findByType(FragmentType.CONTEXTO);
+    }
+
+    @Test
+    @DisplayName("pick() lanza IllegalStateException si no hay fragmentos del tipo")
+    void testPickThrowsWhenTypeIsEmpty() {
+        // Arrange
+        when(fragmentRepository.findByType(FragmentType.CAUSA)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> fragmentCatalog.pick(FragmentType.CAUSA, new Random()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No hay fragmentos de tipo CAUSA");
+    }
+
+    @Test
+    @DisplayName("pick() trata los fragmentos con peso 0 como inexistentes: el rol cae a los generales y el tipo falla")
+    void testPickIgnoresZeroWeightFragments() {
+        // Arrange
+        Fragment mutedDev = Fragment.builder()
+                .id(2L)
+                .type(FragmentType.CONTEXTO)
+                .text("Durante el desarrollo local")
+                .role(Role.DEV)
+                .weight(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context, mutedDev));
+        Random random = new Random(5);
+
+        // Act & Assert: el rol solo tiene fragmentos con peso 0, se usan los del tipo
+        for (int i = 0; i < 20; i++) {
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, Role.DEV, random).getId()).isEqualTo(1L);
+        }
+
+        // Act & Assert: con todos en peso 0 no hay nada elegible
+        context.setWeight(0);
+        fragmentCatalog.onSaved(context);
+        assertThatThrownBy(() -> fragmentCatalog.pick(FragmentType.CONTEXTO, random))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No hay fragmentos de tipo CONTEXTO");
+    }
+
+    @Test
+    @DisplayName("onSaved() mueve el fragmento de bucket cuando cambia su tipo")
+    void testOnSavedMovesFragmentBetweenTypes() {
+        // Arrange
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context));
+        when(fragmentRepository.findByType(FragmentType.CAUSA)).thenReturn(Collections.emptyList());
+        fragmentCatalog.size(FragmentType.CONTEXTO);
+        fragmentCatalog.size(FragmentType.CAUSA);
+        long version = fragmentCatalog.version();
+
+        // Act
+        context.setType(FragmentType.CAUSA);
+        fragmentCatalog.onSaved(context);
+
+        // Assert
+        assertThat(fragmentCatalog.size(FragmentType.CONTEXTO)).isZero();
+        assertThat(fragmentCatalog.pick(FragmentType.CAUSA, new Random()).getId()).isEqualTo(1L);
+        assertThat(fragmentCatalog.version()).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("onDeleted() quita el fragmento del snapshot sin volver a la base de datos")
+    void testOnDeletedRemovesFragment() {
+        // Arrange
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context));
+        fragmentCatalog.size(FragmentType.CONTEXTO);
+
+        // Act
+        fragmentCatalog.onDeleted(1L);
+
+        // Assert
+        assertThat(fragmentCatalog.size(FragmentType.CONTEXTO)).isZero();
+        verify(fragmentRepository, times(1)).findByType(FragmentType.CONTEXTO);
+    }
+
+    @Test
+    @DisplayName("pick() por rol usa solo fragmentos del rol y cae a los generales si no hay")
+    void testPickByRoleUsesResolvedFallback() {
+        // Arrange
+        Fragment devContext = Fragment.builder()
+                .id(2L)
+                .type(FragmentType.CONTEXTO)
+                .text("Durante el desarrollo local")
+                .role(Role.DEV)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context, devContext));
+        Random random = new Random(42);
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, Role.DEV, random).getId()).isEqualTo(2L);
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, Role.QA, random).getId()).isIn(1L, 2L);
+        }
+        verify(fragmentRepository, never()).findByTypeAndRole(any(), any());
+    }
+
+    @Test
+    @DisplayName("onSaved() reubica el fragmento cuando cambia su rol")
+    void testOnSavedMovesFragmentBetweenRoles() {
+        // Arrange
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context));
+        fragmentCatalog.size(FragmentType.CONTEXTO);
+
+        // Act
+        context.setRole(Role.QA);
+        fragmentCatalog.onSaved(context);
+        Fragment other = Fragment.builder()
+                .id(3L)
+                .type(FragmentType.CONTEXTO)
+                .text("En la daily")
+                .role(Role.PM)
+                .createdAt(LocalDateTime.now())
+                .build();
+        fragmentCatalog.onSaved(other);
+
+        // Assert
+        Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, Role.QA, random).getId()).isEqualTo(1L);
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, Role.PM, random).getId()).isEqualTo(3L);
+        }
+        assertThat(fragmentCatalog.size(FragmentType.CONTEXTO)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("pick() respeta los pesos y los actualiza al guardar un fragmento")
+    void testPickUsesWeightsAndRebuildsOnSave() {
+        // Arrange
+        Fragment boosted = Fragment.builder()
+                .id(2L)
+                .type(FragmentType.CONTEXTO)
+                .text("En el release del viernes")
+                .weight(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(fragmentRepository.findByType(FragmentType.CONTEXTO)).thenReturn(List.of(context, boosted));
+        Random random = new Random(11);
+
+        // Act & Assert: con peso 0 nunca se elige
+        for (int i = 0; i < 50; i++) {
+            assertThat(fragmentCatalog.pick(FragmentType.CONTEXTO, random).getId()).isEqualTo(1L);
+        }
+
+        // Act & Assert: con peso 9 se elige ~90% de las veces
+        boosted.setWeight(9);
+        fragmentCatalog.onSaved(boosted);
+        int boostedPicks = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (fragmentCatalog.pick(FragmentType.CONTEXTO, random).getId() == 2L) {
+                boostedPicks++;
+            }
+        }
+        assertThat(boostedPicks).isBetween(8_800, 9_200);
+        verify(fragmentRepository, times(1)).findByType(FragmentType.CONTEXTO);
+    }
+}
@@ -5,6 +5,7 @@ import com.ejerciciocopilot.model.Fragment;
 import com.ejerciciocopilot.model.FragmentType;
 import com.ejerciciocopilot.model.Role;
 import com.ejerciciocopilot.repository.FragmentRepository;
+import com.ejerciciocopilot.repository.RowCountEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,12 @@ class FragmentServiceTest {
     @Mock
     private FragmentRepository fragmentRepository;
 
+    @Mock
+    private FragmentCatalog fragmentCatalog;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
     @InjectMocks
     private FragmentService fragmentService;
 
@@ -109,6 +116,7 @@ class FragmentServiceTest {
         // Assert
         assertThat(result).isEqualTo(testFragment);
         verify(fragmentRepository, times(1)).save(testFragment);
+        verify(fragmentCatalog, times(1)).onSaved(testFragment);
     }
 
     @Test
@@ -124,5 +132,6 @@ class FragmentServiceTest {
         // Assert
         verify(fragmentRepository, times(1)).findById(1L);
         verify(fragmentRepository, times(1)).delete(testFragment);
+        verify(fragmentCatalog, times(1)).onDeleted(1L);
     }
 }
@@ -0,0 +1,104 @@
+package com.ejerciciocopilot.service;
+
+import com.ejerciciocopilot.config.ExcuseProperties;
+import com.ejerciciocopilot.model.Meme;
+import com.ejerciciocopilot.repository.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para MemeCatalog (y la base EntityCatalog).
+ * Cubre la elección entre snapshot en memoria y modo remoto según app.excuses.catalog-max-entries.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemeCatalog - Tests Unitarios")
+class MemeCatalogTest {
+
+    @Mock
+    private MemeRepository memeRepository;
+
+    private ExcuseProperties excuseProperties;
+
+    private Meme meme;
+
+    @BeforeEach
+    void setUp() {
+        excuseProperties = new ExcuseProperties();
+        excuseProperties.setCatalogMaxEntries(2);
+        meme = Meme.builder().id(7L).author("Anónimo").quote("It works on my machine").createdAt(LocalDateTime.now()).build();
+    }
+
+    @Test
+    @DisplayName("Con pocas filas carga la tabla una vez y elige en memoria")
+    void testSmallTableIsLoadedInMemory() {
+        // Arrange
+        MemeCatalog memeCatalog = new MemeCatalog(memeRepository, excuseProperties);
+        when(memeRepository.countCached()).thenReturn(1L);
+        when(memeRepository.findAll()).thenReturn(List.of(meme));
+
+        // Act
+        Meme first = memeCatalog.pick(new Random(1));
+        Meme second = memeCatalog.pick(new Random(2));
+
+        // Assert
+        assertThat(memeCatalog.isRemote()).isFalse();
+        assertThat(first.getId()).isEqualTo(7L);
+        assertThat(second.getId()).isEqualTo(7L);
+        verify(memeRepository, times(1)).findAll();
+        verify(memeRepository, never()).findRandom(any());
+    }
+
+    @Test
+    @DisplayName("Con todos los pesos en 0 pick() devuelve null, igual que con el catálogo vacío")
+    void testAllZeroWeightsPickNothing() {
+        // Arrange
+        meme.setWeight(0);
+        MemeCatalog memeCatalog = new MemeCatalog(memeRepository, excuseProperties);
+        when(memeRepository.countCached()).thenReturn(1L);
+        when(memeRepository.findAll()).thenReturn(List.of(meme));
+
+        // Act
+        Meme picked = memeCatalog.pick(new Random(1));
+
+        // Assert
+        assertThat(picked).isNull();
+        assertThat(memeCatalog.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Por encima de catalog-max-entries no carga la tabla y elige cada meme en la base de datos")
+    void testLargeTableSwitchesToRemoteMode() {
+        // Arrange
+        MemeCatalog memeCatalog = new MemeCatalog(memeRepository, excuseProperties);
+        when(memeRepository.countCached()).thenReturn(3_000_000L);
+        when(memeRepository.findRandom(any())).thenReturn(Optional.of(meme));
+        when(memeRepository.findByPosition(41L)).thenReturn(Optional.of(meme));
+        when(memeRepository.existsById(7L)).thenReturn(true);
+        when(memeRepository.countByIdLessThan(7L)).thenReturn(41L);
+
+        // Act
+        Meme picked = memeCatalog.pick(new Random(1));
+
+        // Assert
+        assertThat(memeCatalog.isRemote()).isTrue();
+        assertThat(picked.getId()).isEqualTo(7L);
+        assertThat(picked).isNotSameAs(meme);
+        assertThat(memeCatalog.size()).isEqualTo(3_000_000);
+        assertThat(memeCatalog.get(41).getId()).isEqualTo(7L);
+        assertThat(memeCatalog.positionOf(7L)).isEqualTo(41);
+        verify(memeRepository, never()).findAll();
+    }
+}
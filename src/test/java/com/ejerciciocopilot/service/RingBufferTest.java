@@ -0,0 +1,96 @@
+package com.ejerciciocopilot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para RingBuffer.
+ * Cubre capacidad, orden FIFO, cola llena/vacía y uso concurrente sin pérdidas ni duplicados.
+ */
+@DisplayName("RingBuffer - Tests Unitarios")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("la capacidad se redondea a la siguiente potencia de 2")
+    void testCapacityIsRoundedToPowerOfTwo() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("offer() rechaza elementos con la cola llena y poll() devuelve null con la cola vacía")
+    void testOfferAndPollRespectBounds() {
+        // Arrange
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(99)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.poll()).isEqualTo(i);
+        }
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.offer(5)).isTrue();
+        assertThat(ring.poll()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("varios productores y consumidores no pierden ni duplican elementos")
+    void testConcurrentProducersAndConsumers() throws Exception {
+        // Arrange
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        int producers = 2;
+        int perProducer = 10_000;
+        int total = producers * perProducer;
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                while (consumed.get() < total) {
+                    Integer item = ring.poll();
+                    if (item != null) {
+                        assertThat(seen.add(item)).isTrue();
+                        consumed.incrementAndGet();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(seen).hasSize(total);
+        assertThat(ring.size()).isZero();
+    }
+}